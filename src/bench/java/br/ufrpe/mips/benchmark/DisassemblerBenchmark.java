@@ -0,0 +1,57 @@
+package br.ufrpe.mips.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler;
+import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler.AssemblyInstruction;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+
+/**
+ * Decodificação de instruções: conversão completa hexadecimal -> assembly e apenas a
+ * decodificação dos campos da instrução.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisassemblerBenchmark {
+
+  @Param({"ALU", "IMMEDIATE", "LOAD_STORE", "BRANCH", "MULT_DIV"})
+  public InstructionClass instructionClass;
+
+  private String hex;
+  private int word;
+
+  @Setup
+  public void setup() {
+    this.hex = this.instructionClass.instructions().get(0);
+    this.word = Integer.parseUnsignedInt(this.hex.substring(2), 16);
+  }
+
+  @Benchmark
+  public AssemblyInstruction toAssembly() {
+    return MIPSDisassembler.toAssembly(this.hex);
+  }
+
+  @Benchmark
+  public DecodedInstruction decode() {
+    return MIPSDisassembler.decode(this.word);
+  }
+
+}
@@ -0,0 +1,57 @@
+package br.ufrpe.mips.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.ufrpe.mips.data.imp.MARSMemoryManager;
+import br.ufrpe.mips.simulator.utils.execution.ExecutionEngine;
+import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+
+/**
+ * Custo de {@link MIPS32Processor#runNexInstruction()} por classe de instrução e estratégia de
+ * execução (o JIT só atua em execuções em lote, por isso não é incluído).
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+  @Param({"ALU", "IMMEDIATE", "LOAD_STORE", "BRANCH", "MULT_DIV"})
+  public InstructionClass instructionClass;
+
+  @Param({"INTERPRETER", "THREADED_CODE"})
+  public ExecutionEngine engine;
+
+  private MIPS32Processor simulator;
+
+  @Setup
+  public void setup() {
+    this.simulator = new MIPS32Processor(new MARSMemoryManager(), this.engine);
+    this.simulator.loadInstructions(this.instructionClass.program());
+    this.simulator.loadRegisters(InstructionClass.registers());
+  }
+
+  @Benchmark
+  public String runNextInstruction() {
+    // Programa em laço infinito: sempre há uma próxima instrução
+    this.simulator.runNexInstruction();
+    return this.simulator.output();
+  }
+
+}
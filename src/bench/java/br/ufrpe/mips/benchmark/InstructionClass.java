@@ -0,0 +1,70 @@
+package br.ufrpe.mips.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classes de instrução utilizadas nos benchmarks de despacho.
+ *
+ * Cada classe é um corpo de laço infinito: as instruções da classe seguidas de `j` para o início
+ * do segmento `text`, de forma que a proporção de instruções da classe seja alta.
+ *
+ * @version 1.0
+ */
+public enum InstructionClass {
+  // add, sub, and, slt
+  ALU(List.of("0x012a4020", "0x012a4022", "0x012a4024", "0x012a402a")),
+
+  // addi, andi, ori, slti
+  IMMEDIATE(List.of("0x21080001", "0x3129ffff", "0x354a00ff", "0x290b0010")),
+
+  // sw, lw, sb, lbu ($t0 aponta para o segmento de dados)
+  LOAD_STORE(List.of("0xad090000", "0x8d0a0000", "0xa1090004", "0x910b0004")),
+
+  // beq tomado (próxima instrução), bne não tomado, bgtz tomado, blez não tomado
+  BRANCH(List.of("0x10000000", "0x15290000", "0x1d200000", "0x19200000")),
+
+  // mult, mflo, div, mfhi
+  MULT_DIV(List.of("0x012a0018", "0x00005812", "0x012a001a", "0x00006010"));
+
+  // j 0x00400000
+  private static final String JUMP_TO_START = "0x08100000";
+
+  // Quantidade de repetições das instruções da classe no corpo do laço
+  private static final int REPEAT = 16;
+
+  private final List<String> instructions;
+
+  InstructionClass(List<String> instructions) {
+    this.instructions = instructions;
+  }
+
+  public List<String> instructions() {
+    return this.instructions;
+  }
+
+  /**
+   * Programa em laço infinito com as instruções dessa classe.
+   *
+   * @return instruções hexadecimais.
+   */
+  public List<String> program() {
+    List<String> program = new ArrayList<>();
+    for (int i = 0; i < REPEAT; i++) {
+      program.addAll(this.instructions);
+    }
+    program.add(JUMP_TO_START);
+
+    return program;
+  }
+
+  /**
+   * Registradores iniciais: endereço base para acessos à memória e operandos não nulos.
+   *
+   * @return mapa de identificador para valor.
+   */
+  public static Map<String, Integer> registers() {
+    return Map.of("$t0", 0x10010000, "$t1", 7, "$t2", 3);
+  }
+}
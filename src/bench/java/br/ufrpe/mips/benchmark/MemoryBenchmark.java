@@ -0,0 +1,84 @@
+package br.ufrpe.mips.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.data.imp.MARSMemoryManager;
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+
+/**
+ * Leitura e escrita de bytes e palavras nos gerenciadores de memória, percorrendo uma região do
+ * segmento de dados.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBenchmark {
+
+  // Início do segmento de dados
+  private static final long BASE = 0x10010000L;
+
+  // Tamanho da região acessada (bytes)
+  private static final int REGION = 4096;
+
+  @Param({"MARS", "PAGED"})
+  public String manager;
+
+  private IMemoryManager memory;
+  private int offset;
+
+  @Setup
+  public void setup() {
+    this.memory = this.manager.equals("MARS") ? new MARSMemoryManager() : new PagedMemoryManager();
+
+    // Região já escrita: leituras não dependem da alocação de posições novas
+    for (int i = 0; i < REGION; i += 4) {
+      this.memory.writeWord(BASE + i, i);
+    }
+  }
+
+  private long nextAddress(int step) {
+    this.offset = (this.offset + step) & (REGION - 1);
+    return BASE + this.offset;
+  }
+
+  @Benchmark
+  public byte readByte() {
+    return this.memory.readByte(this.nextAddress(1));
+  }
+
+  @Benchmark
+  public void writeByte() {
+    long address = this.nextAddress(1);
+    this.memory.writeByte(address, (byte) address);
+  }
+
+  @Benchmark
+  public int readWord() {
+    return this.memory.readWord(this.nextAddress(4));
+  }
+
+  @Benchmark
+  public void writeWord() {
+    long address = this.nextAddress(4);
+    this.memory.writeWord(address, (int) address);
+  }
+
+}
@@ -0,0 +1,138 @@
+package br.ufrpe.mips.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.presentation.entity.InputJSON;
+import br.ufrpe.mips.presentation.entity.OutputJSON;
+import br.ufrpe.mips.presentation.trace.TraceState;
+import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+
+/**
+ * Execução completa de programas representativos (src/bench/resources/programs): leitura da
+ * entrada, carregamento, execução e escrita da saída no formato da CLI (descartada).
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgramBenchmark {
+
+  @Param({"arith", "calls", "loop", "selfmod"})
+  public String program;
+
+  /**
+   * Formato da saída, utilizado apenas na escrita.
+   */
+  @State(Scope.Thread)
+  public static class Output {
+    // Intervalo entre keyframes da saída incremental (0: estado completo a cada passo)
+    @Param({"0", "100"})
+    public int delta;
+  }
+
+  private final ObjectMapper mapper = new ObjectMapper();
+  private final ObjectWriter stepWriter = this.mapper.writerFor(OutputJSON.class)
+      .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+  private byte[] input;
+  private MIPS32Processor simulator;
+
+  @Setup
+  public void setup() throws IOException {
+    String resource = "/programs/%s.json".formatted(this.program);
+    try (InputStream stream = ProgramBenchmark.class.getResourceAsStream(resource)) {
+      if (stream == null) {
+        throw new IOException("Programa não encontrado: %s.".formatted(resource));
+      }
+      this.input = stream.readAllBytes();
+    }
+
+    this.simulator = new MIPS32Processor(new PagedMemoryManager());
+  }
+
+  @Benchmark
+  public long run() throws IOException {
+    this.load();
+
+    long steps = 0;
+    while (this.simulator.hasNextInstruction()) {
+      this.simulator.runNexInstruction();
+      steps++;
+    }
+
+    return steps;
+  }
+
+  @Benchmark
+  public long runAndWrite(Output output) throws IOException {
+    this.load();
+
+    TraceState trace = new TraceState(output.delta > 0 ? output.delta : 1);
+    trace.load(this.simulator);
+
+    long steps = 0;
+    try (JsonGenerator generator = this.mapper.getFactory()
+        .createGenerator(OutputStream.nullOutputStream(), JsonEncoding.UTF8)) {
+      generator.writeStartArray();
+
+      while (this.simulator.hasNextInstruction()) {
+        this.simulator.runNexInstruction();
+
+        OutputJSON step;
+        if (output.delta > 0) {
+          step = trace.step(this.simulator);
+        } else {
+          trace.update(this.simulator);
+          step = trace.snapshot(this.simulator);
+        }
+
+        this.stepWriter.writeValue(generator, step);
+        steps++;
+      }
+
+      generator.writeEndArray();
+    }
+
+    return steps;
+  }
+
+  /**
+   * Lê a entrada e carrega o programa, assim como a CLI.
+   */
+  private void load() throws IOException {
+    InputJSON input = this.mapper.readValue(this.input, InputJSON.class);
+
+    this.simulator.reset();
+    this.simulator.loadInstructions(input.instructions);
+    this.simulator.loadRegisters(input.registersMap());
+    this.simulator.loadMemory(input.memoryMap());
+    this.simulator.loadData(input.dataMap());
+  }
+
+}
@@ -0,0 +1,64 @@
+package br.ufrpe.mips.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.ufrpe.mips.data.imp.MARSMemoryManager;
+import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+
+/**
+ * Cópia do estado do simulador ({@link MIPS32Processor#registers()} e
+ * {@link MIPS32Processor#memory()}), em função da quantidade de palavras escritas na memória.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+  @Param({"16", "1024"})
+  public int words;
+
+  private MIPS32Processor simulator;
+
+  @Setup
+  public void setup() {
+    this.simulator = new MIPS32Processor(new MARSMemoryManager());
+    this.simulator.loadInstructions(InstructionClass.ALU.program());
+    this.simulator.loadRegisters(InstructionClass.registers());
+
+    Map<Long, Integer> data = new HashMap<>();
+    for (int i = 0; i < this.words; i++) {
+      data.put(0x10010000L + 4L * i, i + 1);
+    }
+    this.simulator.loadData(data);
+  }
+
+  @Benchmark
+  public Map<String, Integer> registers() {
+    return this.simulator.registers();
+  }
+
+  @Benchmark
+  public Map<Long, Integer> memory() {
+    return this.simulator.memory();
+  }
+
+}
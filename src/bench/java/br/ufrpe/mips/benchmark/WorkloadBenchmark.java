@@ -0,0 +1,73 @@
+package br.ufrpe.mips.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.presentation.workload.WorkloadGenerator;
+import br.ufrpe.mips.presentation.workload.WorkloadSpec;
+import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+import br.ufrpe.mips.simulator.utils.execution.ExecutionEngine;
+import br.ufrpe.mips.simulator.utils.execution.RunSummary;
+import br.ufrpe.mips.simulator.utils.execution.StopCondition;
+
+/**
+ * Escalabilidade da execução em lote com programas sintéticos ({@link WorkloadGenerator}): de
+ * centenas de milhares a milhões de instruções e de KiB a MiB de memória acessada.
+ *
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkloadBenchmark {
+
+  @Param({"100", "1000"})
+  public int iterations;
+
+  // 4 KiB e 4 MiB
+  @Param({"1024", "1048576"})
+  public int memoryWords;
+
+  @Param({"INTERPRETER", "THREADED_CODE", "JIT"})
+  public ExecutionEngine engine;
+
+  // Custo do profiler do programa simulado
+  @Param({"false", "true"})
+  public boolean profiler;
+
+  private List<String> program;
+  private MIPS32Processor simulator;
+
+  @Setup
+  public void setup() {
+    WorkloadSpec spec = WorkloadSpec.defaults().withIterations(this.iterations)
+        .withMemoryWords(this.memoryWords);
+    this.program = WorkloadGenerator.generate(spec).instructions;
+    this.simulator = new MIPS32Processor(new PagedMemoryManager(), this.engine);
+    this.simulator.enableProfiler(this.profiler);
+  }
+
+  @Benchmark
+  public RunSummary run() {
+    this.simulator.reset();
+    this.simulator.loadInstructions(this.program);
+    return this.simulator.runUntil(StopCondition.halt());
+  }
+
+}
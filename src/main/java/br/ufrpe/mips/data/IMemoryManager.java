@@ -2,6 +2,9 @@ package br.ufrpe.mips.data;
 
 import java.util.List;
 
+import br.ufrpe.mips.data.utils.MemoryLocationType;
+import br.ufrpe.mips.data.utils.WriteJournal;
+
 /**
  * Essa interface representa toda estrutura de memória necessária para um
  * processador MIPS32. Ou
@@ -76,6 +79,45 @@ public interface IMemoryManager {
    */
   List<IMemoryLocation<Integer>> wordMemoryLocations();
 
+  /**
+   * Lê a palavra armazenada nesse endereço sem criar objetos intermediários.
+   *
+   * Assim como {@link #getWordMemoryLocationFromAddress(long)}, a localização é alocada caso ainda
+   * não exista.
+   *
+   * @param address endereço da palavra (word-aligned).
+   * @return inteiro 32-bits armazenado nesse endereço.
+   * @throws IllegalArgumentException caso o endereço seja reservado ou não esteja alinhado.
+   */
+  int readWord(long address);
+
+  /**
+   * Escreve uma palavra nesse endereço sem criar objetos intermediários.
+   *
+   * @param address endereço da palavra (word-aligned).
+   * @param content inteiro 32-bits.
+   * @throws IllegalArgumentException caso o endereço seja reservado ou não esteja alinhado.
+   */
+  void writeWord(long address, int content);
+
+  /**
+   * Lê o byte armazenado nesse endereço sem criar objetos intermediários.
+   *
+   * @param address endereço do byte.
+   * @return byte armazenado nesse endereço.
+   * @throws IllegalArgumentException caso o endereço seja reservado.
+   */
+  byte readByte(long address);
+
+  /**
+   * Escreve um byte nesse endereço sem criar objetos intermediários.
+   *
+   * @param address endereço do byte.
+   * @param content byte.
+   * @throws IllegalArgumentException caso o endereço seja reservado.
+   */
+  void writeByte(long address, byte content);
+
   /**
    * Retorna todos os registradores.
    * 
@@ -84,7 +126,7 @@ public interface IMemoryManager {
   List<IRegister> registers();
 
   /**
-   * Retorna o registrador com esse número ou null.
+   * Retorna o registrador com esse número ou null. Escritas no registrador $0 são descartadas.
    * 
    * @param regNumber número do registrador em [0..31].
    * @return {@link IRegister} ou null.
@@ -112,12 +154,112 @@ public interface IMemoryManager {
    */
   IRegister getPC();
 
+  /**
+   * Lê o registrador comum com esse número, sem passar por {@link IRegister}.
+   * 
+   * @param regNumber número do registrador em [0..31].
+   * @return inteiro 32-bits.
+   */
+  int readRegister(int regNumber);
+
+  /**
+   * Escreve no registrador comum com esse número, sem passar por {@link IRegister}. Escritas no
+   * registrador $0 são descartadas (seu valor é sempre 0).
+   * 
+   * @param regNumber número do registrador em [0..31].
+   * @param content inteiro 32-bits.
+   */
+  void writeRegister(int regNumber, int content);
+
+  /**
+   * Lê o registrador especial HI.
+   * 
+   * @return inteiro 32-bits.
+   */
+  int readHI();
+
+  /**
+   * Escreve no registrador especial HI.
+   * 
+   * @param content inteiro 32-bits.
+   */
+  void writeHI(int content);
+
+  /**
+   * Lê o registrador especial LO.
+   * 
+   * @return inteiro 32-bits.
+   */
+  int readLO();
+
+  /**
+   * Escreve no registrador especial LO.
+   * 
+   * @param content inteiro 32-bits.
+   */
+  void writeLO(int content);
+
+  /**
+   * Lê o registrador especial PC.
+   * 
+   * @return inteiro 32-bits.
+   */
+  int readPC();
+
+  /**
+   * Escreve no registrador especial PC.
+   * 
+   * @param content inteiro 32-bits.
+   */
+  void writePC(int content);
+
   /**
    * Limpa a memória.
    * 
    */
   void clear();
 
+  /**
+   * Habilita ou desabilita o registro das escritas na memória principal e nos registradores
+   * (desabilitado por padrão). Enquanto desabilitado, as escritas não têm custo adicional.
+   * 
+   * @param enabled true para registrar as escritas.
+   */
+  void setJournalEnabled(boolean enabled);
+
+  /**
+   * Retorna as palavras e registradores escritos desde a última chamada (ou desde
+   * {@link #clear()}) e reinicia o registro, sem alocar objetos.
+   * 
+   * O objeto retornado é reutilizado: seu conteúdo só é válido até a próxima chamada.
+   * 
+   * @return {@link WriteJournal.Changes} com as escritas registradas.
+   */
+  WriteJournal.Changes drainChanges();
+
+  /**
+   * Captura o estado atual dos registradores e da memória principal.
+   * 
+   * @return {@link IMemorySnapshot} que pode ser restaurado por {@link #restore(IMemorySnapshot)}.
+   */
+  IMemorySnapshot snapshot();
+
+  /**
+   * Restaura os registradores e a memória principal para o estado capturado.
+   * 
+   * @param snapshot estado capturado por esse gerenciador (ou outro do mesmo tipo).
+   * @throws IllegalArgumentException caso a captura seja de outro tipo de gerenciador.
+   */
+  void restore(IMemorySnapshot snapshot);
+
+  /**
+   * Cria um novo gerenciador com o mesmo estado desse. Escritas em um dos gerenciadores não são
+   * visíveis no outro.
+   * 
+   * @return novo {@link IMemoryManager}.
+   */
+  IMemoryManager fork();
+
   /**
    * Retorna endereço base do segmento de texto.
    * 
@@ -138,4 +280,12 @@ public interface IMemoryManager {
    * @return long representando o endereço base do segmento de pilha.
    */
   long stackBaseAddress();
+
+  /**
+   * Retorna o segmento de memória desse endereço (sem alocar a localização).
+   * 
+   * @param address endereço de memória.
+   * @return {@link MemoryLocationType}.
+   */
+  MemoryLocationType typeFromAddress(long address);
 }
@@ -0,0 +1,16 @@
+package br.ufrpe.mips.data;
+
+/**
+ * Essa interface representa o estado capturado de um {@link IMemoryManager} (registradores e
+ * memória principal) em um dado momento.
+ *
+ * O conteúdo é opaco: apenas o gerenciador que criou a captura (ou outro do mesmo tipo) é capaz
+ * de restaurá-la. Uma captura nunca é alterada por escritas posteriores e pode ser restaurada
+ * quantas vezes for necessário.
+ *
+ * @see IMemoryManager#snapshot()
+ * @version 1.0
+ */
+public interface IMemorySnapshot {
+
+}
@@ -1,6 +1,7 @@
 package br.ufrpe.mips.data.imp;
 
 import java.util.Objects;
+import java.util.function.LongConsumer;
 import br.ufrpe.mips.data.IMemoryLocation;
 import br.ufrpe.mips.data.utils.MemoryLocationType;
 
@@ -15,9 +16,17 @@ public final class ByteMemoryLocation implements IMemoryLocation<Byte> {
   private final MemoryLocationType memType;
   private Byte value;
 
+  // Notificado antes de cada escrita (opcional)
+  private final LongConsumer beforeWrite;
+
   public ByteMemoryLocation(long address, MemoryLocationType memType) {
+    this(address, memType, null);
+  }
+
+  public ByteMemoryLocation(long address, MemoryLocationType memType, LongConsumer beforeWrite) {
     this.address = Objects.requireNonNull(address);
     this.memType = Objects.requireNonNull(memType);
+    this.beforeWrite = beforeWrite;
     this.value = 0;
   }
 
@@ -44,6 +53,10 @@ public final class ByteMemoryLocation implements IMemoryLocation<Byte> {
 
   @Override
   public void write(Byte content) {
+    if (this.beforeWrite != null) {
+      this.beforeWrite.accept(this.address);
+    }
+
     this.value = content;
   }
 
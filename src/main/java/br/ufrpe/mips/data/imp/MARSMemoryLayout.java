@@ -0,0 +1,42 @@
+package br.ufrpe.mips.data.imp;
+
+import br.ufrpe.mips.data.utils.MemoryLocationType;
+
+/**
+ * Classe utilitária que descreve os segmentos de memória do simulador MARS MIPS.
+ * 
+ * É compartilhada por todos os gerenciadores de memória que seguem esse layout.
+ * 
+ * @version 1.0
+ */
+final class MARSMemoryLayout {
+  private MARSMemoryLayout() {
+
+  }
+
+  static final long textBegin = 0x00400000L;
+  static final long textLimit = 0x0ffffffcL;
+
+  static final long dataBegin = 0x10000000L;
+  static final long dataLimit = 0x7fffffffL;
+
+  static final long stackBegin = 0x10040000L;
+  static final long stackLimit = 0x7ffffffcL;
+
+  public static MemoryLocationType typeFromAddress(long address) {
+    if (address >= textBegin && address <= textLimit) {
+      return MemoryLocationType.TEXT_SEGMENT;
+    } else if (address >= dataBegin && address <= dataLimit) {
+      return MemoryLocationType.STATIC_DATA;
+    } else if (address >= stackBegin && address <= stackLimit) {
+      return MemoryLocationType.STACK_SEGMENT;
+    }
+
+    return MemoryLocationType.RESERVED;
+  }
+
+  public static boolean isReserved(long address) {
+    return MARSMemoryLayout.typeFromAddress(address) == MemoryLocationType.RESERVED;
+  }
+
+}
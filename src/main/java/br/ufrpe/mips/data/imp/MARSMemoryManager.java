@@ -3,12 +3,14 @@ package br.ufrpe.mips.data.imp;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import br.ufrpe.mips.data.IMemoryLocation;
 import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.data.IMemorySnapshot;
 import br.ufrpe.mips.data.IRegister;
 import br.ufrpe.mips.data.utils.MemoryLocationType;
-import br.ufrpe.mips.data.utils.RegisterType;
+import br.ufrpe.mips.data.utils.WriteJournal;
 
 /**
  * Classe que representa o gerenciador de memória do simulador MARS MIPS.
@@ -17,53 +19,34 @@ import br.ufrpe.mips.data.utils.RegisterType;
  * 
  * Cada célula de memória armazena 1 byte.
  * 
+ * Capturas ({@link #snapshot()}) copiam todas as células alocadas; para capturas que compartilham
+ * as páginas entre os estados, ver {@link PagedMemoryManager}.
+ * 
  * @version 1.0
  */
 public final class MARSMemoryManager implements IMemoryManager {
 
   private final LinkedHashMap<Long, ByteMemoryLocation> memory;
-  private final LinkedHashMap<Integer, Register> registers;
-  private final Register lo, hi, pc;
-
-  private static class MARSMemoryLayout {
-    private MARSMemoryLayout() {
-
-    }
-
-    static long textBegin = 0x00400000L;
-    private static long textLimit = 0x0ffffffcL;
-
-    static long dataBegin = 0x10000000L;
-    static long dataLimit = 0x7fffffffL;
-
-    static long stackBegin = 0x10040000L;
-    static long stackLimit = 0x7ffffffcL;
-
-    public static MemoryLocationType typeFromAddress(long address) {
-      if (address >= textBegin && address <= textLimit) {
-        return MemoryLocationType.TEXT_SEGMENT;
-      } else if (address >= dataBegin && address <= dataLimit) {
-        return MemoryLocationType.STATIC_DATA;
-      } else if (address >= stackBegin && address <= stackLimit) {
-        return MemoryLocationType.STACK_SEGMENT;
-      }
-
-      return MemoryLocationType.RESERVED;
+  private final RegisterFile registers;
+  private final WriteJournal journal;
+
+  /**
+   * Estado capturado: valores de todas as células alocadas e registradores.
+   */
+  private static final class Snapshot implements IMemorySnapshot {
+    private final Map<Long, Byte> memory;
+    private final int[] registers;
+
+    private Snapshot(Map<Long, Byte> memory, int[] registers) {
+      this.memory = memory;
+      this.registers = registers;
     }
-
   }
 
   public MARSMemoryManager() {
     this.memory = new LinkedHashMap<>();
-    this.registers = new LinkedHashMap<>();
-
-    for (int i = 0; i < 32; i++) {
-      this.registers.put(i, new Register(RegisterType.REGULAR, i));
-    }
-
-    this.lo = new Register(RegisterType.LO, -1);
-    this.hi = new Register(RegisterType.HI, -1);
-    this.pc = new Register(RegisterType.PC, -1);
+    this.journal = new WriteJournal();
+    this.registers = new RegisterFile(this.journal);
   }
 
   @Override
@@ -82,7 +65,7 @@ public final class MARSMemoryManager implements IMemoryManager {
         }
 
         MemoryLocationType t = MARSMemoryLayout.typeFromAddress(addr);
-        ByteMemoryLocation l = new ByteMemoryLocation(addr, t);
+        ByteMemoryLocation l = new ByteMemoryLocation(addr, t, this::beforeWrite);
         this.memory.put(addr, l);
       }
     }
@@ -122,6 +105,57 @@ public final class MARSMemoryManager implements IMemoryManager {
         (ByteMemoryLocation) c2, (ByteMemoryLocation) c3);
   }
 
+  @Override
+  public int readWord(long address) {
+    this.checkWordAddress(address);
+
+    // Garante que as 4 células da palavra existam
+    ByteMemoryLocation c0 = (ByteMemoryLocation) this.getByteMemoryLocationFromAddress(address);
+
+    return (c0.read() << 24) | ((this.memory.get(address + 1).read() & 0xff) << 16)
+        | ((this.memory.get(address + 2).read() & 0xff) << 8)
+        | (this.memory.get(address + 3).read() & 0xff);
+  }
+
+  @Override
+  public void writeWord(long address, int content) {
+    this.checkWordAddress(address);
+
+    // Garante que as 4 células da palavra existam
+    ByteMemoryLocation c0 = (ByteMemoryLocation) this.getByteMemoryLocationFromAddress(address);
+
+    c0.write((byte) (content >>> 24));
+    this.memory.get(address + 1).write((byte) (content >>> 16));
+    this.memory.get(address + 2).write((byte) (content >>> 8));
+    this.memory.get(address + 3).write((byte) content);
+  }
+
+  @Override
+  public byte readByte(long address) {
+    this.checkByteAddress(address);
+    return this.getByteMemoryLocationFromAddress(address).read();
+  }
+
+  @Override
+  public void writeByte(long address, byte content) {
+    this.checkByteAddress(address);
+    this.getByteMemoryLocationFromAddress(address).write(content);
+  }
+
+  private void checkByteAddress(long address) {
+    if (MARSMemoryManager.isReserved(address)) {
+      throw new IllegalArgumentException("Endereço reservado: %d.".formatted(address));
+    }
+  }
+
+  private void checkWordAddress(long address) {
+    if (!this.isAddressWordAligned(address)) {
+      throw new IllegalArgumentException("Endereço não alinhado: %d.".formatted(address));
+    }
+
+    this.checkByteAddress(address);
+  }
+
   @Override
   public List<IMemoryLocation<Integer>> wordMemoryLocations() {
     return this.byteMemoryLocations().stream().filter(l -> l.address() % 4 == 0)
@@ -132,55 +166,155 @@ public final class MARSMemoryManager implements IMemoryManager {
 
   @Override
   public IRegister getRegisterFromNumber(int regNumber) {
-    if (!this.registers.containsKey(regNumber)) {
+    if (regNumber < 0 || regNumber >= 32) {
       return null;
     }
 
-    return this.registers.get(regNumber);
+    return this.registers.view(regNumber);
   }
 
   @Override
   public IRegister getHI() {
-    return this.hi;
+    return this.registers.view(RegisterFile.HI);
   }
 
   @Override
   public IRegister getLO() {
-    return this.lo;
+    return this.registers.view(RegisterFile.LO);
   }
 
   @Override
   public IRegister getPC() {
-    return this.pc;
+    return this.registers.view(RegisterFile.PC);
+  }
+
+  @Override
+  public int readRegister(int regNumber) {
+    return this.registers.read(regNumber);
+  }
+
+  @Override
+  public void writeRegister(int regNumber, int content) {
+    this.registers.write(regNumber, content);
+  }
+
+  @Override
+  public int readHI() {
+    return this.registers.read(RegisterFile.HI);
+  }
+
+  @Override
+  public void writeHI(int content) {
+    this.registers.write(RegisterFile.HI, content);
+  }
+
+  @Override
+  public int readLO() {
+    return this.registers.read(RegisterFile.LO);
+  }
+
+  @Override
+  public void writeLO(int content) {
+    this.registers.write(RegisterFile.LO, content);
+  }
+
+  @Override
+  public int readPC() {
+    return this.registers.read(RegisterFile.PC);
+  }
+
+  @Override
+  public void writePC(int content) {
+    this.registers.write(RegisterFile.PC, content);
+  }
+
+  /**
+   * Registra no journal a palavra que contém esse endereço, antes da escrita de um de seus bytes.
+   * 
+   * @param address endereço do byte que será escrito.
+   */
+  private void beforeWrite(long address) {
+    if (this.journal.isEnabled()) {
+      long wordAddress = address & ~3L;
+
+      int previous = (this.memory.get(wordAddress).read() << 24)
+          | ((this.memory.get(wordAddress + 1).read() & 0xff) << 16)
+          | ((this.memory.get(wordAddress + 2).read() & 0xff) << 8)
+          | (this.memory.get(wordAddress + 3).read() & 0xff);
+
+      this.journal.word(wordAddress, previous);
+    }
   }
 
   private static boolean isReserved(long address) {
-    return MARSMemoryLayout.typeFromAddress(address) == MemoryLocationType.RESERVED;
+    return MARSMemoryLayout.isReserved(address);
   }
 
   @Override
   public List<IRegister> registers() {
-    List<IRegister> regs = new ArrayList<>();
+    return this.registers.registers();
+  }
 
-    regs.addAll(this.registers.values());
+  @Override
+  public void clear() {
+    // Limpar registradores
+    this.registers.clear();
 
-    return regs;
+    // Limpar memória principal
+    this.memory.clear();
+
+    // Escritas anteriores não fazem mais sentido
+    this.journal.clear();
   }
 
   @Override
-  public void clear() {
-    // Limpar registradores comuns
-    for (Register reg : this.registers.values()) {
-      reg.write(0);
+  public void setJournalEnabled(boolean enabled) {
+    this.journal.setEnabled(enabled);
+  }
+
+  @Override
+  public WriteJournal.Changes drainChanges() {
+    return this.journal.drain();
+  }
+
+  @Override
+  public IMemorySnapshot snapshot() {
+    Map<Long, Byte> memory = new LinkedHashMap<>();
+    this.memory.forEach((address, location) -> memory.put(address, location.read()));
+
+    return new Snapshot(memory, this.registers.copy());
+  }
+
+  @Override
+  public void restore(IMemorySnapshot snapshot) {
+    if (!(snapshot instanceof Snapshot s)) {
+      throw new IllegalArgumentException("Captura de outro gerenciador de memória: %s."
+          .formatted(snapshot));
     }
 
-    // Limpar registradores especiais
-    this.hi.write(0);
-    this.lo.write(0);
-    this.pc.write(0);
+    // Escritas da restauração não são registradas
+    boolean journalEnabled = this.journal.isEnabled();
+    this.journal.setEnabled(false);
 
-    // Limpar memória principal
     this.memory.clear();
+    s.memory.forEach((address, value) -> {
+      MemoryLocationType t = MARSMemoryLayout.typeFromAddress(address);
+      ByteMemoryLocation l = new ByteMemoryLocation(address, t, this::beforeWrite);
+      l.write(value);
+      this.memory.put(address, l);
+    });
+
+    this.registers.restore(s.registers);
+    this.journal.clear();
+    this.journal.setEnabled(journalEnabled);
+  }
+
+  @Override
+  public IMemoryManager fork() {
+    MARSMemoryManager child = new MARSMemoryManager();
+    child.restore(this.snapshot());
+
+    return child;
   }
 
   @Override
@@ -201,4 +335,9 @@ public final class MARSMemoryManager implements IMemoryManager {
     return MARSMemoryLayout.stackLimit;
   }
 
+  @Override
+  public MemoryLocationType typeFromAddress(long address) {
+    return MARSMemoryLayout.typeFromAddress(address);
+  }
+
 }
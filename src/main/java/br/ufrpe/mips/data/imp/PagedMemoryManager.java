@@ -0,0 +1,545 @@
+package br.ufrpe.mips.data.imp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import br.ufrpe.mips.data.IMemoryLocation;
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.data.IMemorySnapshot;
+import br.ufrpe.mips.data.IRegister;
+import br.ufrpe.mips.data.utils.MemoryLocationType;
+import br.ufrpe.mips.data.utils.WriteJournal;
+
+/**
+ * Gerenciador de memória paginado que segue o mesmo layout do simulador MARS MIPS.
+ *
+ * A memória principal é dividida em páginas de 4 KiB, alocadas apenas quando algum endereço da
+ * página é solicitado. As páginas são encontradas através de uma tabela de 2 níveis: os 10 bits
+ * mais significativos do endereço indexam o diretório, os 10 bits seguintes indexam a tabela de
+ * páginas e os 12 bits restantes são o deslocamento dentro da página.
+ *
+ * As localizações de memória retornadas são apenas visões sobre esse gerenciador, ou seja, não
+ * existe um objeto por byte armazenado.
+ *
+ * Capturas ({@link #snapshot()}) e cópias ({@link #fork()}) compartilham as tabelas e páginas
+ * (copy-on-write): cada tabela/página pertence a uma época, e o gerenciador só altera diretamente
+ * as que pertencem à sua época atual. As demais são copiadas na primeira alteração, de forma que o
+ * custo de uma captura é proporcional às páginas alteradas depois dela.
+ *
+ * @see MARSMemoryManager
+ * @version 1.0
+ */
+public final class PagedMemoryManager implements IMemoryManager {
+
+  static final int PAGE_BITS = 12;
+  static final int PAGE_SIZE = 1 << PAGE_BITS;
+  static final int TABLE_BITS = 10;
+  static final int TABLE_SIZE = 1 << TABLE_BITS;
+
+  private static final int WORDS_PER_PAGE = PAGE_SIZE / 4;
+
+  // Épocas únicas entre todos os gerenciadores (cópias podem estar em outras threads)
+  private static final AtomicInteger epochs = new AtomicInteger();
+
+  private final Table[] directory;
+  private final RegisterFile registers;
+  private final WriteJournal journal;
+
+  // Época atual: tabelas/páginas de outras épocas são compartilhadas
+  private int epoch;
+
+  /**
+   * Tabela de páginas (segundo nível).
+   */
+  private static final class Table {
+    private final Page[] pages;
+    private final int epoch;
+
+    private Table(int epoch) {
+      this.pages = new Page[TABLE_SIZE];
+      this.epoch = epoch;
+    }
+
+    private Table(Table other, int epoch) {
+      this.pages = other.pages.clone();
+      this.epoch = epoch;
+    }
+  }
+
+  /**
+   * Página de memória: conteúdo dos bytes e quais palavras já foram alocadas.
+   */
+  private static final class Page {
+    private final byte[] data;
+    private final long[] allocated;
+    private final int epoch;
+
+    private Page(int epoch) {
+      this.data = new byte[PAGE_SIZE];
+      this.allocated = new long[WORDS_PER_PAGE / Long.SIZE];
+      this.epoch = epoch;
+    }
+
+    private Page(Page other, int epoch) {
+      this.data = other.data.clone();
+      this.allocated = other.allocated.clone();
+      this.epoch = epoch;
+    }
+
+    private void allocate(int offset) {
+      int word = offset >>> 2;
+      this.allocated[word >>> 6] |= 1L << word;
+    }
+
+    private boolean isAllocated(int word) {
+      return (this.allocated[word >>> 6] & (1L << word)) != 0;
+    }
+
+    private int readWord(int offset) {
+      byte[] d = this.data;
+
+      return (d[offset] << 24) | ((d[offset + 1] & 0xff) << 16) | ((d[offset + 2] & 0xff) << 8)
+          | (d[offset + 3] & 0xff);
+    }
+
+    private void writeWord(int offset, int content) {
+      byte[] d = this.data;
+
+      d[offset] = (byte) (content >>> 24);
+      d[offset + 1] = (byte) (content >>> 16);
+      d[offset + 2] = (byte) (content >>> 8);
+      d[offset + 3] = (byte) content;
+    }
+  }
+
+  /**
+   * Estado capturado: diretório (compartilhando tabelas e páginas) e registradores.
+   */
+  private static final class Snapshot implements IMemorySnapshot {
+    private final Table[] directory;
+    private final int[] registers;
+
+    private Snapshot(Table[] directory, int[] registers) {
+      this.directory = directory;
+      this.registers = registers;
+    }
+  }
+
+  /**
+   * Visão de 1 byte sobre esse gerenciador.
+   */
+  private final class PagedByteLocation implements IMemoryLocation<Byte> {
+    private final long address;
+
+    private PagedByteLocation(long address) {
+      this.address = address;
+    }
+
+    @Override
+    public boolean isReserved() {
+      return this.type() == MemoryLocationType.RESERVED;
+    }
+
+    @Override
+    public MemoryLocationType type() {
+      return MARSMemoryLayout.typeFromAddress(this.address);
+    }
+
+    @Override
+    public long address() {
+      return this.address;
+    }
+
+    @Override
+    public Byte read() {
+      return PagedMemoryManager.this.readByte(this.address);
+    }
+
+    @Override
+    public void write(Byte content) {
+      PagedMemoryManager.this.writeByte(this.address, content);
+    }
+  }
+
+  /**
+   * Visão de 4 bytes (big-endian) sobre esse gerenciador.
+   */
+  private final class PagedWordLocation implements IMemoryLocation<Integer> {
+    private final long address;
+
+    private PagedWordLocation(long address) {
+      this.address = address;
+    }
+
+    @Override
+    public boolean isReserved() {
+      return this.type() == MemoryLocationType.RESERVED;
+    }
+
+    @Override
+    public MemoryLocationType type() {
+      return MARSMemoryLayout.typeFromAddress(this.address);
+    }
+
+    @Override
+    public long address() {
+      return this.address;
+    }
+
+    @Override
+    public Integer read() {
+      return PagedMemoryManager.this.readWord(this.address);
+    }
+
+    @Override
+    public void write(Integer content) {
+      PagedMemoryManager.this.writeWord(this.address, content);
+    }
+  }
+
+  public PagedMemoryManager() {
+    this.directory = new Table[TABLE_SIZE];
+    this.journal = new WriteJournal();
+    this.registers = new RegisterFile(this.journal);
+    this.epoch = epochs.incrementAndGet();
+  }
+
+  /**
+   * Retorna a página que contém esse endereço para escrita, alocando-a caso ainda não exista e
+   * copiando a tabela/página caso seja compartilhada.
+   *
+   * @param address endereço (não reservado).
+   * @return página do endereço, pertencente à época atual.
+   */
+  private Page pageForWrite(long address) {
+    int dirIndex = (int) (address >>> (PAGE_BITS + TABLE_BITS));
+    int tableIndex = (int) (address >>> PAGE_BITS) & (TABLE_SIZE - 1);
+
+    Table table = this.directory[dirIndex];
+    if (table == null) {
+      table = new Table(this.epoch);
+      this.directory[dirIndex] = table;
+    } else if (table.epoch != this.epoch) {
+      table = new Table(table, this.epoch);
+      this.directory[dirIndex] = table;
+    }
+
+    Page page = table.pages[tableIndex];
+    if (page == null) {
+      page = new Page(this.epoch);
+      table.pages[tableIndex] = page;
+    } else if (page.epoch != this.epoch) {
+      page = new Page(page, this.epoch);
+      table.pages[tableIndex] = page;
+    }
+
+    return page;
+  }
+
+  /**
+   * Retorna a página que contém esse endereço para leitura, com a palavra do endereço alocada.
+   * Páginas compartilhadas só são copiadas caso a palavra ainda não esteja alocada.
+   *
+   * @param address endereço (não reservado).
+   * @return página do endereço.
+   */
+  private Page pageForRead(long address) {
+    int dirIndex = (int) (address >>> (PAGE_BITS + TABLE_BITS));
+    int tableIndex = (int) (address >>> PAGE_BITS) & (TABLE_SIZE - 1);
+    int offset = (int) address & (PAGE_SIZE - 1);
+
+    Table table = this.directory[dirIndex];
+    Page page = table == null ? null : table.pages[tableIndex];
+
+    if (page == null || !page.isAllocated(offset >>> 2)) {
+      page = this.pageForWrite(address);
+      page.allocate(offset);
+    }
+
+    return page;
+  }
+
+  @Override
+  public IMemoryLocation<Byte> getByteMemoryLocationFromAddress(long address) {
+    if (MARSMemoryLayout.isReserved(address)) {
+      return null;
+    }
+
+    // Assim como no MARSMemoryManager, a palavra inteira passa a estar alocada
+    this.pageForRead(address);
+
+    return new PagedByteLocation(address);
+  }
+
+  @Override
+  public List<IMemoryLocation<Byte>> byteMemoryLocations() {
+    List<IMemoryLocation<Byte>> l = new ArrayList<>();
+
+    for (IMemoryLocation<Integer> word : this.wordMemoryLocations()) {
+      for (int i = 0; i < 4; i++) {
+        l.add(new PagedByteLocation(word.address() + i));
+      }
+    }
+
+    return l;
+  }
+
+  @Override
+  public boolean isAddressWordAligned(long address) {
+    // Todos endereços de palavra são múltiplos de 4
+    return address % 4 == 0;
+  }
+
+  @Override
+  public IMemoryLocation<Integer> getWordMemoryLocationFromAddress(long address) {
+    if (!this.isAddressWordAligned(address) || MARSMemoryLayout.isReserved(address)) {
+      // Caso não seja um endereço de palavra ou seja reservado, retorna
+      return null;
+    }
+
+    this.pageForRead(address);
+
+    return new PagedWordLocation(address);
+  }
+
+  @Override
+  public int readWord(long address) {
+    this.checkWordAddress(address);
+
+    Page page = this.pageForRead(address);
+    int offset = (int) address & (PAGE_SIZE - 1);
+
+    return page.readWord(offset);
+  }
+
+  @Override
+  public void writeWord(long address, int content) {
+    this.checkWordAddress(address);
+
+    Page page = this.pageForWrite(address);
+    int offset = (int) address & (PAGE_SIZE - 1);
+    page.allocate(offset);
+
+    if (this.journal.isEnabled()) {
+      this.journal.word(address, page.readWord(offset));
+    }
+
+    page.writeWord(offset, content);
+  }
+
+  @Override
+  public byte readByte(long address) {
+    this.checkByteAddress(address);
+
+    Page page = this.pageForRead(address);
+    int offset = (int) address & (PAGE_SIZE - 1);
+
+    return page.data[offset];
+  }
+
+  @Override
+  public void writeByte(long address, byte content) {
+    this.checkByteAddress(address);
+
+    Page page = this.pageForWrite(address);
+    int offset = (int) address & (PAGE_SIZE - 1);
+    page.allocate(offset);
+
+    if (this.journal.isEnabled()) {
+      this.journal.word(address, page.readWord(offset & ~3));
+    }
+
+    page.data[offset] = content;
+  }
+
+  private void checkByteAddress(long address) {
+    if (MARSMemoryLayout.isReserved(address)) {
+      throw new IllegalArgumentException("Endereço reservado: %d.".formatted(address));
+    }
+  }
+
+  private void checkWordAddress(long address) {
+    if (!this.isAddressWordAligned(address)) {
+      throw new IllegalArgumentException("Endereço não alinhado: %d.".formatted(address));
+    }
+
+    this.checkByteAddress(address);
+  }
+
+  @Override
+  public List<IMemoryLocation<Integer>> wordMemoryLocations() {
+    List<IMemoryLocation<Integer>> l = new ArrayList<>();
+
+    for (int d = 0; d < TABLE_SIZE; d++) {
+      Table table = this.directory[d];
+      if (table == null) {
+        continue;
+      }
+
+      for (int t = 0; t < TABLE_SIZE; t++) {
+        Page page = table.pages[t];
+        if (page == null) {
+          continue;
+        }
+
+        long pageAddress = (((long) d << TABLE_BITS) | t) << PAGE_BITS;
+        for (int w = 0; w < WORDS_PER_PAGE; w++) {
+          if (page.isAllocated(w)) {
+            l.add(new PagedWordLocation(pageAddress + (w << 2)));
+          }
+        }
+      }
+    }
+
+    return l;
+  }
+
+  @Override
+  public List<IRegister> registers() {
+    return this.registers.registers();
+  }
+
+  @Override
+  public IRegister getRegisterFromNumber(int regNumber) {
+    if (regNumber < 0 || regNumber >= 32) {
+      return null;
+    }
+
+    return this.registers.view(regNumber);
+  }
+
+  @Override
+  public IRegister getHI() {
+    return this.registers.view(RegisterFile.HI);
+  }
+
+  @Override
+  public IRegister getLO() {
+    return this.registers.view(RegisterFile.LO);
+  }
+
+  @Override
+  public IRegister getPC() {
+    return this.registers.view(RegisterFile.PC);
+  }
+
+  @Override
+  public int readRegister(int regNumber) {
+    return this.registers.read(regNumber);
+  }
+
+  @Override
+  public void writeRegister(int regNumber, int content) {
+    this.registers.write(regNumber, content);
+  }
+
+  @Override
+  public int readHI() {
+    return this.registers.read(RegisterFile.HI);
+  }
+
+  @Override
+  public void writeHI(int content) {
+    this.registers.write(RegisterFile.HI, content);
+  }
+
+  @Override
+  public int readLO() {
+    return this.registers.read(RegisterFile.LO);
+  }
+
+  @Override
+  public void writeLO(int content) {
+    this.registers.write(RegisterFile.LO, content);
+  }
+
+  @Override
+  public int readPC() {
+    return this.registers.read(RegisterFile.PC);
+  }
+
+  @Override
+  public void writePC(int content) {
+    this.registers.write(RegisterFile.PC, content);
+  }
+
+  @Override
+  public void clear() {
+    // Limpar registradores
+    this.registers.clear();
+
+    // Descartar todas as páginas
+    Arrays.fill(this.directory, null);
+
+    // Escritas anteriores não fazem mais sentido
+    this.journal.clear();
+  }
+
+  @Override
+  public void setJournalEnabled(boolean enabled) {
+    this.journal.setEnabled(enabled);
+  }
+
+  @Override
+  public WriteJournal.Changes drainChanges() {
+    return this.journal.drain();
+  }
+
+  @Override
+  public IMemorySnapshot snapshot() {
+    Snapshot snapshot = new Snapshot(this.directory.clone(), this.registers.copy());
+
+    // Tabelas e páginas atuais passam a ser compartilhadas com a captura
+    this.epoch = epochs.incrementAndGet();
+
+    return snapshot;
+  }
+
+  @Override
+  public void restore(IMemorySnapshot snapshot) {
+    if (!(snapshot instanceof Snapshot s)) {
+      throw new IllegalArgumentException("Captura de outro gerenciador de memória: %s."
+          .formatted(snapshot));
+    }
+
+    // Tabelas e páginas da captura continuam compartilhadas (nova época)
+    System.arraycopy(s.directory, 0, this.directory, 0, TABLE_SIZE);
+    this.epoch = epochs.incrementAndGet();
+
+    this.registers.restore(s.registers);
+    this.journal.clear();
+  }
+
+  @Override
+  public IMemoryManager fork() {
+    PagedMemoryManager child = new PagedMemoryManager();
+    child.restore(this.snapshot());
+
+    return child;
+  }
+
+  @Override
+  public long textBaseAddress() {
+    // Endereço base de texto/instruções.
+    return MARSMemoryLayout.textBegin;
+  }
+
+  @Override
+  public long dataBaseAddress() {
+    // Endereço base de dados
+    return MARSMemoryLayout.dataBegin;
+  }
+
+  @Override
+  public long stackBaseAddress() {
+    // O stack cresce de "cima" para "baixo".
+    return MARSMemoryLayout.stackLimit;
+  }
+
+  @Override
+  public MemoryLocationType typeFromAddress(long address) {
+    return MARSMemoryLayout.typeFromAddress(address);
+  }
+
+}
@@ -0,0 +1,152 @@
+package br.ufrpe.mips.data.imp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import br.ufrpe.mips.data.IRegister;
+import br.ufrpe.mips.data.utils.RegisterType;
+import br.ufrpe.mips.data.utils.WriteJournal;
+
+/**
+ * Banco de registradores armazenado em um único vetor de inteiros.
+ * 
+ * As posições 0-31 são os registradores comuns, seguidos de HI, LO e PC. O registrador $0 é
+ * sempre 0: escritas nele são descartadas.
+ * 
+ * Para a camada de apresentação, cada posição também é exposta como um {@link IRegister} que lê e
+ * escreve diretamente no vetor.
+ * 
+ * Todas as escritas (inclusive pelas visões) são informadas ao {@link WriteJournal} do gerenciador
+ * de memória.
+ * 
+ * @version 1.0
+ */
+public final class RegisterFile {
+
+  // Posições dos registradores especiais
+  public static final int HI = 32;
+  public static final int LO = 33;
+  public static final int PC = 34;
+
+  private final int[] values = new int[35];
+
+  // Visões dos registradores (criadas uma única vez)
+  private final IRegister[] views = new IRegister[35];
+
+  // Registro de escritas
+  private final WriteJournal journal;
+
+  public RegisterFile(WriteJournal journal) {
+    this.journal = journal;
+
+    for (int i = 0; i < 32; i++) {
+      this.views[i] = new View(RegisterType.REGULAR, i, i);
+    }
+
+    this.views[HI] = new View(RegisterType.HI, -1, HI);
+    this.views[LO] = new View(RegisterType.LO, -1, LO);
+    this.views[PC] = new View(RegisterType.PC, -1, PC);
+  }
+
+  /**
+   * Lê o registrador nessa posição.
+   * 
+   * @param index posição em [0..34].
+   * @return inteiro 32-bits.
+   */
+  public int read(int index) {
+    return this.values[index];
+  }
+
+  /**
+   * Escreve no registrador nessa posição (escritas em $0 são descartadas).
+   * 
+   * @param index posição em [0..34].
+   * @param content inteiro 32-bits.
+   */
+  public void write(int index, int content) {
+    if (index != 0) {
+      this.journal.register(index, this.values[index]);
+      this.values[index] = content;
+    }
+  }
+
+  /**
+   * Retorna a visão do registrador nessa posição.
+   * 
+   * @param index posição em [0..34].
+   * @return {@link IRegister}.
+   */
+  public IRegister view(int index) {
+    return this.views[index];
+  }
+
+  /**
+   * Retorna as visões dos registradores comuns ($0-$31).
+   * 
+   * @return lista de registradores.
+   */
+  public List<IRegister> registers() {
+    return new ArrayList<>(Arrays.asList(this.views).subList(0, 32));
+  }
+
+  /**
+   * Zera todos os registradores.
+   */
+  public void clear() {
+    Arrays.fill(this.values, 0);
+  }
+
+  /**
+   * Copia os valores de todos os registradores.
+   * 
+   * @return vetor com os valores (mesmas posições do banco).
+   */
+  public int[] copy() {
+    return this.values.clone();
+  }
+
+  /**
+   * Restaura os valores de todos os registradores (as visões continuam válidas).
+   * 
+   * @param values vetor retornado por {@link #copy()}.
+   */
+  public void restore(int[] values) {
+    System.arraycopy(values, 0, this.values, 0, this.values.length);
+  }
+
+  private final class View implements IRegister {
+
+    private final RegisterType type;
+    private final int number;
+    private final int index;
+
+    private View(RegisterType type, int number, int index) {
+      this.type = type;
+      this.number = number;
+      this.index = index;
+    }
+
+    @Override
+    public RegisterType type() {
+      return this.type;
+    }
+
+    @Override
+    public int number() {
+      return this.number;
+    }
+
+    @Override
+    public int read() {
+      return RegisterFile.this.values[this.index];
+    }
+
+    @Override
+    public void write(int content) {
+      RegisterFile.this.write(this.index, content);
+    }
+  }
+
+}
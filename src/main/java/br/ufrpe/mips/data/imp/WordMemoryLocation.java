@@ -1,6 +1,5 @@
 package br.ufrpe.mips.data.imp;
 
-import java.nio.ByteBuffer;
 import java.util.Objects;
 import br.ufrpe.mips.data.IMemoryLocation;
 import br.ufrpe.mips.data.utils.MemoryLocationType;
@@ -42,24 +41,18 @@ public final class WordMemoryLocation implements IMemoryLocation<Integer> {
 
   @Override
   public Integer read() {
-    return ByteBuffer.wrap(this.asByteArray()).getInt();
+    // Big-endian: cell0 é o byte mais significativo
+    return (this.cell0.read() << 24) | ((this.cell1.read() & 0xff) << 16)
+        | ((this.cell2.read() & 0xff) << 8) | (this.cell3.read() & 0xff);
   }
 
   @Override
   public void write(Integer content) {
-    ByteBuffer buffer = ByteBuffer.allocate(4);
-    buffer.putInt(content);
-    this.updateFromByteArray(buffer.array());
-  }
-
-  private byte[] asByteArray() {
-    return new byte[] {this.cell0.read(), this.cell1.read(), this.cell2.read(), this.cell3.read()};
-  }
+    int v = content;
 
-  private void updateFromByteArray(byte[] arr) {
-    this.cell0.write(arr[0]);
-    this.cell1.write(arr[1]);
-    this.cell2.write(arr[2]);
-    this.cell3.write(arr[3]);
+    this.cell0.write((byte) (v >>> 24));
+    this.cell1.write((byte) (v >>> 16));
+    this.cell2.write((byte) (v >>> 8));
+    this.cell3.write((byte) v);
   }
 }
@@ -0,0 +1,201 @@
+package br.ufrpe.mips.data.utils;
+
+import java.util.Arrays;
+
+/**
+ * Registro das escritas realizadas na memória principal e nos registradores.
+ *
+ * Quando habilitado, cada escrita marca o registrador em uma máscara de bits (0..31 comuns,
+ * {@link #HI}, {@link #LO} e {@link #PC}) e adiciona o endereço da palavra escrita a um vetor de
+ * longs que cresce sob demanda. Escritas consecutivas na mesma palavra são registradas uma única
+ * vez; escritas não consecutivas podem aparecer repetidas.
+ *
+ * Junto de cada registro é mantido o valor anterior à escrita (o mais antigo, no caso dos
+ * registradores), permitindo desfazer as escritas na ordem inversa.
+ *
+ * {@link #drain()} alterna entre dois conjuntos de alterações pré-alocados, de forma que nenhum
+ * objeto é criado a cada chamada.
+ *
+ * @version 1.0
+ */
+public final class WriteJournal {
+
+  // Posições dos registradores especiais na máscara (mesmas do banco de registradores)
+  public static final int HI = 32;
+  public static final int LO = 33;
+  public static final int PC = 34;
+
+  private boolean enabled;
+  private Changes active = new Changes();
+  private Changes drained = new Changes();
+
+  /**
+   * Habilita ou desabilita o registro de escritas.
+   *
+   * @param enabled true para registrar as escritas.
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public boolean isEnabled() {
+    return this.enabled;
+  }
+
+  /**
+   * Registra uma escrita no registrador nessa posição (chamado antes da escrita).
+   *
+   * @param index posição em [0..34].
+   * @param previous valor do registrador antes da escrita.
+   */
+  public void register(int index, int previous) {
+    if (this.enabled) {
+      this.active.register(index, previous);
+    }
+  }
+
+  /**
+   * Registra uma escrita na palavra que contém esse endereço (chamado antes da escrita).
+   *
+   * @param address endereço escrito (byte ou palavra).
+   * @param previous valor da palavra antes da escrita.
+   */
+  public void word(long address, int previous) {
+    if (this.enabled) {
+      this.active.add(address & ~3L, previous);
+    }
+  }
+
+  /**
+   * Retorna as escritas registradas desde a última chamada e reinicia o registro.
+   *
+   * O objeto retornado é reutilizado: seu conteúdo só é válido até a próxima chamada.
+   *
+   * @return {@link Changes}.
+   */
+  public Changes drain() {
+    Changes changes = this.active;
+
+    this.active = this.drained;
+    this.active.clear();
+    this.drained = changes;
+
+    return changes;
+  }
+
+  /**
+   * Descarta todas as escritas registradas.
+   */
+  public void clear() {
+    this.active.clear();
+    this.drained.clear();
+  }
+
+  /**
+   * Conjunto de registradores e palavras escritos entre duas chamadas de {@link #drain()}.
+   */
+  public static final class Changes {
+
+    private long registers;
+    private final int[] previousRegisters = new int[PC + 1];
+    private long[] words = new long[16];
+    private int[] previous = new int[16];
+    private int wordCount;
+
+    private Changes() {}
+
+    /**
+     * Checa se esse registrador foi escrito.
+     *
+     * @param index posição em [0..34].
+     * @return true caso tenha sido escrito.
+     */
+    public boolean hasRegister(int index) {
+      return (this.registers & (1L << index)) != 0;
+    }
+
+    /**
+     * Máscara de bits dos registradores escritos.
+     *
+     * @return máscara (bit i = posição i).
+     */
+    public long registers() {
+      return this.registers;
+    }
+
+    /**
+     * Valor do registrador antes da primeira escrita registrada.
+     *
+     * @param index posição em [0..34] (apenas registradores escritos).
+     * @return inteiro 32-bits.
+     */
+    public int previousRegister(int index) {
+      return this.previousRegisters[index];
+    }
+
+    /**
+     * Quantidade de palavras escritas.
+     *
+     * @return quantidade de palavras.
+     */
+    public int wordCount() {
+      return this.wordCount;
+    }
+
+    /**
+     * Endereço (alinhado) da k-ésima palavra escrita.
+     *
+     * @param k índice em [0..wordCount).
+     * @return endereço da palavra.
+     */
+    public long word(int k) {
+      return this.words[k];
+    }
+
+    /**
+     * Valor da k-ésima palavra escrita antes dessa escrita.
+     *
+     * @param k índice em [0..wordCount).
+     * @return inteiro 32-bits.
+     */
+    public int previousWord(int k) {
+      return this.previous[k];
+    }
+
+    public boolean isEmpty() {
+      return this.registers == 0L && this.wordCount == 0;
+    }
+
+    private void register(int index, int previous) {
+      long bit = 1L << index;
+
+      if ((this.registers & bit) == 0) {
+        this.registers |= bit;
+        this.previousRegisters[index] = previous;
+      }
+    }
+
+    private void add(long address, int previous) {
+      int n = this.wordCount;
+
+      if (n > 0 && this.words[n - 1] == address) {
+        return;
+      }
+
+      if (n == this.words.length) {
+        this.words = Arrays.copyOf(this.words, n * 2);
+        this.previous = Arrays.copyOf(this.previous, n * 2);
+      }
+
+      this.words[n] = address;
+      this.previous[n] = previous;
+      this.wordCount = n + 1;
+    }
+
+    private void clear() {
+      this.registers = 0L;
+      this.wordCount = 0;
+    }
+  }
+
+}
@@ -1,48 +1,157 @@
 package br.ufrpe.mips.presentation.cli;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.apache.commons.io.FileUtils;
-
-import com.fasterxml.jackson.core.PrettyPrinter;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import br.ufrpe.mips.data.imp.MARSMemoryManager;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
 import br.ufrpe.mips.presentation.entity.InputJSON;
 import br.ufrpe.mips.presentation.entity.OutputJSON;
+import br.ufrpe.mips.presentation.trace.BinaryTraceReader;
+import br.ufrpe.mips.presentation.trace.BinaryTraceWriter;
+import br.ufrpe.mips.presentation.trace.StepPipeline;
+import br.ufrpe.mips.presentation.trace.TraceState;
 import br.ufrpe.mips.simulator.IMIPS32;
 import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+import br.ufrpe.mips.simulator.utils.profiler.GuestProfiler;
 
 public final class Main {
   private static Path inputPath = Path.of("input");
   private static Path outputPath = Path.of("output");
   private static ObjectMapper mapper = new ObjectMapper();
-  private static PrettyPrinter printer = new DefaultPrettyPrinter().withoutSpacesInObjectEntries();
-  private static IMIPS32 simulator = new MIPS32Processor(new MARSMemoryManager());
+  private static DefaultPrettyPrinter printer =
+      new DefaultPrettyPrinter().withoutSpacesInObjectEntries();
+  // Escrita de cada passo diretamente no arquivo, sem flush a cada valor
+  private static ObjectWriter stepWriter =
+      mapper.writerFor(OutputJSON.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+  // Intervalo entre keyframes da saída incremental (0 = estado completo a cada passo)
+  private static int keyframeInterval = 0;
+  // Quantidade de arquivos executados em paralelo (0 = execução sequencial)
+  private static int jobs = 0;
+  // Saída no formato binário (.trc) ao invés de JSON
+  private static boolean binary = false;
+  // Relatório do profiler (.profile.txt) e pilhas de chamadas (.folded) ao lado de cada saída
+  private static boolean profile = false;
+  // Cada execução em lote utiliza sua própria instância do simulador
+  private static Supplier<IMIPS32> simulators =
+      () -> new MIPS32Processor(new PagedMemoryManager());
 
   private Main() {
     // Essa classe não pode ser instanciada.
   }
 
   /**
-   * Atualiza o simulador utilizado.
+   * Tempo de execução de um arquivo de entrada.
+   */
+  private record JobResult(Path input, long steps, long nanos) {
+  }
+
+  /**
+   * Atualiza a forma de criação dos simuladores utilizados.
    * 
-   * @param simulator instância de um simulador MIPS.
+   * @param simulators fornece uma nova instância de um simulador MIPS a cada chamada.
    */
-  public static void setSimulator(IMIPS32 simulator) {
-    Main.simulator = simulator;
+  public static void setSimulatorFactory(Supplier<IMIPS32> simulators) {
+    Main.simulators = simulators;
   }
 
   public static void main(String[] args) throws IOException {
+    // Saída incremental: --delta ou --delta=<passos entre keyframes>
+    for (String arg : args) {
+      if (arg.equals("--delta")) {
+        Main.keyframeInterval = TraceState.DEFAULT_KEYFRAME_INTERVAL;
+      } else if (arg.startsWith("--delta=")) {
+        Main.keyframeInterval = Integer.parseInt(arg.substring("--delta=".length()));
+      } else if (arg.equals("--jobs")) {
+        // Execução em lote: --jobs ou --jobs=<quantidade de processos>
+        Main.jobs = Runtime.getRuntime().availableProcessors();
+      } else if (arg.startsWith("--jobs=")) {
+        Main.jobs = Integer.parseInt(arg.substring("--jobs=".length()));
+      } else if (arg.equals("--binary")) {
+        Main.binary = true;
+      } else if (arg.equals("--profile")) {
+        Main.profile = true;
+      } else if (arg.equals("--convert")) {
+        // Conversão dos traces binários do diretório de saída para JSON
+        Main.convertTraces();
+        return;
+      }
+    }
+
+    if (Main.jobs > 0) {
+      Main.runBatch();
+      return;
+    }
+
     // Executando todos os arquivos no diretório de entrada
-    Files.walk(inputPath).forEach(Main::run);
+    IMIPS32 simulator = Main.simulators.get();
+    Files.walk(inputPath).forEach(p -> Main.run(p, simulator));
+  }
+
+  /**
+   * Executa todos os arquivos do diretório de entrada em paralelo, cada um com seu próprio
+   * simulador, e exibe o tempo de execução de cada arquivo.
+   * 
+   * @throws IOException caso não seja possível listar o diretório de entrada.
+   */
+  private static void runBatch() throws IOException {
+    List<Path> inputs;
+    try (Stream<Path> files = Files.walk(inputPath)) {
+      inputs = files.collect(Collectors.toList());
+    }
+
+    long start = System.nanoTime();
+    ExecutorService pool = Executors.newFixedThreadPool(Main.jobs);
+    List<Future<JobResult>> results = new ArrayList<>();
+
+    for (Path p : inputs) {
+      results.add(pool.submit(() -> Main.run(p, Main.simulators.get())));
+    }
+    pool.shutdown();
+
+    // --- RESUMO DA EXECUÇÃO ---
+    StringBuilder summary = new StringBuilder();
+    int executed = 0;
+
+    for (int i = 0; i < inputs.size(); i++) {
+      try {
+        JobResult r = results.get(i).get();
+        if (r != null) {
+          summary.append("%s: %d instruções em %.1f ms%n".formatted(r.input(), r.steps(),
+              r.nanos() / 1e6));
+          executed++;
+        }
+      } catch (ExecutionException e) {
+        summary.append("%s: falhou (%s)%n".formatted(inputs.get(i), e.getCause()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+
+    System.out.println("\n--- Resumo (%d processos) ---".formatted(Main.jobs));
+    System.out.print(summary);
+    System.out.println("Total: %d arquivos em %.1f ms".formatted(executed,
+        (System.nanoTime() - start) / 1e6));
   }
 
   /**
@@ -51,115 +160,206 @@ public final class Main {
    * Salva o resultado da execução em um arquivo JSON de saída.
    * 
    * @param p caminho para o arquivo JSON.
+   * @param simulator simulador utilizado (reiniciado antes da execução).
+   * @return {@link JobResult} ou null caso o arquivo não seja uma entrada válida.
    */
-  private static void run(Path p) {
+  private static JobResult run(Path p, IMIPS32 simulator) {
     if (!Files.exists(p) || Files.isDirectory(p) || !p.toString().contains(".json")) {
       // Pular para o próximo arquivo caso não seja um json;
-      return;
+      return null;
     }
 
     InputJSON input = null;
-    ArrayList<OutputJSON> output = new ArrayList<>();
 
     try {
       input = Main.mapper.readValue(p.toFile(), InputJSON.class);
     } catch (IOException e) {
       // Não foi possível ler a entrada, pular arquivo;
-      return;
+      return null;
     }
 
     System.out.println("\n--- Executando %s ---".formatted(p));
+    long start = System.nanoTime();
+    long steps = 0;
 
     // --- CARREGAMENTO DE DADOS NO SIMULADOR ---
-    Main.simulator.reset(); // Limpar a memória do simulador
-    Main.loadData(input);
+    if (Main.profile && simulator instanceof MIPS32Processor processor) {
+      processor.enableProfiler(true);
+    }
+    simulator.reset(); // Limpar a memória do simulador
+    Main.loadData(simulator, input);
+
+    // --- EXECUÇÃO DO PROGRAMA E ESCRITA DOS RESULTADOS ---
+    // Cada passo é escrito no arquivo assim que executado (memória constante)
+    String fname = Main.outputFileName(p.getFileName().toString());
+    Path out = Path.of(Main.outputPath.toString(), fname);
 
-    // --- EXECUÇÃO DO PROGRAMA ---
-    while (Main.simulator.hasNextInstruction()) {
-      Main.simulator.runNexInstruction();
-      output.add(Main.getCurrentResults());
+    if (Main.binary) {
+      Path trace = out.resolveSibling(fname.replaceAll("\\.json$", ".trc"));
+      steps = Main.runBinary(simulator, trace);
+      Main.writeProfile(simulator, out);
+      return new JobResult(p, steps, System.nanoTime() - start);
     }
 
-    // --- FINALIZAÇÃO E ESCRITA DOS RESULTADOS ---
-    try {
-      String result = Main.mapper.writer(Main.printer).writeValueAsString(output);
+    // Saída completa ou incremental (apenas valores alterados, com keyframes periódicos)
+    boolean delta = Main.keyframeInterval > 0;
+    TraceState trace = new TraceState(delta ? Main.keyframeInterval : 1);
+    trace.load(simulator);
+
+    try (JsonGenerator generator = Main.openOutput(out)) {
+      generator.writeStartArray();
 
-      String fname = Main.outputFileName(p.getFileName().toString());
-      Path out = Path.of(Main.outputPath.toString(), fname);
+      // Conversão e escrita de cada passo na thread de escrita, em paralelo com a execução
+      StepPipeline.StepSink sink = record -> {
+        OutputJSON step;
+        if (delta) {
+          step = trace.step(record);
+        } else {
+          trace.update(record);
+          step = trace.snapshot(record);
+        }
 
-      FileUtils.writeStringToFile(out.toFile(), result, "UTF-8");
+        Main.stepWriter.writeValue(generator, step);
+      };
+
+      try (StepPipeline pipeline = new StepPipeline(StepPipeline.DEFAULT_CAPACITY, sink)) {
+        while (simulator.hasNextInstruction()) {
+          simulator.runNexInstruction();
+          pipeline.publish(simulator);
+          steps++;
+        }
+      }
+
+      generator.writeEndArray();
     } catch (IOException e) {
       // Silent catch.
     }
+
+    Main.writeProfile(simulator, out);
+    return new JobResult(p, steps, System.nanoTime() - start);
   }
 
   /**
-   * Método utilitário, carrega todos os dados necessários no simulador na memória: registradores e
-   * memória principal.
+   * Escreve o relatório do profiler e as pilhas de chamadas (formato de entrada de ferramentas de
+   * flame graph) ao lado do arquivo de saída (caso habilitado).
    * 
-   * @param input arquivo de entrada contendo todos os dados.
+   * @param simulator simulador MIPS após a execução.
+   * @param out caminho do arquivo de saída.
    */
-  private static void loadData(InputJSON input) {
-    // Instruções
-    Main.simulator.loadInstructions(input.instructions);
+  private static void writeProfile(IMIPS32 simulator, Path out) {
+    if (!(simulator instanceof MIPS32Processor processor) || processor.profiler() == null) {
+      return;
+    }
 
-    // Registradores
-    Main.simulator.loadRegisters(input.registersMap());
+    String fname = out.getFileName().toString();
+    Path report = out.resolveSibling(fname.replaceAll("\\.json$", ".profile.txt"));
+    Path stacks = out.resolveSibling(fname.replaceAll("\\.json$", ".folded"));
+    try (Writer writer = Files.newBufferedWriter(stacks)) {
+      Files.writeString(report, processor.profiler().report(GuestProfiler.DEFAULT_HOT_SPOTS));
+      processor.profiler().callGraph().writeCollapsedStacks(writer);
+    } catch (IOException e) {
+      System.err.println("Não foi possível escrever o perfil de %s: %s".formatted(out,
+          e.getMessage()));
+    }
+  }
 
-    // Memória principal
-    Main.simulator.loadMemory(input.memoryMap());
+  /**
+   * Executa o programa carregado no simulador escrevendo cada passo no trace binário.
+   * 
+   * @param simulator simulador MIPS com o programa carregado.
+   * @param out caminho do arquivo de saída.
+   * @return quantidade de instruções executadas.
+   */
+  private static long runBinary(IMIPS32 simulator, Path out) {
+    int interval =
+        Main.keyframeInterval > 0 ? Main.keyframeInterval : TraceState.DEFAULT_KEYFRAME_INTERVAL;
+    long steps = 0;
 
-    // Segmento de dados
-    Main.simulator.loadData(input.dataMap());
+    try (BinaryTraceWriter writer = new BinaryTraceWriter(out, interval)) {
+      writer.load(simulator);
+
+      try (StepPipeline pipeline = new StepPipeline(StepPipeline.DEFAULT_CAPACITY, writer::step)) {
+        while (simulator.hasNextInstruction()) {
+          simulator.runNexInstruction();
+          pipeline.publish(simulator);
+          steps++;
+        }
+      }
+    } catch (IOException e) {
+      // Silent catch.
+    }
+
+    return steps;
   }
 
   /**
-   * Método utilitário, converte o estado atual do simulador para um {@link OutputJSON}.
+   * Converte todos os traces binários (.output.trc) do diretório de saída para a saída JSON
+   * padrão (.output.json).
    * 
-   * @return {@link OutputJSON} representando o estado atual do simulador.
+   * @throws IOException caso não seja possível listar o diretório de saída.
    */
-  private static OutputJSON getCurrentResults() {
-    Map<String, Integer> registers = Main.simulator.registers();
-    Map<Long, Integer> memory = Main.simulator.memory();
-    String hex = Main.simulator.toHex();
-    String assembly = Main.simulator.toAssembly();
-    String stdout = Main.simulator.output();
-
-    OutputJSON outputJSON = new OutputJSON();
-
-    // Adicionando informações gerais
-    outputJSON.assemblyInstruction = assembly;
-    outputJSON.hexInstruction = hex;
-    outputJSON.stdout = stdout;
-
-    // Adicionando todos registradores que possuem valor != 0
-    LinkedHashMap<String, Integer> regsMap = new LinkedHashMap<>();
-    registers.entrySet().stream().sorted(Comparator.comparing(e -> {
-      String k = e.getKey();
-      if (k.equals("pc")) {
-        // Depois de todos registradores
-        return 900;
-      } else if (k.equals("hi")) {
-        // Depois de pc
-        return 901;
-      } else if (k.equals("lo")) {
-        // Depois de hi
-        return 902;
-      } else {
-        // De acordo com número do registrador
-        return Integer.parseInt(k.replace("$", ""));
+  private static void convertTraces() throws IOException {
+    List<Path> traces;
+    try (Stream<Path> files = Files.walk(outputPath)) {
+      traces = files.filter(f -> f.toString().endsWith(".output.trc")).sorted()
+          .collect(Collectors.toList());
+    }
+
+    for (Path trace : traces) {
+      System.out.println("\n--- Convertendo %s ---".formatted(trace));
+      Path out = Path.of(trace.toString().replaceAll("\\.trc$", ".json"));
+
+      try (BinaryTraceReader reader = new BinaryTraceReader(trace);
+          JsonGenerator generator = Main.openOutput(out)) {
+        generator.writeStartArray();
+
+        for (long step = 0; step < reader.steps(); step++) {
+          Main.stepWriter.writeValue(generator, reader.read(step));
+        }
+
+        generator.writeEndArray();
       }
-    })).filter(e -> e.getValue() != 0).forEachOrdered(e -> regsMap.put(e.getKey(), e.getValue()));
-    outputJSON.registers = regsMap;
+    }
+  }
+
+  /**
+   * Método utilitário, abre o arquivo de saída (criando os diretórios necessários) para escrita
+   * incremental do JSON, com a mesma formatação usada para o arquivo completo.
+   * 
+   * @param out caminho do arquivo de saída.
+   * @return {@link JsonGenerator} sobre o arquivo.
+   * @throws IOException caso não seja possível criar o arquivo.
+   */
+  private static JsonGenerator openOutput(Path out) throws IOException {
+    Files.createDirectories(out.toAbsolutePath().getParent());
+
+    OutputStream stream =
+        new BufferedOutputStream(Files.newOutputStream(out), Main.OUTPUT_BUFFER_SIZE);
+    JsonGenerator generator = Main.mapper.getFactory().createGenerator(stream, JsonEncoding.UTF8);
+    generator.setPrettyPrinter(Main.printer.createInstance());
+
+    return generator;
+  }
+
+  /**
+   * Método utilitário, carrega todos os dados necessários no simulador na memória: registradores e
+   * memória principal.
+   * 
+   * @param simulator simulador MIPS.
+   * @param input arquivo de entrada contendo todos os dados.
+   */
+  private static void loadData(IMIPS32 simulator, InputJSON input) {
+    // Instruções
+    simulator.loadInstructions(input.instructions);
 
-    // Adicionando todas células de memória que possuem valor != 0
-    LinkedHashMap<String, Integer> memMap = new LinkedHashMap<>();
-    memory.entrySet().stream().sorted(Comparator.comparing(Entry::getKey))
-        .filter(e -> e.getValue() != 0)
-        .forEachOrdered(e -> memMap.put(e.getKey().toString(), e.getValue()));
-    outputJSON.memory = memMap;
+    // Registradores
+    simulator.loadRegisters(input.registersMap());
 
-    return outputJSON;
+    // Memória principal
+    simulator.loadMemory(input.memoryMap());
+
+    // Segmento de dados
+    simulator.loadData(input.dataMap());
   }
 
   /**
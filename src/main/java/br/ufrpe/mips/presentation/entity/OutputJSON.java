@@ -2,6 +2,7 @@ package br.ufrpe.mips.presentation.entity;
 
 import java.util.LinkedHashMap;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class OutputJSON {
@@ -21,4 +22,10 @@ public class OutputJSON {
   @JsonProperty("mem")
   public LinkedHashMap<String, Integer> memory;
 
+  // Apenas na saída incremental: true caso o passo contenha o estado completo,
+  // false caso contenha apenas os valores alterados (inclusive 0)
+  @JsonProperty("keyframe")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public Boolean keyframe;
+
 }
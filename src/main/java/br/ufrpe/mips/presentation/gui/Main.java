@@ -3,19 +3,19 @@ package br.ufrpe.mips.presentation.gui;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Comparator;
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.List;
 
 import org.apache.commons.io.FileUtils;
 
 import com.fasterxml.jackson.core.PrettyPrinter;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import br.ufrpe.mips.data.imp.MARSMemoryManager;
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
 import br.ufrpe.mips.presentation.entity.InputJSON;
 import br.ufrpe.mips.presentation.entity.OutputJSON;
+import br.ufrpe.mips.presentation.trace.IndexedTraceWriter;
+import br.ufrpe.mips.presentation.trace.StepPipeline;
+import br.ufrpe.mips.presentation.trace.TraceState;
 import br.ufrpe.mips.simulator.IMIPS32;
 import br.ufrpe.mips.simulator.imp.MIPS32Processor;
 
@@ -23,16 +23,25 @@ public class Main {
 
   private static Path inputPath = Path.of("input");
   private static Path outputPath = Path.of("output");
-  private static Path outputGUIPath = Path.of("output", "gui");
+  // Trace lido pelo GUI: JSON de cada passo em um único arquivo indexado
+  private static Path traceGUIPath = Path.of("output", "gui", "trace.idx");
   private static ObjectMapper mapper = new ObjectMapper();
   private static PrettyPrinter printer = new DefaultPrettyPrinter().withoutSpacesInObjectEntries();
-  private static IMIPS32 simulator = new MIPS32Processor(new MARSMemoryManager());
+  private static IMIPS32 simulator = new MIPS32Processor(new PagedMemoryManager());
   private static PythonInit pyInit = new PythonInit();
+  // Estado atualizado a partir das escritas de cada passo
+  private static TraceState trace = new TraceState();
 
   public static void main(String[] args) throws IOException {
-    // Inicializando Python
+    // Inicializando Python (ambiente reutilizado entre execuções)
     Main.pyInit.initialize();
 
+    // Apenas preparação do ambiente: --warmup
+    if (List.of(args).contains("--warmup")) {
+      System.out.println("Ambiente Python pronto em %s.".formatted(Main.pyInit.venvDirectory()));
+      return;
+    }
+
     // Executando todos os arquivos no diretório de entrada
     Files.walk(inputPath).forEach(Main::run);
   }
@@ -62,14 +71,26 @@ public class Main {
     // --- CARREGAMENTO DE DADOS NO SIMULADOR ---
     Main.simulator.reset(); // Limpar a memória do simulador
     Main.loadData(input);
-    Main.writeResults(Main.outputGUIPath, "0.json");
-    int i = 0;
+    Main.trace.load(Main.simulator);
 
     // --- EXECUÇÃO DO PROGRAMA ---
-    while (Main.simulator.hasNextInstruction()) {
-      i++;
-      Main.simulator.runNexInstruction();
-      Main.writeResults(Main.outputGUIPath, "%d.json".formatted(i));
+    try (IndexedTraceWriter writer = new IndexedTraceWriter(Main.traceGUIPath)) {
+      writer.append(Main.mapper.writeValueAsBytes(Main.trace.snapshot(Main.simulator)));
+
+      // Conversão e escrita de cada passo na thread de escrita, em paralelo com a execução
+      StepPipeline.StepSink sink = record -> {
+        Main.trace.update(record);
+        writer.append(Main.mapper.writeValueAsBytes(Main.trace.snapshot(record)));
+      };
+
+      try (StepPipeline pipeline = new StepPipeline(StepPipeline.DEFAULT_CAPACITY, sink)) {
+        while (Main.simulator.hasNextInstruction()) {
+          Main.simulator.runNexInstruction();
+          pipeline.publish(Main.simulator);
+        }
+      }
+    } catch (IOException e) {
+      // Silent catch.
     }
 
     // --- FINALIZAÇÃO E ESCRITA DOS RESULTADOS ---
@@ -90,9 +111,9 @@ public class Main {
       System.out.println("Não foi possível iniciar o GUI...");
     }
 
-    // --- LIMPAR PASTA DO GUI ---
+    // --- REMOVER TRACE DO GUI ---
     try {
-      FileUtils.cleanDirectory(Main.outputGUIPath.toFile());
+      Files.deleteIfExists(Main.traceGUIPath);
     } catch (IOException e) {
       // Silent catch.
     }
@@ -108,7 +129,8 @@ public class Main {
     }
 
     try {
-      String result = Main.mapper.writer(Main.printer).writeValueAsString(Main.getCurrentResults());
+      OutputJSON state = Main.trace.snapshot(Main.simulator);
+      String result = Main.mapper.writer(Main.printer).writeValueAsString(state);
       Path out = Path.of(dir.toString(), fname);
 
       FileUtils.writeStringToFile(out.toFile(), result, "UTF-8");
@@ -137,55 +159,6 @@ public class Main {
     Main.simulator.loadData(input.dataMap());
   }
 
-  /**
-   * Método utilitário, converte o estado atual do simulador para um {@link OutputJSON}.
-   * 
-   * @return {@link OutputJSON} representando o estado atual do simulador.
-   */
-  private static OutputJSON getCurrentResults() {
-    Map<String, Integer> registers = Main.simulator.registers();
-    Map<Long, Integer> memory = Main.simulator.memory();
-    String hex = Main.simulator.toHex();
-    String assembly = Main.simulator.toAssembly();
-    String stdout = Main.simulator.output();
-
-    OutputJSON outputJSON = new OutputJSON();
-
-    // Adicionando informações gerais
-    outputJSON.assemblyInstruction = assembly;
-    outputJSON.hexInstruction = hex;
-    outputJSON.stdout = stdout;
-
-    // Adicionando todos registradores que possuem valor != 0
-    LinkedHashMap<String, Integer> regsMap = new LinkedHashMap<>();
-    registers.entrySet().stream().sorted(Comparator.comparing(e -> {
-      String k = e.getKey();
-      if (k.equals("pc")) {
-        // Depois de todos registradores
-        return 900;
-      } else if (k.equals("hi")) {
-        // Depois de pc
-        return 901;
-      } else if (k.equals("lo")) {
-        // Depois de hi
-        return 902;
-      } else {
-        // De acordo com número do registrador
-        return Integer.parseInt(k.replace("$", ""));
-      }
-    })).filter(e -> e.getValue() != 0).forEachOrdered(e -> regsMap.put(e.getKey(), e.getValue()));
-    outputJSON.registers = regsMap;
-
-    // Adicionando todas células de memória que possuem valor != 0
-    LinkedHashMap<String, Integer> memMap = new LinkedHashMap<>();
-    memory.entrySet().stream().sorted(Comparator.comparing(Entry::getKey))
-        .filter(e -> e.getValue() != 0)
-        .forEachOrdered(e -> memMap.put(e.getKey().toString(), e.getValue()));
-    outputJSON.memory = memMap;
-
-    return outputJSON;
-  }
-
   /**
    * Retorna o nome do arquivo seguindo a especificação dos requisitos.
    * 
@@ -2,19 +2,46 @@ package br.ufrpe.mips.presentation.gui;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import org.apache.commons.io.FileUtils;
 
+/**
+ * Ambiente Python utilizado pelo GUI.
+ *
+ * O ambiente virtual é mantido entre execuções em um diretório identificado por um hash das
+ * dependências e da versão do interpretador. Na inicialização basta checar o arquivo de
+ * marcação do ambiente; o ambiente só é recriado quando as dependências ou o interpretador mudam
+ * (ou quando uma instalação anterior não foi concluída).
+ */
 public class PythonInit {
 
+  // Dependências do GUI
+  private static final List<String> REQUIREMENTS = List.of("dearpygui==1.6.2");
+
+  // Arquivo escrito apenas após a instalação de todas as dependências
+  private static final String READY_MARKER = ".ready";
+
+  private Path cacheDirectory;
   private Path venvDirectory;
   private Path mainPath;
   private Path pythonPath;
 
   public PythonInit() {
-    this.venvDirectory = Path.of(FileUtils.getTempDirectoryPath());
+    this(Path.of(System.getProperty("user.home"), ".mips-simulator"));
+  }
+
+  /**
+   * @param cacheDirectory diretório onde os ambientes virtuais são mantidos.
+   */
+  public PythonInit(Path cacheDirectory) {
+    this.cacheDirectory = cacheDirectory;
 
     try {
       this.mainPath = Path.of(PythonInit.class.getResource("/main.py").toURI());
@@ -24,27 +51,68 @@ public class PythonInit {
   }
 
   public Process runGUI() throws IOException {
-    List<String> command = List.of("python", this.mainPath.toString());
+    List<String> command = List.of(this.pythonPath.toString(), this.mainPath.toString());
     ProcessBuilder builder = new ProcessBuilder(command);
     return builder.start();
   }
 
+  /**
+   * Prepara o ambiente virtual, reutilizando o ambiente existente caso seja válido.
+   */
   public void initialize() {
+    String key = this.environmentKey();
+    this.venvDirectory = this.cacheDirectory.resolve("venv-" + key);
+    Path marker = this.venvDirectory.resolve(READY_MARKER);
+
+    try {
+      if (Files.exists(marker) && Files.readString(marker).equals(key)) {
+        this.pythonPath = this.findPython();
+        if (Files.exists(this.pythonPath)) {
+          return;
+        }
+      }
+    } catch (IOException e) {
+      // Ambiente inválido, será recriado.
+    }
+
+    FileUtils.deleteQuietly(this.venvDirectory.toFile());
     this.createVirtualEnvironment();
     this.initializeVirtualEnvironment();
+
+    try {
+      Files.writeString(marker, key);
+    } catch (IOException e) {
+      String msg = "Couldn't write venv marker in %s.".formatted(this.venvDirectory);
+      throw new RuntimeException(msg);
+    }
   }
 
-  private void createVirtualEnvironment() {
-    ProcessBuilder builder = new ProcessBuilder();
-    builder.command(List.of("python", "-m", "venv", this.venvDirectory.toString()));
+  public Path venvDirectory() {
+    return this.venvDirectory;
+  }
 
+  /**
+   * Identificador do ambiente: hash das dependências e da versão do interpretador.
+   *
+   * @return primeiros 16 dígitos hexadecimais do SHA-256.
+   */
+  private String environmentKey() {
+    String version = PythonInit.run(List.of("python", "-c",
+        "import sys, platform; print(sys.version, platform.machine())"));
 
     try {
-      Process p = builder.start();
-      p.waitFor();
-    } catch (InterruptedException | IOException e) {
-      // Silent catch.
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(String.join("\n", REQUIREMENTS).getBytes(StandardCharsets.UTF_8));
+      digest.update(version.getBytes(StandardCharsets.UTF_8));
+
+      return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
     }
+  }
+
+  private void createVirtualEnvironment() {
+    PythonInit.run(List.of("python", "-m", "venv", this.venvDirectory.toString()));
 
     try {
       if (FileUtils.isEmptyDirectory(this.venvDirectory.toFile())) {
@@ -58,6 +126,15 @@ public class PythonInit {
   }
 
   private void initializeVirtualEnvironment() {
+    this.pythonPath = this.findPython();
+
+    List<String> command = new ArrayList<>(
+        List.of(this.pythonPath.toString(), "-m", "pip", "install"));
+    command.addAll(REQUIREMENTS);
+    PythonInit.run(command);
+  }
+
+  private Path findPython() {
     // POSIX venv scripts path
     Path scriptsDir = Path.of(this.venvDirectory.toString(), "bin");
 
@@ -66,33 +143,38 @@ public class PythonInit {
       scriptsDir = Path.of(this.venvDirectory.toString(), "Scripts");
     }
 
-    this.pythonPath = Path.of(scriptsDir.toString(), "python");
-    if (!Files.exists(this.pythonPath)) {
+    Path python = Path.of(scriptsDir.toString(), "python");
+    if (!Files.exists(python)) {
       // Windows venv scripts path
-      this.pythonPath = Path.of(scriptsDir.toString(), "python.exe");
+      python = Path.of(scriptsDir.toString(), "python.exe");
     }
 
-    String python = this.pythonPath.toString();
+    return python;
+  }
+
+  /**
+   * Executa um comando e aguarda seu término.
+   *
+   * @param command comando e argumentos.
+   * @return saída padrão do comando.
+   */
+  private static String run(List<String> command) {
+    ProcessBuilder builder = new ProcessBuilder(command);
+    builder.redirectErrorStream(true);
 
-    ProcessBuilder builder = new ProcessBuilder();
-    builder.command(List.of(python, "-m", "pip", "install", "dearpygui==1.6.2"));
     try {
       Process p = builder.start();
-      p.waitFor();
+      String output = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+      if (p.waitFor() != 0) {
+        String msg = "Command %s failed.\n%s".formatted(command, output);
+        throw new RuntimeException(msg);
+      }
+
+      return output;
     } catch (InterruptedException | IOException e) {
-      String msg = "Couldn't install packages with pip.\n%s".formatted(e.getMessage());
+      String msg = "Couldn't run %s.\n%s".formatted(command, e.getMessage());
       throw new RuntimeException(msg);
     }
   }
-
-  private void addCleanUpHook() {
-    Thread deleteRecursively = new Thread(() -> {
-      for (int i = 0; i < 5; i++)
-        if (FileUtils.deleteQuietly(this.venvDirectory.toFile())) {
-          break;
-        }
-    });
-
-    Runtime.getRuntime().addShutdownHook(deleteRecursively);
-  }
 }
@@ -0,0 +1,290 @@
+package br.ufrpe.mips.presentation.server;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.presentation.entity.InputJSON;
+import br.ufrpe.mips.presentation.entity.OutputJSON;
+import br.ufrpe.mips.presentation.trace.TraceState;
+import br.ufrpe.mips.simulator.IMIPS32;
+import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+import br.ufrpe.mips.simulator.utils.execution.StopReason;
+
+/**
+ * Servidor HTTP local: executa programas recebidos como {@link InputJSON} em simuladores
+ * reutilizados, evitando a inicialização da JVM a cada execução.
+ *
+ * <ul>
+ * <li>POST /run: corpo no formato da entrada da CLI. Resposta: objeto com "steps" (mesmo vetor do
+ * arquivo de saída da CLI, escrito passo a passo) seguido de "status", com o motivo do fim da
+ * execução ("reason": HALTED, STEP_LIMIT ou ERROR), a quantidade de passos ("steps") e, em caso
+ * de erro, a mensagem ("error"). Parâmetros opcionais: delta (intervalo entre keyframes da saída
+ * incremental) e maxSteps (limite de instruções, padrão {@link #DEFAULT_MAX_STEPS}).</li>
+ * <li>GET /metrics: requisições, falhas, instruções executadas e latências.</li>
+ * </ul>
+ *
+ * Argumentos: --port=N (padrão 8080) e --threads=N (padrão: quantidade de processadores).
+ */
+public final class Main {
+  private static final long DEFAULT_MAX_STEPS = 1_000_000L;
+  private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+  private static ObjectMapper mapper = new ObjectMapper();
+  private static DefaultPrettyPrinter printer =
+      new DefaultPrettyPrinter().withoutSpacesInObjectEntries();
+  private static ObjectWriter stepWriter =
+      mapper.writerFor(OutputJSON.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+  // Simuladores reutilizados entre requisições (um por thread)
+  private static BlockingQueue<IMIPS32> simulators;
+  private static RequestMetrics metrics = new RequestMetrics();
+
+  private Main() {
+    // Essa classe não pode ser instanciada.
+  }
+
+  public static void main(String[] args) throws IOException {
+    int port = 8080;
+    int threads = Runtime.getRuntime().availableProcessors();
+
+    for (String arg : args) {
+      if (arg.startsWith("--port=")) {
+        port = Integer.parseInt(arg.substring("--port=".length()));
+      } else if (arg.startsWith("--threads=")) {
+        threads = Integer.parseInt(arg.substring("--threads=".length()));
+      }
+    }
+
+    Main.simulators = new ArrayBlockingQueue<>(threads);
+    for (int i = 0; i < threads; i++) {
+      Main.simulators.add(new MIPS32Processor(new PagedMemoryManager()));
+    }
+
+    // Apenas conexões locais
+    InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    HttpServer server = HttpServer.create(address, 0);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+    server.createContext("/run", Main::run);
+    server.createContext("/metrics", Main::metrics);
+    server.setExecutor(pool);
+    server.start();
+
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      server.stop(0);
+      pool.shutdown();
+    }));
+
+    System.out.println("Servidor em http://%s:%d (%d simuladores)".formatted(
+        address.getHostString(), server.getAddress().getPort(), threads));
+  }
+
+  /**
+   * Executa o programa recebido e escreve cada passo na resposta assim que executado.
+   *
+   * @param exchange requisição HTTP.
+   * @throws IOException caso não seja possível escrever a resposta.
+   */
+  private static void run(HttpExchange exchange) throws IOException {
+    long start = System.nanoTime();
+    long steps = 0;
+    boolean failed = true;
+
+    try (exchange) {
+      if (!exchange.getRequestMethod().equals("POST")) {
+        Main.sendText(exchange, 405, "Utilize POST.");
+        return;
+      }
+
+      InputJSON input;
+      int delta;
+      long maxSteps;
+      try {
+        input = Main.mapper.readValue(exchange.getRequestBody(), InputJSON.class);
+        delta = (int) Main.queryParameter(exchange.getRequestURI(), "delta", 0);
+        maxSteps = Main.queryParameter(exchange.getRequestURI(), "maxSteps", DEFAULT_MAX_STEPS);
+      } catch (IOException | IllegalArgumentException e) {
+        Main.sendText(exchange, 400, "Entrada inválida: %s".formatted(e.getMessage()));
+        return;
+      }
+
+      IMIPS32 simulator = Main.simulators.take();
+      try {
+        // --- CARREGAMENTO DE DADOS NO SIMULADOR ---
+        simulator.reset();
+        try {
+          Main.loadData(simulator, input);
+        } catch (RuntimeException e) {
+          Main.sendText(exchange, 400, "Entrada inválida: %s".formatted(e));
+          return;
+        }
+
+        TraceState trace = new TraceState(delta > 0 ? delta : 1);
+        trace.load(simulator);
+
+        // --- EXECUÇÃO DO PROGRAMA E ESCRITA DOS RESULTADOS ---
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+
+        try (JsonGenerator generator = Main.openOutput(exchange.getResponseBody())) {
+          generator.writeStartObject();
+          generator.writeArrayFieldStart("steps");
+
+          String error = null;
+          try {
+            while (simulator.hasNextInstruction() && steps < maxSteps) {
+              simulator.runNexInstruction();
+              OutputJSON step;
+              if (delta > 0) {
+                step = trace.step(simulator);
+              } else {
+                trace.update(simulator);
+                step = trace.snapshot(simulator);
+              }
+
+              Main.stepWriter.writeValue(generator, step);
+              steps++;
+            }
+          } catch (RuntimeException e) {
+            // Erro durante a execução (ex.: divisão por zero): passos terminam no último executado
+            error = e.toString();
+            System.err.println("Execução interrompida: %s".formatted(e));
+          }
+
+          generator.writeEndArray();
+          Main.writeStatus(generator, simulator, steps, error);
+          generator.writeEndObject();
+          failed = error != null;
+        }
+      } finally {
+        Main.simulators.add(simulator);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      Main.metrics.record(System.nanoTime() - start, steps, failed);
+    }
+  }
+
+  /**
+   * Escreve o motivo do fim da execução, permitindo distinguir execuções completas de execuções
+   * interrompidas pelo limite de instruções ou por um erro.
+   *
+   * @param generator saída JSON, dentro do objeto da resposta.
+   * @param simulator simulador após a execução.
+   * @param steps quantidade de passos escritos.
+   * @param error mensagem do erro ou null.
+   * @throws IOException caso não seja possível escrever a resposta.
+   */
+  private static void writeStatus(JsonGenerator generator, IMIPS32 simulator, long steps,
+      String error) throws IOException {
+    String reason;
+    if (error != null) {
+      reason = "ERROR";
+    } else if (simulator.hasNextInstruction()) {
+      reason = StopReason.STEP_LIMIT.name();
+    } else {
+      reason = StopReason.HALTED.name();
+    }
+
+    generator.writeObjectFieldStart("status");
+    generator.writeStringField("reason", reason);
+    generator.writeNumberField("steps", steps);
+    if (error != null) {
+      generator.writeStringField("error", error);
+    }
+    generator.writeEndObject();
+  }
+
+  private static void metrics(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      byte[] body = Main.mapper.writeValueAsBytes(Main.metrics.summary());
+      exchange.getResponseHeaders().set("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, body.length);
+      exchange.getResponseBody().write(body);
+    }
+  }
+
+  private static JsonGenerator openOutput(OutputStream body) throws IOException {
+    OutputStream stream = new BufferedOutputStream(body, Main.OUTPUT_BUFFER_SIZE);
+    JsonGenerator generator = Main.mapper.getFactory().createGenerator(stream, JsonEncoding.UTF8);
+    generator.setPrettyPrinter(Main.printer.createInstance());
+
+    return generator;
+  }
+
+  private static void sendText(HttpExchange exchange, int status, String message)
+      throws IOException {
+    byte[] body = message.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+    exchange.sendResponseHeaders(status, body.length);
+    exchange.getResponseBody().write(body);
+  }
+
+  /**
+   * Método utilitário, lê um parâmetro numérico da URL.
+   *
+   * @param uri URL da requisição.
+   * @param name nome do parâmetro.
+   * @param fallback valor caso o parâmetro não exista.
+   * @return valor do parâmetro.
+   */
+  private static long queryParameter(URI uri, String name, long fallback) {
+    String query = uri.getQuery();
+    if (query == null) {
+      return fallback;
+    }
+
+    for (String parameter : query.split("&")) {
+      if (parameter.startsWith(name + "=")) {
+        long value = Long.parseLong(parameter.substring(name.length() + 1));
+        if (value < 0) {
+          throw new IllegalArgumentException("%s deve ser >= 0.".formatted(name));
+        }
+        return value;
+      }
+    }
+
+    return fallback;
+  }
+
+  /**
+   * Método utilitário, carrega todos os dados necessários no simulador na memória: registradores e
+   * memória principal.
+   *
+   * @param simulator simulador MIPS.
+   * @param input arquivo de entrada contendo todos os dados.
+   */
+  private static void loadData(IMIPS32 simulator, InputJSON input) {
+    // Instruções
+    simulator.loadInstructions(input.instructions);
+
+    // Registradores
+    simulator.loadRegisters(input.registersMap());
+
+    // Memória principal
+    simulator.loadMemory(input.memoryMap());
+
+    // Segmento de dados
+    simulator.loadData(input.dataMap());
+  }
+
+}
@@ -0,0 +1,76 @@
+package br.ufrpe.mips.presentation.server;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Métricas de latência das requisições do servidor.
+ *
+ * Contadores acumulados desde o início do servidor e percentis calculados sobre as últimas
+ * {@link #WINDOW} requisições (buffer circular).
+ *
+ * @version 1.0
+ */
+final class RequestMetrics {
+
+  static final int WINDOW = 1024;
+
+  private final long[] latencies = new long[WINDOW];
+  private long requests;
+  private long failures;
+  private long steps;
+  private long totalNanos;
+  private long maxNanos;
+
+  /**
+   * Registra uma requisição concluída.
+   *
+   * @param nanos tempo total da requisição.
+   * @param executed instruções executadas.
+   * @param failed true caso a requisição tenha falhado.
+   */
+  synchronized void record(long nanos, long executed, boolean failed) {
+    this.latencies[(int) (this.requests % WINDOW)] = nanos;
+    this.requests++;
+    this.steps += executed;
+    this.totalNanos += nanos;
+    this.maxNanos = Math.max(this.maxNanos, nanos);
+
+    if (failed) {
+      this.failures++;
+    }
+  }
+
+  /**
+   * Resumo das métricas (tempos em milissegundos).
+   *
+   * @return mapa ordenado de nome para valor.
+   */
+  synchronized Map<String, Object> summary() {
+    int window = (int) Math.min(this.requests, WINDOW);
+    long[] sorted = Arrays.copyOf(this.latencies, window);
+    Arrays.sort(sorted);
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("requests", this.requests);
+    summary.put("failures", this.failures);
+    summary.put("instructions", this.steps);
+    summary.put("meanMs", this.requests == 0 ? 0.0 : this.totalNanos / 1e6 / this.requests);
+    summary.put("p50Ms", RequestMetrics.percentile(sorted, 0.50));
+    summary.put("p99Ms", RequestMetrics.percentile(sorted, 0.99));
+    summary.put("maxMs", this.maxNanos / 1e6);
+
+    return summary;
+  }
+
+  private static double percentile(long[] sorted, double p) {
+    if (sorted.length == 0) {
+      return 0.0;
+    }
+
+    int index = (int) Math.ceil(p * sorted.length) - 1;
+    return sorted[Math.max(index, 0)] / 1e6;
+  }
+
+}
@@ -0,0 +1,211 @@
+package br.ufrpe.mips.presentation.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import br.ufrpe.mips.presentation.entity.OutputJSON;
+import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler;
+
+/**
+ * Leitura de um trace binário escrito por {@link BinaryTraceWriter}.
+ *
+ * O arquivo é mapeado em memória e os passos são decodificados sob demanda: o acesso a um passo
+ * qualquer parte do keyframe anterior (posição obtida do índice no final do arquivo), enquanto o
+ * acesso sequencial apenas decodifica o passo seguinte.
+ *
+ * @version 1.0
+ */
+public final class BinaryTraceReader implements Closeable {
+
+  private final FileChannel channel;
+  private final MappedByteBuffer data;
+  private final int keyframeInterval;
+  private final long steps;
+  private final long indexOffset;
+
+  // Estado após o último passo decodificado (memória apenas com valores != 0)
+  private final int[] registers = new int[TraceState.NAMES.length];
+  private final TreeMap<Long, Integer> memory = new TreeMap<>();
+  private long cursor = -1;
+  private int word;
+  private int flags;
+  private String stdout = "";
+
+  // Assembly já gerado para cada palavra de instrução
+  private final Map<Integer, String> assembly = new HashMap<>();
+
+  /**
+   * @param path caminho do trace binário.
+   * @throws IOException caso o arquivo não possa ser lido ou não seja um trace binário.
+   */
+  public BinaryTraceReader(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+    long size = this.channel.size();
+    if (size < BinaryTraceWriter.HEADER_SIZE + BinaryTraceWriter.TRAILER_SIZE
+        || size > Integer.MAX_VALUE) {
+      this.channel.close();
+      throw new IOException("Arquivo não é um trace binário válido: %s.".formatted(path));
+    }
+
+    this.data = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+    int trailer = (int) size - BinaryTraceWriter.TRAILER_SIZE;
+    if (this.data.getInt(0) != BinaryTraceWriter.MAGIC
+        || this.data.getShort(4) != BinaryTraceWriter.VERSION
+        || this.data.getInt(trailer + 16) != BinaryTraceWriter.MAGIC) {
+      this.channel.close();
+      throw new IOException("Arquivo não é um trace binário válido: %s.".formatted(path));
+    }
+
+    this.keyframeInterval = this.data.getInt(6);
+    this.indexOffset = this.data.getLong(trailer);
+    this.steps = this.data.getLong(trailer + 8);
+  }
+
+  /**
+   * Quantidade de passos do trace.
+   *
+   * @return quantidade de passos.
+   */
+  public long steps() {
+    return this.steps;
+  }
+
+  public int keyframeInterval() {
+    return this.keyframeInterval;
+  }
+
+  /**
+   * Estado completo após esse passo, no mesmo formato da saída JSON padrão.
+   *
+   * @param step passo em [0..steps).
+   * @return {@link OutputJSON} com o estado completo.
+   */
+  public OutputJSON read(long step) {
+    if (step < 0 || step >= this.steps) {
+      throw new IllegalArgumentException(
+          "Passo %d fora do trace [0..%d).".formatted(step, this.steps));
+    }
+
+    // Partindo do keyframe caso o passo não esteja à frente do último decodificado
+    // (ou esteja depois do próximo keyframe)
+    long keyframe = step / this.keyframeInterval;
+    if (step <= this.cursor || keyframe > this.cursor / this.keyframeInterval
+        || this.cursor < 0) {
+      long offset = this.data.getLong((int) (this.indexOffset + 8 * keyframe));
+      this.data.position((int) offset);
+      this.cursor = keyframe * this.keyframeInterval - 1;
+    }
+
+    while (this.cursor < step) {
+      this.decode();
+    }
+
+    return this.toOutput();
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  private void decode() {
+    int pc = this.data.getInt();
+    this.word = this.data.getInt();
+    this.flags = this.data.get();
+
+    if ((this.flags & BinaryTraceWriter.KEYFRAME) != 0) {
+      Arrays.fill(this.registers, 0);
+      this.memory.clear();
+    }
+
+    this.stdout = "";
+    if ((this.flags & BinaryTraceWriter.STDOUT) != 0) {
+      byte[] bytes = new byte[(int) this.readVarint()];
+      this.data.get(bytes);
+      this.stdout = new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    for (long n = this.readVarint(); n > 0; n--) {
+      int index = this.data.get() & 0xff;
+      this.registers[index] += unzigzag(this.readVarint());
+    }
+    this.registers[TraceState.PC] = pc;
+
+    long address = 0;
+    for (long n = this.readVarint(); n > 0; n--) {
+      address += this.readVarint();
+      int value = this.memory.getOrDefault(address, 0) + unzigzag(this.readVarint());
+
+      if (value == 0) {
+        this.memory.remove(address);
+      } else {
+        this.memory.put(address, value);
+      }
+    }
+
+    this.cursor++;
+  }
+
+  private OutputJSON toOutput() {
+    OutputJSON outputJSON = new OutputJSON();
+    outputJSON.stdout = this.stdout;
+
+    if ((this.flags & BinaryTraceWriter.NO_INSTRUCTION) != 0) {
+      outputJSON.hexInstruction = "";
+      outputJSON.assemblyInstruction = "";
+    } else {
+      outputJSON.hexInstruction = "0x%08x".formatted(this.word);
+      outputJSON.assemblyInstruction = this.assembly.computeIfAbsent(this.word,
+          w -> MIPSDisassembler.assemblyFromInstruction(MIPSDisassembler.decode(w)));
+    }
+
+    LinkedHashMap<String, Integer> regsMap = new LinkedHashMap<>();
+    for (int i = 0; i < TraceState.NAMES.length; i++) {
+      if (this.registers[i] != 0) {
+        regsMap.put(TraceState.NAMES[i], this.registers[i]);
+      }
+    }
+    outputJSON.registers = regsMap;
+
+    LinkedHashMap<String, Integer> memMap = new LinkedHashMap<>();
+    for (Entry<Long, Integer> e : this.memory.entrySet()) {
+      memMap.put(e.getKey().toString(), e.getValue());
+    }
+    outputJSON.memory = memMap;
+
+    return outputJSON;
+  }
+
+  private long readVarint() {
+    long value = 0;
+    int shift = 0;
+    byte b;
+
+    do {
+      b = this.data.get();
+      value |= (long) (b & 0x7f) << shift;
+      shift += 7;
+    } while (b < 0);
+
+    return value;
+  }
+
+  private static int unzigzag(long value) {
+    int v = (int) value;
+    return (v >>> 1) ^ -(v & 1);
+  }
+
+}
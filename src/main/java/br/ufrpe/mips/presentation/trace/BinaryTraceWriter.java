@@ -0,0 +1,327 @@
+package br.ufrpe.mips.presentation.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import br.ufrpe.mips.simulator.IMIPS32;
+
+/**
+ * Escrita do trace binário de uma execução, alternativa compacta à saída JSON.
+ *
+ * Formato do arquivo (big-endian):
+ *
+ * <pre>
+ * cabeçalho: magic (int), versão (short), intervalo entre keyframes (int)
+ * passo:     pc (int), palavra da instrução (int), flags (byte),
+ *            [stdout: tamanho (varint) + bytes UTF-8],
+ *            registradores: quantidade (varint) + (posição (byte), diferença (zigzag varint))...,
+ *            memória: quantidade (varint) + (distância do endereço anterior (varint),
+ *                     diferença (zigzag varint))...
+ * índice:    posição no arquivo (long) de cada keyframe
+ * rodapé:    posição do índice (long), quantidade de passos (long), magic (int)
+ * </pre>
+ *
+ * As diferenças são calculadas em relação ao passo anterior. Keyframes (a cada N passos) partem
+ * do estado zerado e contêm todos os valores != 0, de forma que qualquer passo é reconstruído
+ * lendo no máximo N passos a partir do keyframe apontado pelo índice. O pc é escrito apenas no
+ * cabeçalho do passo, e o Assembly é gerado novamente a partir da palavra da instrução na leitura.
+ *
+ * @see BinaryTraceReader
+ * @version 1.0
+ */
+public final class BinaryTraceWriter implements Closeable {
+
+  static final int MAGIC = 0x4d495053;
+  static final short VERSION = 1;
+  static final int HEADER_SIZE = 10;
+  static final int TRAILER_SIZE = 20;
+
+  // Flags de cada passo
+  static final int KEYFRAME = 1;
+  static final int STDOUT = 2;
+  static final int NO_INSTRUCTION = 4;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final OutputStream out;
+  private final int keyframeInterval;
+
+  // Estado atual (mesma ordem de registradores do TraceState), memória apenas com valores != 0
+  private final int[] registers = new int[TraceState.NAMES.length];
+  private final TreeMap<Long, Integer> memory = new TreeMap<>();
+  private long steps;
+
+  // Valores anteriores ao passo atual (reutilizados a cada passo)
+  private final int[] previous = new int[TraceState.NAMES.length];
+  private int[] previousMemory = new int[8];
+
+  // Registro reutilizado por step(IMIPS32)
+  private final StepRecord scratch = new StepRecord();
+
+  // Posição de cada keyframe no arquivo
+  private long[] index = new long[16];
+  private int keyframes;
+
+  // Buffer de escrita e quantidade de bytes já enviados ao arquivo
+  private byte[] buffer = new byte[BUFFER_SIZE];
+  private int length;
+  private long flushed;
+
+  /**
+   * @param path caminho do arquivo (os diretórios necessários são criados).
+   * @param keyframeInterval quantidade de passos entre keyframes (>= 1).
+   * @throws IOException caso não seja possível criar o arquivo.
+   */
+  public BinaryTraceWriter(Path path, int keyframeInterval) throws IOException {
+    if (keyframeInterval < 1) {
+      throw new IllegalArgumentException(
+          "Intervalo entre keyframes deve ser positivo: %d.".formatted(keyframeInterval));
+    }
+
+    Files.createDirectories(path.toAbsolutePath().getParent());
+    this.out = Files.newOutputStream(path);
+    this.keyframeInterval = keyframeInterval;
+
+    this.writeInt(MAGIC);
+    this.writeByte(VERSION >> 8);
+    this.writeByte(VERSION);
+    this.writeInt(keyframeInterval);
+  }
+
+  /**
+   * Lê o estado completo do simulador (após o carregamento do programa), usado como base para as
+   * diferenças do primeiro passo.
+   *
+   * @param simulator simulador MIPS.
+   */
+  public void load(IMIPS32 simulator) {
+    Arrays.fill(this.registers, 0);
+    this.memory.clear();
+    this.apply(simulator.registers(), simulator.memory());
+  }
+
+  /**
+   * Escreve o passo correspondente à última instrução executada.
+   *
+   * @param simulator simulador MIPS.
+   * @throws IOException caso não seja possível escrever no arquivo.
+   */
+  public void step(IMIPS32 simulator) throws IOException {
+    this.scratch.capture(simulator);
+    this.step(this.scratch);
+  }
+
+  /**
+   * Escreve um passo capturado por {@link StepRecord#capture(IMIPS32)}.
+   *
+   * @param record passo capturado.
+   * @throws IOException caso não seja possível escrever no arquivo.
+   */
+  public void step(StepRecord record) throws IOException {
+    boolean keyframe = this.steps++ % this.keyframeInterval == 0;
+
+    if (keyframe) {
+      if (this.keyframes == this.index.length) {
+        this.index = Arrays.copyOf(this.index, this.keyframes * 2);
+      }
+      this.index[this.keyframes++] = this.flushed + this.length;
+    }
+
+    String hex = record.hex;
+    String stdout = record.stdout;
+    int flags = (keyframe ? KEYFRAME : 0) | (stdout.isEmpty() ? 0 : STDOUT)
+        | (hex.isEmpty() ? NO_INSTRUCTION : 0);
+
+    // Valores antes do passo, usados para as diferenças
+    System.arraycopy(this.registers, 0, this.previous, 0, this.registers.length);
+    if (record.memoryCount > this.previousMemory.length) {
+      this.previousMemory = new int[record.memoryCount];
+    }
+    for (int k = 0; k < record.memoryCount; k++) {
+      this.previousMemory[k] = this.memory.getOrDefault(record.addresses[k], 0);
+    }
+    this.apply(record);
+
+    this.writeInt(this.registers[TraceState.PC]);
+    this.writeInt(hex.isEmpty() ? 0 : Integer.parseUnsignedInt(hex.substring(2), 16));
+    this.writeByte(flags);
+
+    if (!stdout.isEmpty()) {
+      byte[] bytes = stdout.getBytes(StandardCharsets.UTF_8);
+      this.writeVarint(bytes.length);
+      this.ensure(bytes.length);
+      System.arraycopy(bytes, 0, this.buffer, this.length, bytes.length);
+      this.length += bytes.length;
+    }
+
+    if (keyframe) {
+      this.writeKeyframe();
+    } else {
+      this.writeDelta(record);
+    }
+
+    if (this.length >= BUFFER_SIZE) {
+      this.flush();
+    }
+  }
+
+  /**
+   * Escreve o índice de keyframes e o rodapé, e fecha o arquivo.
+   */
+  @Override
+  public void close() throws IOException {
+    long indexOffset = this.flushed + this.length;
+
+    for (int k = 0; k < this.keyframes; k++) {
+      this.writeLong(this.index[k]);
+    }
+
+    this.writeLong(indexOffset);
+    this.writeLong(this.steps);
+    this.writeInt(MAGIC);
+
+    this.flush();
+    this.out.close();
+  }
+
+  private void writeKeyframe() {
+    int count = 0;
+    for (int i = 0; i < this.registers.length; i++) {
+      if (i != TraceState.PC && this.registers[i] != 0) {
+        count++;
+      }
+    }
+
+    this.writeVarint(count);
+    for (int i = 0; i < this.registers.length; i++) {
+      if (i != TraceState.PC && this.registers[i] != 0) {
+        this.writeByte(i);
+        this.writeVarint(zigzag(this.registers[i]));
+      }
+    }
+
+    this.writeVarint(this.memory.size());
+    long last = 0;
+    for (Entry<Long, Integer> e : this.memory.entrySet()) {
+      this.writeVarint(e.getKey() - last);
+      this.writeVarint(zigzag(e.getValue()));
+      last = e.getKey();
+    }
+  }
+
+  private void writeDelta(StepRecord record) {
+    int count = 0;
+    for (int i = 0; i < this.registers.length; i++) {
+      if (i != TraceState.PC && this.registers[i] != this.previous[i]) {
+        count++;
+      }
+    }
+
+    this.writeVarint(count);
+    for (int i = 0; i < this.registers.length; i++) {
+      if (i != TraceState.PC && this.registers[i] != this.previous[i]) {
+        this.writeByte(i);
+        this.writeVarint(zigzag(this.registers[i] - this.previous[i]));
+      }
+    }
+
+    // Endereços em ordem crescente (ordenados pelo StepRecord)
+    count = 0;
+    for (int k = 0; k < record.memoryCount; k++) {
+      if (record.memoryValues[k] != this.previousMemory[k]) {
+        count++;
+      }
+    }
+
+    this.writeVarint(count);
+    long last = 0;
+    for (int k = 0; k < record.memoryCount; k++) {
+      if (record.memoryValues[k] != this.previousMemory[k]) {
+        this.writeVarint(record.addresses[k] - last);
+        this.writeVarint(zigzag(record.memoryValues[k] - this.previousMemory[k]));
+        last = record.addresses[k];
+      }
+    }
+  }
+
+  private void apply(Map<String, Integer> registers, Map<Long, Integer> memory) {
+    for (Entry<String, Integer> e : registers.entrySet()) {
+      this.registers[TraceState.indexOf(e.getKey())] = e.getValue();
+    }
+
+    for (Entry<Long, Integer> e : memory.entrySet()) {
+      this.put(e.getKey(), e.getValue());
+    }
+  }
+
+  private void apply(StepRecord record) {
+    for (int k = 0; k < record.registerCount; k++) {
+      this.registers[record.registers[k]] = record.registerValues[k];
+    }
+
+    for (int k = 0; k < record.memoryCount; k++) {
+      this.put(record.addresses[k], record.memoryValues[k]);
+    }
+  }
+
+  private void put(long address, int value) {
+    if (value == 0) {
+      this.memory.remove(address);
+    } else {
+      this.memory.put(address, value);
+    }
+  }
+
+  private static long zigzag(int value) {
+    return Integer.toUnsignedLong((value << 1) ^ (value >> 31));
+  }
+
+  private void writeVarint(long value) {
+    this.ensure(10);
+
+    while ((value & ~0x7fL) != 0) {
+      this.buffer[this.length++] = (byte) ((value & 0x7f) | 0x80);
+      value >>>= 7;
+    }
+    this.buffer[this.length++] = (byte) value;
+  }
+
+  private void writeByte(int value) {
+    this.ensure(1);
+    this.buffer[this.length++] = (byte) value;
+  }
+
+  private void writeInt(int value) {
+    this.ensure(4);
+    for (int shift = 24; shift >= 0; shift -= 8) {
+      this.buffer[this.length++] = (byte) (value >> shift);
+    }
+  }
+
+  private void writeLong(long value) {
+    this.writeInt((int) (value >> 32));
+    this.writeInt((int) value);
+  }
+
+  private void ensure(int bytes) {
+    if (this.length + bytes > this.buffer.length) {
+      this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2,
+          this.length + bytes));
+    }
+  }
+
+  private void flush() throws IOException {
+    this.out.write(this.buffer, 0, this.length);
+    this.flushed += this.length;
+    this.length = 0;
+  }
+
+}
@@ -0,0 +1,88 @@
+package br.ufrpe.mips.presentation.trace;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Escrita de um trace em arquivo único: registros de tamanho variável (ex.: JSON de cada passo)
+ * seguidos de um índice com a posição de cada registro, permitindo que o leitor mapeie o arquivo
+ * em memória e leia apenas os passos exibidos.
+ *
+ * Formato do arquivo (big-endian):
+ *
+ * <pre>
+ * cabeçalho: magic (int), versão (short)
+ * registros: bytes de cada registro, sem separadores
+ * índice:    posição no arquivo (long) de cada registro
+ * rodapé:    posição do índice (long), quantidade de registros (long), magic (int)
+ * </pre>
+ *
+ * O registro i ocupa [índice[i], índice[i + 1]), e o último termina na posição do índice.
+ *
+ * @version 1.0
+ */
+public final class IndexedTraceWriter implements Closeable {
+
+  static final int MAGIC = 0x4d495058;
+  static final short VERSION = 1;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final DataOutputStream out;
+  private long[] index = new long[1024];
+  private int records;
+  private long position;
+
+  /**
+   * @param path caminho do arquivo (os diretórios necessários são criados).
+   * @throws IOException caso não seja possível criar o arquivo.
+   */
+  public IndexedTraceWriter(Path path) throws IOException {
+    Files.createDirectories(path.toAbsolutePath().getParent());
+    this.out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+
+    this.out.writeInt(MAGIC);
+    this.out.writeShort(VERSION);
+    this.position = 6;
+  }
+
+  /**
+   * Adiciona um registro ao final do trace.
+   *
+   * @param record conteúdo do registro.
+   * @throws IOException caso não seja possível escrever no arquivo.
+   */
+  public void append(byte[] record) throws IOException {
+    if (this.records == this.index.length) {
+      this.index = Arrays.copyOf(this.index, this.index.length * 2);
+    }
+
+    this.index[this.records++] = this.position;
+    this.out.write(record);
+    this.position += record.length;
+  }
+
+  /**
+   * Escreve o índice e o rodapé, e fecha o arquivo.
+   */
+  @Override
+  public void close() throws IOException {
+    long indexOffset = this.position;
+
+    for (int i = 0; i < this.records; i++) {
+      this.out.writeLong(this.index[i]);
+    }
+
+    this.out.writeLong(indexOffset);
+    this.out.writeLong(this.records);
+    this.out.writeInt(MAGIC);
+    this.out.close();
+  }
+
+}
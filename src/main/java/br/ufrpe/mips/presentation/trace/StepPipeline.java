@@ -0,0 +1,207 @@
+package br.ufrpe.mips.presentation.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import br.ufrpe.mips.simulator.IMIPS32;
+
+/**
+ * Pipeline entre a execução do simulador e a escrita da saída.
+ *
+ * A thread do simulador captura cada passo em um {@link StepRecord} de um buffer circular
+ * pré-alocado, enquanto uma thread de escrita dedicada converte e escreve os passos na mesma ordem.
+ * Quando o buffer está cheio (escrita mais lenta que a execução), {@link #publish(IMIPS32)}
+ * aguarda até que um registro seja liberado.
+ *
+ * A thread de escrita processa todos os passos disponíveis de uma vez, reduzindo a sincronização
+ * entre as threads.
+ *
+ * @version 1.0
+ */
+public final class StepPipeline implements Closeable {
+
+  // Capacidade padrão do buffer (em passos)
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  /**
+   * Destino dos passos, executado na thread de escrita.
+   */
+  @FunctionalInterface
+  public interface StepSink {
+    void accept(StepRecord record) throws IOException;
+  }
+
+  private final StepRecord[] slots;
+  private final StepSink sink;
+  private final Thread writer;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = this.lock.newCondition();
+  private final Condition notFull = this.lock.newCondition();
+
+  // Quantidade de passos publicados e escritos (posição no buffer = contador % capacidade)
+  private long published;
+  private long consumed;
+  private boolean closed;
+  private Throwable failure;
+  private boolean reported;
+
+  /**
+   * @param capacity quantidade de passos no buffer (>= 1).
+   * @param sink destino de cada passo.
+   */
+  public StepPipeline(int capacity, StepSink sink) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException(
+          "Capacidade do buffer deve ser positiva: %d.".formatted(capacity));
+    }
+
+    this.slots = new StepRecord[capacity];
+    for (int i = 0; i < capacity; i++) {
+      this.slots[i] = new StepRecord();
+    }
+
+    this.sink = sink;
+    this.writer = new Thread(this::drain, "trace-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Captura a última instrução executada pelo simulador e a envia para a thread de escrita,
+   * aguardando caso o buffer esteja cheio.
+   *
+   * @param simulator simulador MIPS.
+   * @throws IOException caso a escrita de um passo anterior tenha falhado.
+   */
+  public void publish(IMIPS32 simulator) throws IOException {
+    this.lock.lock();
+    try {
+      while (this.published - this.consumed == this.slots.length && this.failure == null) {
+        this.notFull.awaitUninterruptibly();
+      }
+
+      this.rethrow();
+      if (this.failure != null) {
+        throw new IOException("Escrita da saída interrompida.", this.failure);
+      }
+    } finally {
+      this.lock.unlock();
+    }
+
+    // Apenas essa thread escreve em registros ainda não publicados
+    this.slots[(int) (this.published % this.slots.length)].capture(simulator);
+
+    this.lock.lock();
+    try {
+      this.published++;
+      this.notEmpty.signal();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Aguarda a escrita de todos os passos publicados e encerra a thread de escrita.
+   *
+   * @throws IOException caso a escrita de algum passo tenha falhado.
+   */
+  @Override
+  public void close() throws IOException {
+    this.lock.lock();
+    try {
+      this.closed = true;
+      this.notEmpty.signal();
+    } finally {
+      this.lock.unlock();
+    }
+
+    boolean interrupted = false;
+    while (this.writer.isAlive()) {
+      try {
+        this.writer.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    this.rethrow();
+  }
+
+  private void drain() {
+    long next = 0;
+
+    while (true) {
+      long available;
+
+      this.lock.lock();
+      try {
+        while (this.published == next && !this.closed) {
+          this.notEmpty.awaitUninterruptibly();
+        }
+
+        available = this.published;
+        if (available == next) {
+          return;
+        }
+      } finally {
+        this.lock.unlock();
+      }
+
+      try {
+        for (; next < available; next++) {
+          this.sink.accept(this.slots[(int) (next % this.slots.length)]);
+        }
+      } catch (IOException | RuntimeException e) {
+        this.fail(e);
+        return;
+      }
+
+      this.lock.lock();
+      try {
+        this.consumed = next;
+        this.notFull.signal();
+      } finally {
+        this.lock.unlock();
+      }
+    }
+  }
+
+  private void fail(Throwable e) {
+    this.lock.lock();
+    try {
+      this.failure = e;
+      this.notFull.signal();
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Repassa a falha da thread de escrita para a thread do simulador (apenas uma vez).
+   */
+  private void rethrow() throws IOException {
+    this.lock.lock();
+    try {
+      if (this.failure == null || this.reported) {
+        return;
+      }
+
+      this.reported = true;
+      if (this.failure instanceof IOException e) {
+        throw e;
+      } else if (this.failure instanceof RuntimeException e) {
+        throw e;
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+}
@@ -0,0 +1,95 @@
+package br.ufrpe.mips.presentation.trace;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import br.ufrpe.mips.simulator.IMIPS32;
+
+/**
+ * Registro compacto de um passo da execução: instrução, saída e valores escritos pela instrução.
+ *
+ * Os registros são reutilizados (ver {@link StepPipeline}): {@link #capture(IMIPS32)} sobrescreve
+ * todo o conteúdo, e os vetores só crescem quando uma instrução escreve mais palavras do que as
+ * anteriores.
+ *
+ * @version 1.0
+ */
+public final class StepRecord {
+
+  String hex = "";
+  String assembly = "";
+  String stdout = "";
+
+  // Registradores escritos (posições na ordem do TraceState) e seus valores
+  int registerCount;
+  final int[] registers = new int[TraceState.NAMES.length];
+  final int[] registerValues = new int[TraceState.NAMES.length];
+
+  // Palavras escritas, em ordem crescente de endereço
+  int memoryCount;
+  long[] addresses = new long[8];
+  int[] memoryValues = new int[8];
+  private long[] packed = new long[0];
+
+  /**
+   * Copia do simulador as informações da última instrução executada.
+   *
+   * @param simulator simulador MIPS.
+   */
+  public void capture(IMIPS32 simulator) {
+    this.hex = simulator.toHex();
+    this.assembly = simulator.toAssembly();
+    this.stdout = simulator.output();
+
+    this.registerCount = 0;
+    for (Entry<String, Integer> e : simulator.changedRegisters().entrySet()) {
+      this.registers[this.registerCount] = TraceState.indexOf(e.getKey());
+      this.registerValues[this.registerCount] = e.getValue();
+      this.registerCount++;
+    }
+
+    Map<Long, Integer> memory = simulator.changedMemory();
+    if (memory.size() > this.addresses.length) {
+      this.addresses = Arrays.copyOf(this.addresses, memory.size());
+      this.memoryValues = Arrays.copyOf(this.memoryValues, memory.size());
+    }
+
+    this.memoryCount = 0;
+    boolean sorted = true;
+    for (Entry<Long, Integer> e : memory.entrySet()) {
+      int k = this.memoryCount++;
+      this.addresses[k] = e.getKey();
+      this.memoryValues[k] = e.getValue();
+      sorted &= k == 0 || this.addresses[k - 1] <= this.addresses[k];
+    }
+
+    if (!sorted) {
+      this.sortMemory();
+    }
+  }
+
+  /**
+   * Ordena as palavras escritas por endereço. Sem rastreamento das escritas (ex.: primeiro passo
+   * após carregar ou reposicionar), todas as palavras da memória são informadas; cada par é
+   * empacotado em um long (endereço de 32 bits nos bits mais significativos) e ordenado com
+   * {@link Arrays#sort(long[], int, int)}.
+   */
+  private void sortMemory() {
+    if (this.packed.length < this.memoryCount) {
+      this.packed = new long[this.addresses.length];
+    }
+
+    for (int k = 0; k < this.memoryCount; k++) {
+      this.packed[k] = (this.addresses[k] << 32) | Integer.toUnsignedLong(this.memoryValues[k]);
+    }
+
+    Arrays.sort(this.packed, 0, this.memoryCount);
+
+    for (int k = 0; k < this.memoryCount; k++) {
+      this.addresses[k] = this.packed[k] >>> 32;
+      this.memoryValues[k] = (int) this.packed[k];
+    }
+  }
+
+}
@@ -0,0 +1,228 @@
+package br.ufrpe.mips.presentation.trace;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import br.ufrpe.mips.presentation.entity.OutputJSON;
+import br.ufrpe.mips.simulator.IMIPS32;
+
+/**
+ * Estado do simulador mantido pela camada de apresentação a partir das escritas de cada passo
+ * ({@link IMIPS32#changedRegisters()} e {@link IMIPS32#changedMemory()}), sem reler todos os
+ * registradores e toda a memória a cada instrução.
+ *
+ * Permite gerar tanto o estado completo (mesmo formato da saída padrão) quanto a saída
+ * incremental: cada passo contém apenas os valores alterados e, a cada N passos, um keyframe com o
+ * estado completo.
+ *
+ * @version 1.0
+ */
+public final class TraceState {
+
+  // Intervalo padrão entre keyframes (em passos)
+  public static final int DEFAULT_KEYFRAME_INTERVAL = 100;
+
+  // Posições dos registradores na ordem da saída: $0..$31, pc, hi, lo
+  static final int PC = 32;
+  static final int HI = 33;
+  static final int LO = 34;
+  static final String[] NAMES = new String[LO + 1];
+
+  static {
+    for (int i = 0; i < 32; i++) {
+      NAMES[i] = "$%d".formatted(i);
+    }
+    NAMES[PC] = "pc";
+    NAMES[HI] = "hi";
+    NAMES[LO] = "lo";
+  }
+
+  private final int keyframeInterval;
+  private final int[] registers = new int[NAMES.length];
+  private final TreeMap<Long, Integer> memory = new TreeMap<>();
+  private long steps;
+
+  // Registro reutilizado pelos métodos que leem diretamente do simulador
+  private final StepRecord scratch = new StepRecord();
+
+  public TraceState() {
+    this(DEFAULT_KEYFRAME_INTERVAL);
+  }
+
+  /**
+   * @param keyframeInterval quantidade de passos entre keyframes (>= 1).
+   */
+  public TraceState(int keyframeInterval) {
+    if (keyframeInterval < 1) {
+      throw new IllegalArgumentException(
+          "Intervalo entre keyframes deve ser positivo: %d.".formatted(keyframeInterval));
+    }
+
+    this.keyframeInterval = keyframeInterval;
+  }
+
+  /**
+   * Lê o estado completo do simulador (após o carregamento do programa), reiniciando a contagem
+   * de passos.
+   *
+   * @param simulator simulador MIPS.
+   */
+  public void load(IMIPS32 simulator) {
+    Arrays.fill(this.registers, 0);
+    this.memory.clear();
+    this.apply(simulator.registers(), simulator.memory());
+    this.steps = 0;
+  }
+
+  /**
+   * Aplica as escritas da última instrução executada, sem produzir saída.
+   *
+   * @param simulator simulador MIPS.
+   */
+  public void update(IMIPS32 simulator) {
+    this.scratch.capture(simulator);
+    this.update(this.scratch);
+  }
+
+  /**
+   * Aplica as escritas de um passo capturado, sem produzir saída.
+   *
+   * @param record passo capturado por {@link StepRecord#capture(IMIPS32)}.
+   */
+  public void update(StepRecord record) {
+    for (int k = 0; k < record.registerCount; k++) {
+      this.registers[record.registers[k]] = record.registerValues[k];
+    }
+
+    for (int k = 0; k < record.memoryCount; k++) {
+      this.memory.put(record.addresses[k], record.memoryValues[k]);
+    }
+  }
+
+  /**
+   * Estado completo atual (registradores e memória com valor != 0), no mesmo formato da saída
+   * padrão.
+   *
+   * @param simulator simulador MIPS (instrução e saída do último passo).
+   * @return {@link OutputJSON} com o estado completo.
+   */
+  public OutputJSON snapshot(IMIPS32 simulator) {
+    return this.fill(TraceState.header(simulator.toHex(), simulator.toAssembly(),
+        simulator.output()));
+  }
+
+  /**
+   * Estado completo atual, com instrução e saída de um passo capturado.
+   *
+   * @param record passo capturado (já aplicado).
+   * @return {@link OutputJSON} com o estado completo.
+   */
+  public OutputJSON snapshot(StepRecord record) {
+    return this.fill(TraceState.header(record.hex, record.assembly, record.stdout));
+  }
+
+  /**
+   * Aplica as escritas da última instrução executada e produz a saída incremental desse passo:
+   * keyframe (estado completo) a cada N passos, do contrário apenas os valores alterados.
+   *
+   * @param simulator simulador MIPS.
+   * @return {@link OutputJSON} do passo, com {@link OutputJSON#keyframe} preenchido.
+   */
+  public OutputJSON step(IMIPS32 simulator) {
+    this.scratch.capture(simulator);
+    return this.step(this.scratch);
+  }
+
+  /**
+   * Aplica as escritas de um passo capturado e produz sua saída incremental.
+   *
+   * @param record passo capturado por {@link StepRecord#capture(IMIPS32)}.
+   * @return {@link OutputJSON} do passo, com {@link OutputJSON#keyframe} preenchido.
+   */
+  public OutputJSON step(StepRecord record) {
+    this.update(record);
+
+    if (this.steps++ % this.keyframeInterval == 0) {
+      OutputJSON keyframe = this.snapshot(record);
+      keyframe.keyframe = true;
+      return keyframe;
+    }
+
+    OutputJSON outputJSON = TraceState.header(record.hex, record.assembly, record.stdout);
+    outputJSON.keyframe = false;
+
+    // Valores alterados, na mesma ordem do estado completo
+    int[] order = new int[NAMES.length];
+    Arrays.fill(order, -1);
+    for (int k = 0; k < record.registerCount; k++) {
+      order[record.registers[k]] = k;
+    }
+
+    LinkedHashMap<String, Integer> regsMap = new LinkedHashMap<>();
+    for (int i = 0; i < NAMES.length; i++) {
+      if (order[i] >= 0) {
+        regsMap.put(NAMES[i], record.registerValues[order[i]]);
+      }
+    }
+    outputJSON.registers = regsMap;
+
+    LinkedHashMap<String, Integer> memMap = new LinkedHashMap<>();
+    for (int k = 0; k < record.memoryCount; k++) {
+      memMap.put(Long.toString(record.addresses[k]), record.memoryValues[k]);
+    }
+    outputJSON.memory = memMap;
+
+    return outputJSON;
+  }
+
+  private OutputJSON fill(OutputJSON outputJSON) {
+    LinkedHashMap<String, Integer> regsMap = new LinkedHashMap<>();
+    for (int i = 0; i < NAMES.length; i++) {
+      if (this.registers[i] != 0) {
+        regsMap.put(NAMES[i], this.registers[i]);
+      }
+    }
+    outputJSON.registers = regsMap;
+
+    LinkedHashMap<String, Integer> memMap = new LinkedHashMap<>();
+    for (Entry<Long, Integer> e : this.memory.entrySet()) {
+      if (e.getValue() != 0) {
+        memMap.put(e.getKey().toString(), e.getValue());
+      }
+    }
+    outputJSON.memory = memMap;
+
+    return outputJSON;
+  }
+
+  private void apply(Map<String, Integer> registers, Map<Long, Integer> memory) {
+    for (Entry<String, Integer> e : registers.entrySet()) {
+      this.registers[TraceState.indexOf(e.getKey())] = e.getValue();
+    }
+
+    this.memory.putAll(memory);
+  }
+
+  static int indexOf(String name) {
+    return switch (name) {
+      case "pc" -> PC;
+      case "hi" -> HI;
+      case "lo" -> LO;
+      default -> Integer.parseInt(name.replace("$", ""));
+    };
+  }
+
+  private static OutputJSON header(String hex, String assembly, String stdout) {
+    OutputJSON outputJSON = new OutputJSON();
+    outputJSON.assemblyInstruction = assembly;
+    outputJSON.hexInstruction = hex;
+    outputJSON.stdout = stdout;
+
+    return outputJSON;
+  }
+
+
+}
@@ -0,0 +1,70 @@
+package br.ufrpe.mips.presentation.workload;
+
+import br.ufrpe.mips.simulator.utils.instruction.InstructionType;
+import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
+
+/**
+ * Classe utilitária, codifica instruções suportadas pelo simulador ({@link MIPSInstruction}) como
+ * inteiros de 32 bits.
+ *
+ * @version 1.0
+ */
+final class InstructionEncoder {
+
+  private InstructionEncoder() {
+    // Essa classe não pode ser instanciada.
+  }
+
+  /**
+   * Instrução tipo R.
+   *
+   * @param instruction instrução com funct.
+   * @param rs registrador fonte.
+   * @param rt registrador alvo.
+   * @param rd registrador destino.
+   * @param shamt deslocamento (5 bits).
+   * @return instrução codificada.
+   */
+  static int r(MIPSInstruction instruction, int rs, int rt, int rd, int shamt) {
+    InstructionEncoder.check(instruction, InstructionType.R);
+
+    return (instruction.opcode() << 26) | (rs << 21) | (rt << 16) | (rd << 11)
+        | ((shamt & 0b11111) << 6) | instruction.funct().get();
+  }
+
+  /**
+   * Instrução tipo I.
+   *
+   * @param instruction instrução sem funct.
+   * @param rs registrador fonte.
+   * @param rt registrador alvo.
+   * @param immediate imediato (16 bits menos significativos).
+   * @return instrução codificada.
+   */
+  static int i(MIPSInstruction instruction, int rs, int rt, int immediate) {
+    InstructionEncoder.check(instruction, InstructionType.I);
+
+    return (instruction.opcode() << 26) | (rs << 21) | (rt << 16) | (immediate & 0xffff);
+  }
+
+  /**
+   * Instrução tipo J.
+   *
+   * @param instruction J ou JAL.
+   * @param address endereço de destino.
+   * @return instrução codificada.
+   */
+  static int j(MIPSInstruction instruction, long address) {
+    InstructionEncoder.check(instruction, InstructionType.J);
+
+    return (instruction.opcode() << 26) | (int) ((address >>> 2) & 0x3ffffff);
+  }
+
+  private static void check(MIPSInstruction instruction, InstructionType type) {
+    if (instruction.type() != type) {
+      throw new IllegalArgumentException(
+          "%s não é uma instrução tipo %s.".formatted(instruction, type));
+    }
+  }
+
+}
@@ -0,0 +1,65 @@
+package br.ufrpe.mips.presentation.workload;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import br.ufrpe.mips.presentation.entity.InputJSON;
+
+/**
+ * Gera um programa sintético no diretório de entrada da CLI.
+ *
+ * Argumentos (todos opcionais, padrões em {@link WorkloadSpec#defaults()}): --seed=N,
+ * --blocks=N, --iterations=N, --memory=N (palavras), --mix=A,M,B,C (pesos dos blocos
+ * aritméticos, de memória, laços e chamadas) e --output=arquivo (padrão:
+ * input/workload-SEED.json).
+ */
+public final class Main {
+
+  private Main() {
+    // Essa classe não pode ser instanciada.
+  }
+
+  public static void main(String[] args) throws IOException {
+    WorkloadSpec spec = WorkloadSpec.defaults();
+    Path output = null;
+
+    for (String arg : args) {
+      String value = arg.substring(arg.indexOf('=') + 1);
+
+      if (arg.startsWith("--seed=")) {
+        spec = spec.withSeed(Long.parseLong(value));
+      } else if (arg.startsWith("--blocks=")) {
+        spec = spec.withBlocks(Integer.parseInt(value));
+      } else if (arg.startsWith("--iterations=")) {
+        spec = spec.withIterations(Integer.parseInt(value));
+      } else if (arg.startsWith("--memory=")) {
+        spec = spec.withMemoryWords(Integer.parseInt(value));
+      } else if (arg.startsWith("--mix=")) {
+        String[] weights = value.split(",");
+        if (weights.length != 4) {
+          throw new IllegalArgumentException("--mix espera 4 pesos: %s.".formatted(value));
+        }
+        spec = spec.withMix(Integer.parseInt(weights[0]), Integer.parseInt(weights[1]),
+            Integer.parseInt(weights[2]), Integer.parseInt(weights[3]));
+      } else if (arg.startsWith("--output=")) {
+        output = Path.of(value);
+      }
+    }
+
+    if (output == null) {
+      output = Path.of("input", "workload-%d.json".formatted(spec.seed()));
+    }
+
+    InputJSON input = WorkloadGenerator.generate(spec);
+    if (output.getParent() != null) {
+      Files.createDirectories(output.getParent());
+    }
+    new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), input);
+
+    System.out.println("%s: %d instruções, %d iterações, %d KiB de memória".formatted(output,
+        input.instructions.size(), spec.iterations(), spec.memoryWords() * 4 / 1024));
+  }
+
+}
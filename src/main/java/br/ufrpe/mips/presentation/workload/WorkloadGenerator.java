@@ -0,0 +1,266 @@
+package br.ufrpe.mips.presentation.workload;
+
+import static br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import br.ufrpe.mips.presentation.entity.InputJSON;
+import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
+
+/**
+ * Gerador de programas sintéticos válidos, no formato de entrada da CLI ({@link InputJSON}).
+ *
+ * Estrutura do programa:
+ *
+ * <pre>
+ *   j main
+ *   f0 .. fN-1          # cadeia de funções: fi chama fi+1 (JAL/JR, $ra salvo na pilha)
+ * main:
+ *   inicialização       # $s0 = base, $s1 = iterações, $s2 = máscara, operandos
+ * loop:
+ *   blocos sorteados    # aritméticos, LW/SW, laços com BNE/BEQ, chamadas JAL
+ *   $s1--; beq $s1, $0, fim; j loop
+ * </pre>
+ *
+ * Apenas instruções de {@link MIPSInstruction} são utilizadas (sem SYSCALL) e nenhuma operação
+ * gera overflow ou divisão por zero, de forma que o programa sempre termina.
+ *
+ * @version 1.0
+ */
+public final class WorkloadGenerator {
+
+  // Endereços iniciais dos segmentos `text` e de dados
+  private static final long TEXT_BASE = 0x00400000L;
+  private static final int DATA_BASE = 0x10010000;
+
+  // Registradores reservados
+  private static final int ZERO = 0;
+  private static final int COUNTER = 8; // $t0: contador dos laços internos
+  private static final int ADDRESS = 9; // $t1: endereço dos acessos à memória
+  private static final int BASE = 16; // $s0: início da região de memória
+  private static final int ITERATIONS = 17; // $s1: iterações restantes
+  private static final int MASK = 18; // $s2: tamanho da região - 1 (em bytes)
+  private static final int CURSOR = 19; // $s3: posição atual na região
+  private static final int DIVISOR = 25; // $t9: divisor (sempre ímpar)
+  private static final int SP = 29;
+  private static final int RA = 31;
+
+  // Operandos dos blocos aritméticos ($t2..$t7, $t8)
+  private static final int[] OPERANDS = {10, 11, 12, 13, 14, 15, 24};
+
+  private static final MIPSInstruction[] REGISTER_OPS =
+      {ADDU, SUBU, AND, OR, XOR, NOR, SLT, SLLV, SRLV, SRAV};
+  private static final MIPSInstruction[] SHIFT_OPS = {SLL, SRL, SRA};
+  private static final MIPSInstruction[] IMMEDIATE_OPS = {ADDIU, ANDI, ORI, XORI, SLTI};
+  private static final MIPSInstruction[] SKIP_BRANCHES = {BEQ, BNE, BLEZ, BGTZ, BLTZ};
+
+  // Profundidade da cadeia de funções
+  private static final int CALL_DEPTH = 4;
+
+  private final WorkloadSpec spec;
+  private final Random random;
+  private final List<Integer> text = new ArrayList<>();
+
+  private WorkloadGenerator(WorkloadSpec spec) {
+    this.spec = spec;
+    this.random = new Random(spec.seed());
+  }
+
+  /**
+   * Gera o programa descrito por esses parâmetros.
+   *
+   * @param spec parâmetros do programa.
+   * @return entrada da CLI (sem registradores, memória ou dados iniciais).
+   */
+  public static InputJSON generate(WorkloadSpec spec) {
+    WorkloadGenerator generator = new WorkloadGenerator(spec);
+    generator.emitProgram();
+
+    InputJSON input = new InputJSON();
+    input.configs = new InputJSON.Configs();
+    input.configs.registers = Map.of();
+    input.configs.memory = Map.of();
+    input.data = Map.of();
+    input.instructions = generator.text.stream().map(w -> "0x%08x".formatted(w)).toList();
+
+    return input;
+  }
+
+  private void emitProgram() {
+    // j main (destino conhecido após as funções)
+    this.emit(0);
+
+    long[] functions = new long[CALL_DEPTH];
+    for (int f = CALL_DEPTH - 1; f >= 0; f--) {
+      functions[f] = this.emitFunction(f == CALL_DEPTH - 1 ? -1 : functions[f + 1]);
+    }
+    this.text.set(0, InstructionEncoder.j(J, this.address()));
+
+    // Inicialização
+    this.emitConstant(BASE, DATA_BASE);
+    this.emitConstant(ITERATIONS, this.spec.iterations());
+    this.emitConstant(MASK, this.spec.memoryWords() * 4 - 1);
+    for (int r : OPERANDS) {
+      this.emit(InstructionEncoder.i(ADDIU, ZERO, r, this.random.nextInt(1 << 16)));
+    }
+
+    long loop = this.address();
+    for (int b = 0; b < this.spec.blocks(); b++) {
+      this.emitBlock(functions);
+    }
+
+    // Próxima iteração ou fim do programa (após a última instrução)
+    this.emit(InstructionEncoder.i(ADDIU, ITERATIONS, ITERATIONS, -1));
+    this.emit(InstructionEncoder.i(BEQ, ITERATIONS, ZERO, 1));
+    this.emit(InstructionEncoder.j(J, loop));
+  }
+
+  private void emitBlock(long[] functions) {
+    int total = this.spec.arithmeticWeight() + this.spec.memoryWeight()
+        + this.spec.branchWeight() + this.spec.callWeight();
+    int choice = this.random.nextInt(total);
+
+    if ((choice -= this.spec.arithmeticWeight()) < 0) {
+      this.emitArithmetic(4 + this.random.nextInt(9));
+    } else if ((choice -= this.spec.memoryWeight()) < 0) {
+      this.emitMemory(4 + this.random.nextInt(29));
+    } else if ((choice -= this.spec.branchWeight()) < 0) {
+      this.emitLoop(2 + this.random.nextInt(15));
+    } else {
+      this.emit(InstructionEncoder.j(JAL, functions[this.random.nextInt(CALL_DEPTH)]));
+    }
+  }
+
+  /**
+   * Operações aritméticas, lógicas, deslocamentos, multiplicações e divisões sobre os operandos.
+   *
+   * @param count quantidade de operações.
+   */
+  private void emitArithmetic(int count) {
+    for (int k = 0; k < count; k++) {
+      int rd = this.operand();
+      int rs = this.operand();
+      int rt = this.operand();
+
+      switch (this.random.nextInt(6)) {
+        case 0, 1 -> this.emit(InstructionEncoder.r(this.pick(REGISTER_OPS), rs, rt, rd, 0));
+        case 2 -> this.emit(
+            InstructionEncoder.r(this.pick(SHIFT_OPS), ZERO, rt, rd, this.random.nextInt(32)));
+        case 3 -> this.emit(InstructionEncoder.i(this.pick(IMMEDIATE_OPS), rs, rd,
+            this.random.nextInt(1 << 16)));
+        case 4 -> {
+          this.emit(InstructionEncoder.r(this.random.nextBoolean() ? MULT : MULTU, rs, rt, 0, 0));
+          this.emit(InstructionEncoder.r(this.random.nextBoolean() ? MFLO : MFHI, 0, 0, rd, 0));
+        }
+        default -> {
+          // Divisor ímpar, nunca zero
+          this.emit(InstructionEncoder.i(ORI, rt, DIVISOR, 1));
+          this.emit(InstructionEncoder.r(this.random.nextBoolean() ? DIV : DIVU, rs, DIVISOR, 0,
+              0));
+          this.emit(InstructionEncoder.r(this.random.nextBoolean() ? MFLO : MFHI, 0, 0, rd, 0));
+        }
+      }
+    }
+  }
+
+  /**
+   * Laço de leitura, atualização e escrita de palavras consecutivas da região de memória,
+   * continuando de onde o bloco anterior parou.
+   *
+   * @param words quantidade de palavras acessadas.
+   */
+  private void emitMemory(int words) {
+    int value = this.operand();
+    int increment = this.operand();
+
+    this.emit(InstructionEncoder.i(ADDIU, ZERO, COUNTER, words));
+    long start = this.address();
+    this.emit(InstructionEncoder.r(ADDU, BASE, CURSOR, ADDRESS, 0));
+    this.emit(InstructionEncoder.i(LW, ADDRESS, value, 0));
+    this.emit(InstructionEncoder.r(ADDU, value, increment, value, 0));
+    this.emit(InstructionEncoder.i(SW, ADDRESS, value, 0));
+    this.emit(InstructionEncoder.i(ADDIU, CURSOR, CURSOR, 4));
+    this.emit(InstructionEncoder.r(AND, CURSOR, MASK, CURSOR, 0));
+    this.emitCountdown(start);
+  }
+
+  /**
+   * Laço com operações aritméticas e um desvio condicional dependente dos dados.
+   *
+   * @param iterations quantidade de iterações.
+   */
+  private void emitLoop(int iterations) {
+    this.emit(InstructionEncoder.i(ADDIU, ZERO, COUNTER, iterations));
+    long start = this.address();
+
+    this.emitArithmetic(1 + this.random.nextInt(4));
+
+    // Desvio sobre uma única instrução (rt = 0 para BLEZ, BGTZ e BLTZ)
+    MIPSInstruction branch = this.pick(SKIP_BRANCHES);
+    int rt = branch == BEQ || branch == BNE ? this.operand() : 0;
+    this.emit(InstructionEncoder.i(branch, this.operand(), rt, 1));
+    this.emit(InstructionEncoder.r(this.pick(REGISTER_OPS), this.operand(), this.operand(),
+        this.operand(), 0));
+
+    this.emitCountdown(start);
+  }
+
+  /**
+   * Função da cadeia de chamadas.
+   *
+   * @param next endereço da próxima função da cadeia (ou -1 para a última).
+   * @return endereço da função.
+   */
+  private long emitFunction(long next) {
+    long address = this.address();
+
+    if (next < 0) {
+      this.emitArithmetic(2 + this.random.nextInt(4));
+    } else {
+      this.emit(InstructionEncoder.i(ADDIU, SP, SP, -4));
+      this.emit(InstructionEncoder.i(SW, SP, RA, 0));
+      this.emitArithmetic(1 + this.random.nextInt(3));
+      this.emit(InstructionEncoder.j(JAL, next));
+      this.emit(InstructionEncoder.i(LW, SP, RA, 0));
+      this.emit(InstructionEncoder.i(ADDIU, SP, SP, 4));
+    }
+
+    this.emit(InstructionEncoder.r(JR, RA, 0, 0, 0));
+    return address;
+  }
+
+  private void emitCountdown(long start) {
+    this.emit(InstructionEncoder.i(ADDIU, COUNTER, COUNTER, -1));
+    int offset = (int) ((start - (this.address() + 4)) / 4);
+    this.emit(InstructionEncoder.i(BNE, COUNTER, ZERO, offset));
+  }
+
+  /**
+   * Expansão de `li`: LUI com a metade superior arredondada e ADDIU com a metade inferior (ORI
+   * estende o sinal da constante neste simulador, então não pode ser utilizado).
+   */
+  private void emitConstant(int register, int value) {
+    this.emit(InstructionEncoder.i(LUI, 0, register, (value + 0x8000) >>> 16));
+    this.emit(InstructionEncoder.i(ADDIU, register, register, value));
+  }
+
+  private int operand() {
+    return OPERANDS[this.random.nextInt(OPERANDS.length)];
+  }
+
+  private MIPSInstruction pick(MIPSInstruction[] instructions) {
+    return instructions[this.random.nextInt(instructions.length)];
+  }
+
+  private long address() {
+    return TEXT_BASE + 4L * this.text.size();
+  }
+
+  private void emit(int word) {
+    this.text.add(word);
+  }
+
+}
@@ -0,0 +1,93 @@
+package br.ufrpe.mips.presentation.workload;
+
+/**
+ * Parâmetros de um programa sintético.
+ *
+ * O programa possui {@code blocks} blocos (aritméticos, de acesso à memória, laços ou chamadas de
+ * função, sorteados de acordo com os pesos), executados {@code iterations} vezes. Os acessos à
+ * memória percorrem ciclicamente {@code memoryWords} palavras do segmento de dados.
+ *
+ * @param seed semente do gerador (mesma semente e parâmetros, mesmo programa).
+ * @param blocks quantidade de blocos no corpo do programa.
+ * @param iterations quantidade de execuções do corpo.
+ * @param memoryWords palavras de memória acessadas (arredondado para uma potência de 2).
+ * @param arithmeticWeight peso dos blocos aritméticos (inclusive MULT e DIV).
+ * @param memoryWeight peso dos blocos de acesso à memória (LW e SW).
+ * @param branchWeight peso dos laços (BNE) com desvios condicionais internos.
+ * @param callWeight peso das cadeias de chamadas de função (JAL e JR).
+ *
+ * @version 1.0
+ */
+public record WorkloadSpec(long seed, int blocks, int iterations, int memoryWords,
+    int arithmeticWeight, int memoryWeight, int branchWeight, int callWeight) {
+
+  // Maior região de memória acessada (64 MiB)
+  public static final int MAX_MEMORY_WORDS = 1 << 24;
+
+  public WorkloadSpec {
+    if (blocks < 1 || iterations < 1) {
+      throw new IllegalArgumentException(
+          "Blocos e iterações devem ser positivos: %d, %d.".formatted(blocks, iterations));
+    }
+
+    if (memoryWords < 1 || memoryWords > MAX_MEMORY_WORDS) {
+      throw new IllegalArgumentException(
+          "Palavras de memória devem estar em [1..%d]: %d.".formatted(MAX_MEMORY_WORDS,
+              memoryWords));
+    }
+
+    if (arithmeticWeight < 0 || memoryWeight < 0 || branchWeight < 0 || callWeight < 0
+        || arithmeticWeight + memoryWeight + branchWeight + callWeight == 0) {
+      throw new IllegalArgumentException(
+          "Pesos devem ser não negativos e ao menos um positivo.");
+    }
+
+    // Potência de 2: o endereço é calculado com uma máscara
+    memoryWords = Integer.highestOneBit(memoryWords) == memoryWords ? memoryWords
+        : Integer.highestOneBit(memoryWords) << 1;
+  }
+
+  /**
+   * Parâmetros padrão: 32 blocos, 1000 iterações, 4 KiB de memória e pesos 4:3:2:1.
+   *
+   * @return {@link WorkloadSpec}.
+   */
+  public static WorkloadSpec defaults() {
+    return new WorkloadSpec(0, 32, 1000, 1024, 4, 3, 2, 1);
+  }
+
+  public WorkloadSpec withSeed(long seed) {
+    return new WorkloadSpec(seed, this.blocks, this.iterations, this.memoryWords,
+        this.arithmeticWeight, this.memoryWeight, this.branchWeight, this.callWeight);
+  }
+
+  public WorkloadSpec withBlocks(int blocks) {
+    return new WorkloadSpec(this.seed, blocks, this.iterations, this.memoryWords,
+        this.arithmeticWeight, this.memoryWeight, this.branchWeight, this.callWeight);
+  }
+
+  public WorkloadSpec withIterations(int iterations) {
+    return new WorkloadSpec(this.seed, this.blocks, iterations, this.memoryWords,
+        this.arithmeticWeight, this.memoryWeight, this.branchWeight, this.callWeight);
+  }
+
+  public WorkloadSpec withMemoryWords(int memoryWords) {
+    return new WorkloadSpec(this.seed, this.blocks, this.iterations, memoryWords,
+        this.arithmeticWeight, this.memoryWeight, this.branchWeight, this.callWeight);
+  }
+
+  /**
+   * Retorna uma cópia desses parâmetros com outra distribuição de blocos.
+   *
+   * @param arithmetic peso dos blocos aritméticos.
+   * @param memory peso dos blocos de acesso à memória.
+   * @param branch peso dos laços.
+   * @param call peso das chamadas de função.
+   * @return {@link WorkloadSpec}.
+   */
+  public WorkloadSpec withMix(int arithmetic, int memory, int branch, int call) {
+    return new WorkloadSpec(this.seed, this.blocks, this.iterations, this.memoryWords,
+        arithmetic, memory, branch, call);
+  }
+
+}
@@ -3,6 +3,9 @@ package br.ufrpe.mips.simulator;
 import java.util.List;
 import java.util.Map;
 
+import br.ufrpe.mips.simulator.utils.execution.RunSummary;
+import br.ufrpe.mips.simulator.utils.execution.StopCondition;
+
 /**
  * Essa interface todas as funcionalidade do simulador
  * MIPS32, permitindo a execução de diferentes instruções
@@ -57,6 +60,29 @@ public interface IMIPS32 {
    */
   void runNexInstruction();
 
+  /**
+   * Executa até essa quantidade de instruções (ou até o fim do programa).
+   * 
+   * Diferente de {@link #runNexInstruction()}, a saída de cada instrução não é
+   * materializada: {@link #output()} retorna apenas a saída da última instrução.
+   * 
+   * @param maxSteps quantidade máxima de instruções.
+   * @return {@link RunSummary} com instruções executadas e motivo da parada.
+   */
+  RunSummary runSteps(long maxSteps);
+
+  /**
+   * Executa instruções até que a condição de parada seja satisfeita
+   * (ou até o fim do programa).
+   * 
+   * Diferente de {@link #runNexInstruction()}, a saída de cada instrução não é
+   * materializada: {@link #output()} retorna apenas a saída da última instrução.
+   * 
+   * @param condition condição de parada (limite, breakpoints, syscall).
+   * @return {@link RunSummary} com instruções executadas e motivo da parada.
+   */
+  RunSummary runUntil(StopCondition condition);
+
   /**
    * Retorna a saída escrita na saída padrão ou
    * String vazia caso nada tenha sido escrito.
@@ -69,6 +95,8 @@ public interface IMIPS32 {
    * Retorna representação em Assembly para MIPS da última instrução,
    * retorna String vazia caso nenhuma instrução tenha sido executada.
    * 
+   * A representação é gerada apenas quando esse método é chamado.
+   * 
    * @return representação em assembly.
    */
   String toAssembly();
@@ -77,6 +105,8 @@ public interface IMIPS32 {
    * Retorna representação em Hexadecimal a última instrução,
    * retornando String vazia caso nenhuma instrução tenha sido executada.
    * 
+   * A representação é gerada apenas quando esse método é chamado.
+   * 
    * @return representação em hexadecimal.
    */
   String toHex();
@@ -95,4 +125,65 @@ public interface IMIPS32 {
    * @return Mapa de inteiro (endereço) para inteiro (valor).
    */
   Map<Long, Integer> memory(); 
+
+  /**
+   * Registradores escritos pela última instrução executada por {@link #runNexInstruction()},
+   * com seus valores atuais (inclusive 0).
+   * 
+   * Caso a última operação não tenha sido {@link #runNexInstruction()} (carregamento, reset ou
+   * execução em lote), retorna o estado completo, assim como {@link #registers()}.
+   * 
+   * @return Mapa de String (identificador) para inteiro (valor).
+   */
+  Map<String, Integer> changedRegisters();
+
+  /**
+   * Palavras da memória principal escritas pela última instrução executada por
+   * {@link #runNexInstruction()}, com seus valores atuais (inclusive 0).
+   * 
+   * Caso a última operação não tenha sido {@link #runNexInstruction()} (carregamento, reset ou
+   * execução em lote), retorna o estado completo, assim como {@link #memory()}.
+   * 
+   * @return Mapa de inteiro (endereço) para inteiro (valor).
+   */
+  Map<Long, Integer> changedMemory();
+
+  /**
+   * Quantidade de instruções executadas por {@link #runNexInstruction()} desde o último reset,
+   * carregamento ou execução em lote (passo atual do histórico de execução).
+   * 
+   * @return passo atual.
+   */
+  long currentStep();
+
+  /**
+   * Habilita o histórico de execução usado por {@link #stepBack()} e {@link #seek(long)}.
+   * 
+   * Cada instrução executada por {@link #runNexInstruction()} registra suas escritas (valores
+   * antes e depois) e, a cada `checkpointInterval` instruções, o estado completo é capturado. O
+   * histórico é reiniciado a cada reset, carregamento, execução em lote ou restauração.
+   * 
+   * @param checkpointInterval instruções entre capturas do estado (0 desabilita o histórico).
+   * @throws IllegalArgumentException caso o intervalo seja negativo.
+   */
+  void enableHistory(int checkpointInterval);
+
+  /**
+   * Volta para o estado anterior à última instrução executada (sem executar instruções).
+   * 
+   * @return true caso tenha voltado, false caso esteja no passo 0.
+   * @throws IllegalStateException caso o histórico de execução não esteja habilitado.
+   */
+  boolean stepBack();
+
+  /**
+   * Vai para o estado após essa quantidade de instruções, avançando ou voltando no histórico de
+   * execução (sem executar instruções). Após voltar, {@link #runNexInstruction()} descarta os
+   * passos posteriores.
+   * 
+   * @param step passo em [0..último passo executado].
+   * @throws IllegalStateException caso o histórico de execução não esteja habilitado.
+   * @throws IllegalArgumentException caso o passo não esteja no histórico.
+   */
+  void seek(long step);
 }
@@ -1,48 +1,90 @@
 package br.ufrpe.mips.simulator.imp;
 
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import br.ufrpe.mips.data.IMemoryLocation;
 import br.ufrpe.mips.data.IMemoryManager;
 import br.ufrpe.mips.data.IRegister;
+import br.ufrpe.mips.data.utils.WriteJournal;
 import br.ufrpe.mips.simulator.IMIPS32;
+import br.ufrpe.mips.simulator.utils.cache.InstructionCache;
 import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler;
-import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler.AssemblyInstruction;
+import br.ufrpe.mips.simulator.utils.execution.ExecutionEngine;
+import br.ufrpe.mips.simulator.utils.execution.RunSummary;
+import br.ufrpe.mips.simulator.utils.execution.StopCondition;
+import br.ufrpe.mips.simulator.utils.execution.StopReason;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
 import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
+import br.ufrpe.mips.simulator.utils.jit.BlockJit;
+import br.ufrpe.mips.simulator.utils.jit.JitBlock;
 import br.ufrpe.mips.simulator.utils.operation.ArithmeticLogic;
 import br.ufrpe.mips.simulator.utils.operation.ImmediateAL;
 import br.ufrpe.mips.simulator.utils.operation.JumpBranch;
 import br.ufrpe.mips.simulator.utils.operation.LoadStore;
 import br.ufrpe.mips.simulator.utils.operation.Syscall;
+import br.ufrpe.mips.simulator.utils.profiler.GuestProfiler;
 import br.ufrpe.mips.simulator.utils.register.RegisterMapper;
+import br.ufrpe.mips.simulator.utils.snapshot.ExecutionHistory;
+import br.ufrpe.mips.simulator.utils.snapshot.ProcessorSnapshot;
+import br.ufrpe.mips.simulator.utils.threaded.CompiledInstruction;
+import br.ufrpe.mips.simulator.utils.threaded.ThreadedCodeCompiler;
 
 /**
  * Essa classe representa um processador MIPS32.
  * 
+ * As instruções podem ser executadas por um interpretador (decodificação e despacho a cada
+ * instrução), por threaded code (instruções traduzidas em handlers no carregamento) ou pelo JIT
+ * (blocos básicos quentes compilados para bytecode), de acordo com o {@link ExecutionEngine}
+ * escolhido. O JIT é utilizado apenas nas execuções em lote ({@link #runUntil(StopCondition)}),
+ * a execução instrução a instrução é sempre interpretada.
+ * 
  * @version 1.0
  */
 public class MIPS32Processor implements IMIPS32 {
 
-  private static List<MIPSInstruction> branchesJump =
-      List.of(MIPSInstruction.J, MIPSInstruction.JAL, MIPSInstruction.BEQ, MIPSInstruction.BGTZ,
+  private static Set<MIPSInstruction> branchesJump =
+      EnumSet.of(MIPSInstruction.J, MIPSInstruction.JAL, MIPSInstruction.BEQ, MIPSInstruction.BGTZ,
           MIPSInstruction.BLEZ, MIPSInstruction.BLTZ, MIPSInstruction.BNE, MIPSInstruction.JR);
 
   // Memória principal e registradores
   private IMemoryManager memory;
 
   // Informações da última instrução executada
-  private AssemblyInstruction lastInstruction;
+  // (Assembly e hexadecimal são gerados apenas quando solicitados)
+  private DecodedInstruction lastInstruction;
+  private long lastAddress;
   private String output;
-  private String hex;
+
+  // Buffer de saída reutilizado pelos runners
+  private final StringBuffer buffer = new StringBuffer();
+
+  // Código encadeado: buffer pode conter a saída da última instrução
+  private boolean outputPending;
+
+  // Escritas realizadas pela última instrução (válidas apenas após runNexInstruction)
+  private WriteJournal.Changes writes;
+  private boolean writesTracked;
+
+  // Histórico para execução reversa (desabilitado quando o intervalo é 0)
+  private int historyInterval;
+  private ExecutionHistory history;
+  private int position;
+
+  // Profiler do programa simulado (desabilitado quando null)
+  private GuestProfiler profiler;
 
   // Auxiliares
   private long finalInstrAddr;
 
+  // Instruções já decodificadas do segmento `text`
+  private InstructionCache cache;
+
   // Runners de instruções
   private ArithmeticLogic al;
   private ImmediateAL ial;
@@ -50,18 +92,54 @@ public class MIPS32Processor implements IMIPS32 {
   private LoadStore ls;
   private Syscall sc;
 
+  // Estratégia de execução
+  private final ExecutionEngine engine;
+  private final ThreadedCodeCompiler compiler;
+  private final BlockJit jit;
+
   public MIPS32Processor(IMemoryManager memory) {
+    this(memory, ExecutionEngine.INTERPRETER);
+  }
+
+  public MIPS32Processor(IMemoryManager memory, ExecutionEngine engine) {
+    this(memory, engine, null);
+  }
+
+  /**
+   * @param memory gerenciador de memória.
+   * @param engine estratégia de execução.
+   * @param parent processador de origem de um fork (memória já copiada, sem reset) ou null.
+   */
+  private MIPS32Processor(IMemoryManager memory, ExecutionEngine engine,
+      MIPS32Processor parent) {
     this.memory = memory;
-    this.lastInstruction = new AssemblyInstruction("", null, null);
+    this.engine = engine;
+    this.lastInstruction = null;
     this.output = "";
-    this.hex = "";
+    this.cache = new InstructionCache(memory.textBaseAddress());
     this.al = new ArithmeticLogic(memory);
     this.ial = new ImmediateAL(memory);
     this.jb = new JumpBranch(memory);
-    this.ls = new LoadStore(memory);
-    this.sc = new Syscall(memory);
+    this.ls = new LoadStore(memory, this.cache);
+    this.sc = new Syscall(memory, this.cache);
+    this.compiler = new ThreadedCodeCompiler(memory, this.al, this.ial, this.jb, this.ls, this.sc);
+    this.jit = engine == ExecutionEngine.JIT || engine == ExecutionEngine.JIT_CHECKED
+        ? new BlockJit(memory, this.cache)
+        : null;
+
+    if (parent == null) {
+      this.reset();
+      return;
+    }
 
-    this.reset();
+    this.lastInstruction = parent.lastInstruction;
+    this.lastAddress = parent.lastAddress;
+    this.output = parent.output;
+    this.finalInstrAddr = parent.finalInstrAddr;
+    this.cache.reset(this.finalInstrAddr);
+    if (this.jit != null) {
+      this.jit.reset(this.finalInstrAddr);
+    }
   }
 
   @Override
@@ -70,58 +148,75 @@ public class MIPS32Processor implements IMIPS32 {
     this.memory.clear();
 
     // Inicializando PC para endereço base do segmento de texto
-    this.memory.getPC().write(4194304);
+    this.memory.writePC(4194304);
 
     // Inicializando $gp para limite do stack
     int regNumber = RegisterMapper.regNumberFromLabel("gp");
-    this.memory.getRegisterFromNumber(regNumber).write(268468224);
+    this.memory.writeRegister(regNumber, 268468224);
 
     // Inicializando $sp
     regNumber = RegisterMapper.regNumberFromLabel("sp");
-    this.memory.getRegisterFromNumber(regNumber).write(2147479548);
+    this.memory.writeRegister(regNumber, 2147479548);
 
     // Limpando dados da última execução
-    this.lastInstruction = new AssemblyInstruction("", null, null);
+    this.lastInstruction = null;
+    this.writesTracked = false;
+    this.restartHistory();
     this.output = "";
-    this.hex = "";
     this.finalInstrAddr = 4194304L;
+    this.restartProfiler();
+    this.cache.reset(this.memory.textBaseAddress() - 4);
+    if (this.jit != null) {
+      this.jit.reset(this.memory.textBaseAddress() - 4);
+    }
   }
 
   @Override
   public void loadData(Map<Long, Integer> data) {
+    this.writesTracked = false;
+    this.restartHistory();
+
     for (Entry<Long, Integer> e : data.entrySet()) {
       long k = e.getKey();
       int v = e.getValue();
 
-      this.memory.getWordMemoryLocationFromAddress(k).write(v);
+      this.memory.writeWord(k, v);
+      this.cache.invalidate(k);
     }
   }
 
   @Override
   public void loadMemory(Map<Long, Integer> mem) {
+    this.writesTracked = false;
+    this.restartHistory();
+
     for (Entry<Long, Integer> e : mem.entrySet()) {
       long k = e.getKey();
       int v = e.getValue();
 
-      this.memory.getWordMemoryLocationFromAddress(k).write(v);
+      this.memory.writeWord(k, v);
+      this.cache.invalidate(k);
     }
   }
 
   @Override
   public void loadRegisters(Map<String, Integer> regs) {
+    this.writesTracked = false;
+    this.restartHistory();
+
     for (Entry<String, Integer> e : regs.entrySet()) {
       String k = e.getKey().replace("$", "");
       int v = e.getValue();
 
       if (k.equals("pc")) {
-        this.memory.getPC().write(v);
+        this.memory.writePC(v);
       } else if (k.equals("lo")) {
         this.memory.getLO().write(v);
       } else if (k.equals("hi")) {
         this.memory.getHI().write(v);
       } else {
         int regNumber = RegisterMapper.regNumberFromLabel(k);
-        this.memory.getRegisterFromNumber(regNumber).write(v);
+        this.memory.writeRegister(regNumber, v);
       }
     }
   }
@@ -133,7 +228,18 @@ public class MIPS32Processor implements IMIPS32 {
 
   @Override
   public String toAssembly() {
-    return this.lastInstruction.assembly();
+    if (this.lastInstruction == null) {
+      return "";
+    }
+
+    // Reaproveitando representação já gerada para esse endereço
+    String text = this.cache.assembly(this.lastAddress, this.lastInstruction);
+    if (text == null) {
+      text = MIPSDisassembler.assemblyFromInstruction(this.lastInstruction);
+      this.cache.putAssembly(this.lastAddress, this.lastInstruction, text);
+    }
+
+    return text;
   }
 
   @Override
@@ -171,50 +277,407 @@ public class MIPS32Processor implements IMIPS32 {
 
   @Override
   public void loadInstructions(List<String> hexInstructions) {
+    this.writesTracked = false;
+    this.restartHistory();
     long offset = 0;
-    long baseAddress = Integer.toUnsignedLong(this.memory.getPC().read());
+    long baseAddress = Integer.toUnsignedLong(this.memory.readPC());
 
     for (String hex : hexInstructions) {
       // Atualizando endereço da última instrução
       this.finalInstrAddr = baseAddress + offset;
 
-      // Obtendo endereço de memória no segmento `text`
-      IMemoryLocation<Integer> l =
-          this.memory.getWordMemoryLocationFromAddress(this.finalInstrAddr);
-
       // Removendo prefixo 0x caso exista
       if (hex.contains("0x")) {
         hex = hex.substring(2);
       }
 
-      // Escrevendo instrução hexadecimal como inteiro de 32-bits
-      l.write(Integer.parseUnsignedInt(hex, 16));
+      // Escrevendo instrução hexadecimal como inteiro de 32-bits no segmento `text`
+      this.memory.writeWord(this.finalInstrAddr, Integer.parseUnsignedInt(hex, 16));
 
       // Próxima palavra
       offset += 4;
     }
+
+    // Programa novo, descartar instruções decodificadas anteriormente
+    this.restartProfiler();
+    this.cache.reset(this.finalInstrAddr);
+    if (this.jit != null) {
+      this.jit.reset(this.finalInstrAddr);
+    }
+
+    if (this.engine == ExecutionEngine.THREADED_CODE && !hexInstructions.isEmpty()) {
+      this.compileInstructions(baseAddress);
+    }
+  }
+
+  /**
+   * Traduz todas as instruções carregadas no segmento `text`.
+   * 
+   * @param baseAddress endereço da primeira instrução.
+   */
+  private void compileInstructions(long baseAddress) {
+    for (long address = baseAddress; address <= this.finalInstrAddr; address += 4) {
+      try {
+        DecodedInstruction decoded = MIPSDisassembler.decode(this.memory.readWord(address));
+        this.cache.putCompiled(address, this.compiler.compile(address, decoded));
+      } catch (IllegalArgumentException e) {
+        // Palavra não é uma instrução válida, será tratada caso seja executada.
+      }
+    }
+  }
+
+  @Override
+  public Map<String, Integer> changedRegisters() {
+    if (!this.writesTracked) {
+      return this.registers();
+    }
+
+    Map<String, Integer> regs = new LinkedHashMap<>();
+    for (int n = 0; n < 32; n++) {
+      if (this.writes.hasRegister(n)) {
+        regs.put("$%d".formatted(n), this.memory.readRegister(n));
+      }
+    }
+
+    if (this.writes.hasRegister(WriteJournal.PC)) {
+      regs.put("pc", this.memory.readPC());
+    }
+
+    if (this.writes.hasRegister(WriteJournal.LO)) {
+      regs.put("lo", this.memory.readLO());
+    }
+
+    if (this.writes.hasRegister(WriteJournal.HI)) {
+      regs.put("hi", this.memory.readHI());
+    }
+
+    return regs;
+  }
+
+  @Override
+  public Map<Long, Integer> changedMemory() {
+    if (!this.writesTracked) {
+      return this.memory();
+    }
+
+    Map<Long, Integer> mem = new LinkedHashMap<>();
+    for (int k = 0; k < this.writes.wordCount(); k++) {
+      long address = this.writes.word(k);
+      mem.put(address, this.memory.readWord(address));
+    }
+
+    return mem;
   }
 
   @Override
   public void runNexInstruction() {
-    // Limpando saída da instrução anterior
-    this.output = "";
+    // Histórico iniciado no estado anterior à primeira instrução
+    if (this.historyInterval > 0 && this.history == null) {
+      this.history =
+          new ExecutionHistory(this.memory, this.cache, this.historyInterval, this.snapshot());
+    }
+
+    // Registrando apenas as escritas dessa instrução
+    this.writesTracked = false;
+    this.memory.setJournalEnabled(true);
+    this.memory.drainChanges();
+
+    this.step();
+
+    this.writes = this.memory.drainChanges();
+    this.writesTracked = true;
+
+    // Obter saídas escritas no Buffer
+    this.output = this.materializeOutput();
+
+    if (this.history != null) {
+      this.recordStep();
+    }
+  }
+
+  /**
+   * Adiciona a última instrução executada ao histórico, descartando os passos posteriores caso a
+   * execução tenha partido de um passo anterior.
+   */
+  private void recordStep() {
+    if (this.position < this.history.lastStep()) {
+      this.history.truncate(this.position);
+    }
+
+    this.history.record(this.writes, this.lastInstruction, this.lastAddress, this.output);
+    this.position++;
+
+    if (this.history.isCheckpoint(this.position)) {
+      this.history.checkpoint(this.snapshot());
+    }
+  }
+
+  @Override
+  public long currentStep() {
+    return this.position;
+  }
+
+  @Override
+  public boolean stepBack() {
+    this.requireHistory();
+
+    if (this.position == 0) {
+      return false;
+    }
+
+    this.seek(this.position - 1);
+    return true;
+  }
+
+  @Override
+  public void seek(long step) {
+    this.requireHistory();
+
+    int last = this.history == null ? 0 : this.history.lastStep();
+    if (step < 0 || step > last) {
+      throw new IllegalArgumentException(
+          "Passo %d fora do histórico de execução [0..%d].".formatted(step, last));
+    }
+
+    if (step == this.position) {
+      return;
+    }
+
+    // Partindo do estado mais próximo: atual ou checkpoint
+    int target = (int) step;
+    int start = this.history.closestStart(this.position, target);
+    this.memory.setJournalEnabled(false);
+
+    if (start != this.position) {
+      this.restoreState(this.history.checkpointAt(start));
+      this.position = start;
+    }
+
+    while (this.position < target) {
+      this.history.redo(++this.position);
+    }
+
+    while (this.position > target) {
+      this.history.undo(this.position--);
+    }
 
-    // Limpando instrução anterior
-    this.hex = "";
+    this.lastInstruction = this.history.instruction(target);
+    this.lastAddress = this.history.address(target);
+    this.output = this.history.output(target);
+    this.writesTracked = false;
+  }
+
+  @Override
+  public void enableHistory(int checkpointInterval) {
+    if (checkpointInterval < 0) {
+      throw new IllegalArgumentException(
+          "Intervalo entre checkpoints inválido: %d.".formatted(checkpointInterval));
+    }
+
+    this.historyInterval = checkpointInterval;
+    this.restartHistory();
+  }
+
+  /**
+   * Descarta o histórico de execução, o estado atual passa a ser o passo 0.
+   */
+  private void restartHistory() {
+    this.history = null;
+    this.position = 0;
+  }
+
+  /**
+   * Habilita (ou desabilita) o profiler do programa simulado. As contagens são reiniciadas a cada
+   * reset ou carregamento de instruções e incluem todas as estratégias de execução.
+   * 
+   * @param enabled true para habilitar.
+   */
+  public void enableProfiler(boolean enabled) {
+    this.profiler = enabled ? new GuestProfiler(this.memory) : null;
+    this.restartProfiler();
+
+    if (this.jit != null) {
+      this.jit.setProfiler(this.profiler);
+    }
+  }
+
+  /**
+   * Profiler do programa simulado.
+   * 
+   * @return {@link GuestProfiler} ou null caso esteja desabilitado.
+   */
+  public GuestProfiler profiler() {
+    return this.profiler;
+  }
+
+  private void restartProfiler() {
+    if (this.profiler != null) {
+      this.profiler.reset(this.finalInstrAddr);
+    }
+  }
+
+  private void requireHistory() {
+    if (this.historyInterval == 0) {
+      throw new IllegalStateException("Histórico de execução desabilitado.");
+    }
+  }
+
+  @Override
+  public RunSummary runSteps(long maxSteps) {
+    return this.runUntil(StopCondition.steps(maxSteps));
+  }
+
+  @Override
+  public RunSummary runUntil(StopCondition condition) {
+    long steps = 0;
+
+    // Escritas não são registradas nas execuções em lote
+    this.writesTracked = false;
+    this.restartHistory();
+    this.memory.setJournalEnabled(false);
+    StopReason reason;
+
+    // Início de um bloco básico (início da execução ou após desvio/pulo)
+    boolean blockEntry = true;
+
+    while (true) {
+      if (!this.hasNextInstruction()) {
+        reason = StopReason.HALTED;
+        break;
+      }
+
+      if (steps >= condition.maxSteps()) {
+        reason = StopReason.STEP_LIMIT;
+        break;
+      }
+
+      if (this.jit != null && blockEntry) {
+        long address = Integer.toUnsignedLong(this.memory.readPC());
+        JitBlock block = this.jit.enter(address);
+
+        // Bloco inteiro só é executado se não ultrapassar o limite nem passar por um breakpoint
+        if (block != null && block.length() <= condition.maxSteps() - steps
+            && !condition.hasBreakpointBetween(block.start() + 4, block.end())) {
+          steps += this.runBlock(block, condition.maxSteps() - steps, condition);
+
+          long pc = Integer.toUnsignedLong(this.memory.readPC());
+          if (condition.isBreakpoint(pc)) {
+            reason = StopReason.BREAKPOINT;
+            break;
+          }
+
+          continue;
+        }
+      }
+
+      MIPSInstruction executed = this.step();
+      steps++;
+      blockEntry = this.jit != null && (MIPS32Processor.branchesJump.contains(executed)
+          || executed == MIPSInstruction.SYSCALL);
+
+      if (condition.stopOnSyscall() && executed == MIPSInstruction.SYSCALL) {
+        reason = StopReason.SYSCALL;
+        break;
+      }
+
+      long pc = Integer.toUnsignedLong(this.memory.readPC());
+      if (condition.isBreakpoint(pc)) {
+        reason = StopReason.BREAKPOINT;
+        break;
+      }
+    }
+
+    // Apenas a saída da última instrução executada é materializada
+    this.output = this.materializeOutput();
+
+    return new RunSummary(steps, reason);
+  }
+
+  /**
+   * Executa um bloco compilado pelo JIT, seguido dos blocos compilados encadeados a ele (ou, no
+   * modo de verificação, interpreta apenas esse bloco e compara o resultado com o do código
+   * compilado).
+   * 
+   * @param block bloco que inicia no PC atual.
+   * @param budget quantidade máxima de instruções.
+   * @param condition condição de parada (breakpoints).
+   * @return quantidade de instruções executadas.
+   */
+  private long runBlock(JitBlock block, long budget, StopCondition condition) {
+    if (this.engine == ExecutionEngine.JIT_CHECKED) {
+      BlockJit.Speculation speculation = this.jit.speculate(block);
+
+      // Bloco compilado gerou exceção: o interpretador reproduz (ou não) a exceção
+      if (speculation == null) {
+        this.step();
+        return 1;
+      }
+
+      for (int k = 0; k < speculation.steps(); k++) {
+        this.step();
+      }
+
+      this.jit.verify(speculation);
+      return speculation.steps();
+    }
+
+    this.buffer.setLength(0);
+
+    long steps;
+    try {
+      steps = this.jit.run(block, budget, condition);
+    } catch (RuntimeException e) {
+      // PC aponta para a instrução que gerou a exceção
+      JitBlock current = this.jit.current();
+      this.lastAddress = Integer.toUnsignedLong(this.memory.readPC());
+      this.lastInstruction =
+          current.instructions()[(int) ((this.lastAddress - current.start()) >> 2)];
+      throw e;
+    }
+
+    // Saída apenas da última instrução executada
+    JitBlock last = this.jit.current();
+    int executed = this.jit.currentSteps();
+    this.lastAddress = last.start() + 4L * (executed - 1);
+    this.lastInstruction = last.instructions()[executed - 1];
+    if (this.jit.overflowed(this.lastAddress)) {
+      this.buffer.append("overflow");
+    }
+
+    return steps;
+  }
+
+  /**
+   * Executa a instrução apontada pelo PC, sem materializar sua saída.
+   * 
+   * @return instrução executada.
+   */
+  private MIPSInstruction step() {
+    if (this.engine == ExecutionEngine.THREADED_CODE) {
+      return this.stepThreaded();
+    }
+
+    // Limpando saída da instrução anterior
+    this.buffer.setLength(0);
 
     // Obter localização atual do programa
-    long address = Integer.toUnsignedLong(this.memory.getPC().read());
+    long address = Integer.toUnsignedLong(this.memory.readPC());
 
-    // Obter instrução atual
-    int instruction = this.memory.getWordMemoryLocationFromAddress(address).read();
-    String hexString = Integer.toHexString(instruction);
-    this.hex = "0x%s".formatted("0".repeat(8 - hexString.length()) + hexString);
-    this.lastInstruction = MIPSDisassembler.toAssembly(this.hex);
-    AssemblyInstruction i = this.lastInstruction;
+    // Obter instrução atual (decodificando apenas caso não esteja na cache)
+    DecodedInstruction decoded = this.cache.get(address);
+    if (decoded == null) {
+      decoded = MIPSDisassembler.decode(this.memory.readWord(address));
+      this.cache.put(address, decoded);
+    }
 
-    // Criação do buffer de saída para os runners
-    StringBuffer buffer = new StringBuffer();
+    this.lastInstruction = decoded;
+    this.lastAddress = address;
+    DecodedInstruction i = decoded;
+
+    if (this.profiler != null) {
+      this.profiler.execute(address, decoded);
+    }
+    StringBuffer buffer = this.buffer;
 
     // Escolha da instrução
     switch (i.instruction()) {
@@ -263,23 +726,67 @@ public class MIPS32Processor implements IMIPS32 {
       default -> System.out.println("\"%s\" não implementada".formatted(i.instruction().name()));
     }
 
-    // Obter saídas escritas no Buffer
-    this.output = buffer.toString();
-
     // Atualização do PC caso não seja instrução de desvio/pulo
-    if (!MIPS32Processor.branchesJump.contains(this.lastInstruction.instruction())) {
+    if (!MIPS32Processor.branchesJump.contains(i.instruction())) {
       // Ir para próxima instrução
       address += 4;
 
       // Atualizar PC
-      this.memory.getPC().write((int) address);
+      this.memory.writePC((int) address);
+    }
+
+    return i.instruction();
+  }
+
+  /**
+   * Saída da última instrução. O buffer nem sempre é limpo entre instruções (código encadeado), e
+   * StringBuffer.toString() cria uma nova String enquanto o buffer não é alterado: buffer vazio
+   * resulta sempre na mesma String.
+   *
+   * @return saída da última instrução.
+   */
+  private String materializeOutput() {
+    return this.buffer.length() == 0 ? "" : this.buffer.toString();
+  }
+
+  /**
+   * Executa a instrução apontada pelo PC através do seu handler.
+   * 
+   * @return instrução executada.
+   */
+  private MIPSInstruction stepThreaded() {
+    long address = Integer.toUnsignedLong(this.memory.readPC());
+
+    // Traduzindo instrução caso ainda não esteja na cache (ex.: sobrescrita por SW/SB)
+    CompiledInstruction compiled = this.cache.getCompiled(address);
+    if (compiled == null) {
+      DecodedInstruction decoded = MIPSDisassembler.decode(this.memory.readWord(address));
+      compiled = this.compiler.compile(address, decoded);
+      this.cache.putCompiled(address, compiled);
+    }
+
+    this.lastInstruction = compiled.instruction();
+    this.lastAddress = address;
+
+    if (this.profiler != null) {
+      this.profiler.execute(address, this.lastInstruction);
+    }
+
+    // Limpando saída da instrução anterior (StringBuffer é sincronizado: apenas se necessário)
+    if (this.outputPending) {
+      this.buffer.setLength(0);
     }
+    this.outputPending = compiled.output();
+
+    compiled.handler().execute(this.buffer);
+
+    return this.lastInstruction.instruction();
   }
 
   @Override
   public boolean hasNextInstruction() {
     // Obter localização atual do programa
-    long address = Integer.toUnsignedLong(this.memory.getPC().read());
+    long address = Integer.toUnsignedLong(this.memory.readPC());
 
     // Se o endereço de execução for <= que o endereço da última instrução,
     // ainda temos instruções para serem executadas.
@@ -288,7 +795,85 @@ public class MIPS32Processor implements IMIPS32 {
 
   @Override
   public String toHex() {
-    return this.hex;
+    if (this.lastInstruction == null) {
+      return "";
+    }
+
+    String hexString = Integer.toHexString(this.lastInstruction.word());
+    return "0x%s".formatted("0".repeat(8 - hexString.length()) + hexString);
+  }
+
+  /**
+   * Captura o estado atual do processador. Caso o gerenciador de memória suporte, as páginas são
+   * compartilhadas entre a captura e o processador (copy-on-write).
+   * 
+   * @return {@link ProcessorSnapshot}.
+   */
+  public ProcessorSnapshot snapshot() {
+    return new ProcessorSnapshot(this.memory.snapshot(), this.lastInstruction, this.lastAddress,
+        this.output, this.finalInstrAddr);
+  }
+
+  /**
+   * Restaura o processador para um estado capturado. Instruções decodificadas, traduzidas e
+   * compiladas são descartadas, pois o segmento `text` pode ser diferente.
+   * 
+   * @param snapshot estado capturado por esse processador (ou outro com o mesmo tipo de memória).
+   */
+  public void restore(ProcessorSnapshot snapshot) {
+    this.restoreState(snapshot);
+    this.restartHistory();
+  }
+
+  private void restoreState(ProcessorSnapshot snapshot) {
+    this.memory.restore(snapshot.memory());
+    this.lastInstruction = snapshot.lastInstruction();
+    this.lastAddress = snapshot.lastAddress();
+    this.output = snapshot.output();
+    this.finalInstrAddr = snapshot.finalInstrAddr();
+    this.writesTracked = false;
+
+    this.cache.reset(this.finalInstrAddr);
+    if (this.jit != null) {
+      this.jit.reset(this.finalInstrAddr);
+    }
+  }
+
+  /**
+   * Cria um novo processador (mesma estratégia de execução) a partir do estado atual desse. As
+   * execuções seguintes de cada processador são independentes.
+   * 
+   * @return novo {@link MIPS32Processor}.
+   */
+  public MIPS32Processor fork() {
+    return new MIPS32Processor(this.memory.fork(), this.engine, this);
+  }
+
+  /**
+   * Quantidade de instruções executadas sem necessidade de decodificação.
+   * 
+   * @return acertos da cache de instruções desde o último carregamento.
+   */
+  public long instructionCacheHits() {
+    return this.cache.hits();
+  }
+
+  /**
+   * Quantidade de instruções que precisaram ser decodificadas.
+   * 
+   * @return falhas da cache de instruções desde o último carregamento.
+   */
+  public long instructionCacheMisses() {
+    return this.cache.misses();
+  }
+
+  /**
+   * Quantidade de blocos básicos compilados pelo JIT.
+   * 
+   * @return blocos compilados desde o último carregamento (0 caso o JIT não esteja em uso).
+   */
+  public long jitCompiledBlocks() {
+    return this.jit == null ? 0 : this.jit.compiledBlocks();
   }
 
 }
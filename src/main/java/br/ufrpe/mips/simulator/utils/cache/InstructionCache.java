@@ -0,0 +1,241 @@
+package br.ufrpe.mips.simulator.utils.cache;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+import br.ufrpe.mips.simulator.utils.threaded.CompiledInstruction;
+
+/**
+ * Classe utilitária, armazena as instruções já decodificadas do segmento `text`.
+ *
+ * Cada palavra do segmento possui uma entrada, indexada por (endereço - endereço base) / 4. Uma
+ * entrada é preenchida na primeira execução da instrução e descartada quando a palavra
+ * correspondente é sobrescrita (ex.: SW/SB no segmento `text`).
+ *
+ * Também guarda a representação em Assembly de cada entrada, gerada apenas quando solicitada, e
+ * a versão traduzida da instrução (quando o processador utiliza threaded code).
+ *
+ * @version 1.0
+ */
+public final class InstructionCache {
+
+  private static final DecodedInstruction[] EMPTY = new DecodedInstruction[0];
+  private static final String[] EMPTY_TEXT = new String[0];
+  private static final CompiledInstruction[] EMPTY_COMPILED = new CompiledInstruction[0];
+
+  private final long baseAddress;
+  private DecodedInstruction[] entries;
+  private String[] assembly;
+  private CompiledInstruction[] compiled;
+
+  // Estatísticas de uso
+  private long hits;
+  private long misses;
+
+  // Notificado quando uma palavra do segmento é sobrescrita (ex.: blocos compilados pelo JIT)
+  private LongConsumer invalidationListener;
+
+  public InstructionCache(long baseAddress) {
+    this.baseAddress = baseAddress;
+    this.entries = EMPTY;
+    this.assembly = EMPTY_TEXT;
+    this.compiled = EMPTY_COMPILED;
+  }
+
+  /**
+   * Descarta todas as entradas e prepara a cache para armazenar até o endereço informado
+   * (inclusivo). Os contadores de acertos e falhas são zerados.
+   *
+   * @param lastAddress endereço da última instrução do programa.
+   */
+  public void reset(long lastAddress) {
+    long size = ((lastAddress - this.baseAddress) >> 2) + 1;
+
+    if (size <= 0) {
+      this.entries = EMPTY;
+      this.assembly = EMPTY_TEXT;
+      this.compiled = EMPTY_COMPILED;
+    } else if (size == this.entries.length) {
+      Arrays.fill(this.entries, null);
+      Arrays.fill(this.assembly, null);
+      Arrays.fill(this.compiled, null);
+    } else {
+      this.entries = new DecodedInstruction[(int) size];
+      this.assembly = new String[(int) size];
+      this.compiled = new CompiledInstruction[(int) size];
+    }
+
+    this.hits = 0;
+    this.misses = 0;
+  }
+
+  /**
+   * Retorna a instrução decodificada desse endereço ou null (caso não esteja na cache).
+   *
+   * @param address endereço da instrução.
+   * @return {@link DecodedInstruction} ou null.
+   */
+  public DecodedInstruction get(long address) {
+    long index = (address - this.baseAddress) >> 2;
+
+    if (index >= 0 && index < this.entries.length) {
+      DecodedInstruction i = this.entries[(int) index];
+
+      if (i != null) {
+        this.hits++;
+        return i;
+      }
+    }
+
+    this.misses++;
+    return null;
+  }
+
+  /**
+   * Armazena a instrução decodificada desse endereço, caso ele pertença à cache.
+   *
+   * @param address endereço da instrução.
+   * @param instruction instrução decodificada.
+   */
+  public void put(long address, DecodedInstruction instruction) {
+    long index = (address - this.baseAddress) >> 2;
+
+    if (index >= 0 && index < this.entries.length) {
+      this.entries[(int) index] = instruction;
+      this.assembly[(int) index] = null;
+      this.compiled[(int) index] = null;
+    }
+  }
+
+  /**
+   * Retorna a instrução traduzida desse endereço ou null (caso não esteja na cache).
+   *
+   * @param address endereço da instrução.
+   * @return {@link CompiledInstruction} ou null.
+   */
+  public CompiledInstruction getCompiled(long address) {
+    long index = (address - this.baseAddress) >> 2;
+
+    if (index >= 0 && index < this.compiled.length) {
+      CompiledInstruction c = this.compiled[(int) index];
+
+      if (c != null) {
+        this.hits++;
+        return c;
+      }
+    }
+
+    this.misses++;
+    return null;
+  }
+
+  /**
+   * Armazena a instrução traduzida (e sua versão decodificada) desse endereço, caso ele pertença
+   * à cache.
+   *
+   * @param address endereço da instrução.
+   * @param instruction instrução traduzida.
+   */
+  public void putCompiled(long address, CompiledInstruction instruction) {
+    long index = (address - this.baseAddress) >> 2;
+
+    if (index >= 0 && index < this.entries.length) {
+      this.entries[(int) index] = instruction.instruction();
+      this.assembly[(int) index] = null;
+      this.compiled[(int) index] = instruction;
+    }
+  }
+
+  /**
+   * Retorna a representação em Assembly já gerada para essa instrução ou null (caso ainda não
+   * tenha sido gerada ou a instrução não seja mais a armazenada nesse endereço).
+   *
+   * @param address endereço da instrução.
+   * @param instruction instrução decodificada.
+   * @return representação em assembly ou null.
+   */
+  public String assembly(long address, DecodedInstruction instruction) {
+    long index = (address - this.baseAddress) >> 2;
+
+    if (index >= 0 && index < this.entries.length && this.entries[(int) index] == instruction) {
+      return this.assembly[(int) index];
+    }
+
+    return null;
+  }
+
+  /**
+   * Armazena a representação em Assembly dessa instrução, caso ela ainda seja a armazenada nesse
+   * endereço.
+   *
+   * @param address endereço da instrução.
+   * @param instruction instrução decodificada.
+   * @param text representação em assembly.
+   */
+  public void putAssembly(long address, DecodedInstruction instruction, String text) {
+    long index = (address - this.baseAddress) >> 2;
+
+    if (index >= 0 && index < this.entries.length && this.entries[(int) index] == instruction) {
+      this.assembly[(int) index] = text;
+    }
+  }
+
+  /**
+   * Descarta a entrada da palavra que contém esse endereço.
+   *
+   * @param address endereço escrito (qualquer byte da palavra).
+   */
+  public void invalidate(long address) {
+    long index = (address - this.baseAddress) >> 2;
+
+    if (index >= 0 && index < this.entries.length) {
+      this.entries[(int) index] = null;
+      this.assembly[(int) index] = null;
+      this.compiled[(int) index] = null;
+
+      if (this.invalidationListener != null) {
+        this.invalidationListener.accept(address);
+      }
+    }
+  }
+
+  /**
+   * Checa se esse endereço pertence ao programa carregado (ou seja, possui entrada na cache).
+   *
+   * @param address endereço qualquer.
+   * @return true caso o endereço esteja no segmento `text` do programa.
+   */
+  public boolean contains(long address) {
+    long index = (address - this.baseAddress) >> 2;
+    return index >= 0 && index < this.entries.length;
+  }
+
+  /**
+   * Registra quem deve ser notificado quando uma palavra do programa for invalidada.
+   *
+   * @param listener recebe o endereço escrito.
+   */
+  public void setInvalidationListener(LongConsumer listener) {
+    this.invalidationListener = listener;
+  }
+
+  /**
+   * Quantidade de instruções obtidas da cache.
+   *
+   * @return número de acertos.
+   */
+  public long hits() {
+    return this.hits;
+  }
+
+  /**
+   * Quantidade de instruções que precisaram ser decodificadas.
+   *
+   * @return número de falhas.
+   */
+  public long misses() {
+    return this.misses;
+  }
+
+}
@@ -1,13 +1,8 @@
 package br.ufrpe.mips.simulator.utils.disassembler;
 
-import java.util.Arrays;
-
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
 import br.ufrpe.mips.simulator.utils.instruction.InstructionFields;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionType;
 import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields.IField;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields.JField;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields.RField;
 
 /**
  * Classe utilitária que implementa todo processo de tradução de uma instrução
@@ -36,133 +31,84 @@ public final class MIPSDisassembler {
    *         instrução.
    */
   public static AssemblyInstruction toAssembly(String hexInstruction) {
-    long inst = Long.decode(hexInstruction);
-    String binary = Long.toBinaryString(inst);
-
-    // Adicionando 0's na frente para completar 32 bits
-    binary = "0".repeat(32 - binary.length()) + binary;
-
-    // Obtendo primeiro campo: opcode
-    int opcode = fromBinary(binary, 0, 5);
-
-    // Obtendo tipo da instrução
-    InstructionType type = Arrays.stream(MIPSInstruction.values()).filter(i -> i.opcode() == opcode).findFirst()
-        .orElseThrow().type();
-
-    // Obtendo todos os campos da instrução
-    int[] f = MIPSDisassembler.getFields(binary, type, opcode);
-    InstructionFields fields = new InstructionFields(type, f);
-
-    // Variável auxiliar para ser utilizada dentro da função lambda
-    InstructionFields fFields = fields;
-
-    // Obter instrução
-    MIPSInstruction instruction = Arrays.stream(MIPSInstruction.values())
-        .filter(i -> {
-          // Checando se as informações batem
-          if (i.opcode() == opcode) {
-            if (i.type() == type) {
-              if (i.type() == InstructionType.R) {
-                return i.funct().get() == fFields.asRField().funct();
-              }
+    DecodedInstruction decoded = MIPSDisassembler.decode((int) (long) Long.decode(hexInstruction));
+    String assembly = MIPSDisassembler.assemblyFromInstruction(decoded);
 
-              return true;
-            } else if (i.type() == InstructionType.SYSCALL && type == InstructionType.R) {
-              return i.funct().get() == fFields.asRField().funct();
-            }
-          }
-
-          return false;
-        })
-        .findFirst()
-        .orElseThrow();
-
-    // Caso a instrução seja um SYSCALL, atualizar tipo.
-    if (instruction == MIPSInstruction.SYSCALL) {
-      fields = new InstructionFields(InstructionType.SYSCALL, fields.fields());
-    }
-
-    String assembly = assemblyFromInstruction(instruction, fields);
-
-    return new AssemblyInstruction(assembly, instruction, fields);
+    return new AssemblyInstruction(assembly, decoded.instruction(), decoded.fields());
   }
 
-  private static int[] getFields(String binary, InstructionType type, int opcode) {
-    return switch (type) {
-      case R, SYSCALL -> new int[] { opcode,
-          fromBinary(binary, 6, 10),
-          fromBinary(binary, 11, 15),
-          fromBinary(binary, 16, 20),
-          fromBinary(binary, 21, 25),
-          fromBinary(binary, 26, 31) };
-      case I -> new int[] { opcode,
-          fromBinary(binary, 6, 10),
-          fromBinary(binary, 11, 15),
-          (short) fromBinary(binary, 16, 31) // constante 16-bits
-      };
-      case J -> new int[] { opcode,
-          4 * fromBinary(binary, 6, 31) // endereço real é 4 vezes o valor do campo
-      };
-    };
-  }
+  /**
+   * Decodifica uma instrução MIPS de 32 bits.
+   * 
+   * A instrução é obtida através de tabelas indexadas pelo opcode/funct, e os campos
+   * são extraídos da própria palavra sob demanda.
+   * 
+   * @param instruction palavra de 32 bits.
+   * @return {@link DecodedInstruction}.
+   * @throws IllegalArgumentException caso a instrução não seja suportada.
+   */
+  public static DecodedInstruction decode(int instruction) {
+    int opcode = instruction >>> 26;
+    int funct = instruction & 0b111111;
+    MIPSInstruction i = MIPSInstruction.fromOpcode(opcode, funct);
+
+    if (i == null) {
+      String msg = "Instrução desconhecida: 0x%08x.".formatted(instruction);
+      throw new IllegalArgumentException(msg);
+    }
 
-  private static int fromBinary(String binary, int start, int endInclusive) {
-    return Integer.parseInt(binary.substring(start, endInclusive + 1), 2);
+    return new DecodedInstruction(i, instruction);
   }
 
-  private static String assemblyFromInstruction(MIPSInstruction instruction, InstructionFields fields) {
-    RField r = null;
-    IField i = null;
-    JField j = null;
-
-    switch (fields.type()) {
-      case R, SYSCALL -> r = fields.asRField();
-      case I -> i = fields.asIField();
-      case J -> j = fields.asJField();
-    }
-
-    return switch (instruction) {
-      case DIV -> "div $%d, $%d".formatted(r.rs(), r.rt());
-      case MULT -> "mult $%d, $%d".formatted(r.rs(), r.rt());
-      case MFLO -> "mflo $%d".formatted(r.rd());
-      case MFHI -> "mfhi $%d".formatted(r.rd());
-      case ADD -> "add $%d, $%d, $%d".formatted(r.rd(), r.rs(), r.rt());
-      case ADDU -> "addu $%d, $%d, $%d".formatted(r.rd(), r.rs(), r.rt());
-      case SUB -> "sub $%d, $%d, $%d".formatted(r.rd(), r.rs(), r.rt());
-      case ADDI -> "addi $%d, $%d, %d".formatted(i.rt(), i.rs(), i.immediate());
-      case ADDIU -> "addiu $%d, $%d, %d".formatted(i.rt(), i.rs(), i.immediate());
-      case ANDI -> "andi $%d, $%d, %d".formatted(i.rt(), i.rs(), i.immediate());
-      case J -> "j %d".formatted(Integer.toUnsignedLong(j.address()));
-      case LW -> "lw $%d, %d($%d)".formatted(i.rt(), i.immediate(), i.rs());
-      case SW -> "sw $%d, %d($%d)".formatted(i.rt(), i.immediate(), i.rs());
-      case JR -> "jr $%d".formatted(r.rs());
-      case JAL -> "jal %d".formatted(Integer.toUnsignedLong(j.address()));
-      case BEQ -> "beq $%d, $%d, %d".formatted(i.rs(), i.rt(), i.immediate());
-      case BNE -> "bne $%d, $%d, %d".formatted(i.rs(), i.rt(), i.immediate());
-      case BLEZ -> "blez $%d, $%d".formatted(i.rs(), i.immediate());
-      case BLTZ -> "bltz $%d, $%d".formatted(i.rs(), i.immediate());
-      case BGTZ -> "bgtz $%d, $%d".formatted(i.rs(), i.immediate());
-      case LUI -> "lui $%d, %d".formatted(i.rt(), i.immediate());
-      case LB -> "lb $%d, %d($%d)".formatted(i.rt(), i.immediate(), i.rs());
-      case LBU -> "lbu $%d, %d($%d)".formatted(i.rt(), i.immediate(),i.rs());
-      case SB -> "sb $%d, %d($%d)".formatted(i.rt(), i.immediate(), i.rs());
-      case DIVU -> "divu $%d, $%d".formatted(r.rs(), r.rt());
-      case SUBU -> "subu $%d, $%d, $%d".formatted(r.rd(), r.rs(), r.rt());
-      case MULTU -> "multu $%d, $%d".formatted(r.rs(), r.rt());
-      case SLLV -> "sllv $%d, $%d, $%d".formatted(r.rd(), r.rt(), r.rs());
-      case SRLV -> "srlv $%d, $%d, $%d".formatted(r.rd(), r.rt(), r.rs());
-      case SRAV -> "srav $%d, $%d, $%d".formatted(r.rd(), r.rt(), r.rs());
-      case ORI -> "ori $%d, $%d, %d".formatted(i.rt(), i.rs(), i.immediate());
-      case XORI -> "xori $%d, $%d, %d".formatted(i.rt(), i.rs(), i.immediate());
-      case SLL -> "sll $%d, $%d, %d".formatted(r.rd(), r.rt(), r.shamt());
-      case SLT -> "slt $%d, $%d, $%d".formatted(r.rd(), r.rs(), r.rt());
-      case SRL -> "srl $%d, $%d, %d".formatted(r.rd(), r.rt(), r.shamt());
-      case SLTI -> "slti $%d, $%d, %d".formatted(i.rt(), i.rs(), i.immediate());
-      case SRA -> "sra $%d, $%d, %d".formatted(r.rd(), r.rt(), r.shamt());
-      case XOR -> "xor $%d, $%d, $%d".formatted(r.rd(), r.rs(), r.rt());
-      case OR -> "or $%d, $%d, $%d".formatted(r.rd(), r.rs(), r.rt());
-      case NOR -> "nor $%d, $%d, $%d".formatted(r.rd(), r.rs(), r.rt());
-      case AND -> "and $%d, $%d, $%d".formatted(r.rd(), r.rs(), r.rt());
+  /**
+   * Retorna a representação em Assembly para MIPS de uma instrução decodificada.
+   * 
+   * @param d instrução decodificada.
+   * @return representação em assembly.
+   */
+  public static String assemblyFromInstruction(DecodedInstruction d) {
+    return switch (d.instruction()) {
+      case DIV -> "div $%d, $%d".formatted(d.rs(), d.rt());
+      case MULT -> "mult $%d, $%d".formatted(d.rs(), d.rt());
+      case MFLO -> "mflo $%d".formatted(d.rd());
+      case MFHI -> "mfhi $%d".formatted(d.rd());
+      case ADD -> "add $%d, $%d, $%d".formatted(d.rd(), d.rs(), d.rt());
+      case ADDU -> "addu $%d, $%d, $%d".formatted(d.rd(), d.rs(), d.rt());
+      case SUB -> "sub $%d, $%d, $%d".formatted(d.rd(), d.rs(), d.rt());
+      case ADDI -> "addi $%d, $%d, %d".formatted(d.rt(), d.rs(), d.immediate());
+      case ADDIU -> "addiu $%d, $%d, %d".formatted(d.rt(), d.rs(), d.immediate());
+      case ANDI -> "andi $%d, $%d, %d".formatted(d.rt(), d.rs(), d.immediate());
+      case J -> "j %d".formatted(Integer.toUnsignedLong(d.address()));
+      case LW -> "lw $%d, %d($%d)".formatted(d.rt(), d.immediate(), d.rs());
+      case SW -> "sw $%d, %d($%d)".formatted(d.rt(), d.immediate(), d.rs());
+      case JR -> "jr $%d".formatted(d.rs());
+      case JAL -> "jal %d".formatted(Integer.toUnsignedLong(d.address()));
+      case BEQ -> "beq $%d, $%d, %d".formatted(d.rs(), d.rt(), d.immediate());
+      case BNE -> "bne $%d, $%d, %d".formatted(d.rs(), d.rt(), d.immediate());
+      case BLEZ -> "blez $%d, $%d".formatted(d.rs(), d.immediate());
+      case BLTZ -> "bltz $%d, $%d".formatted(d.rs(), d.immediate());
+      case BGTZ -> "bgtz $%d, $%d".formatted(d.rs(), d.immediate());
+      case LUI -> "lui $%d, %d".formatted(d.rt(), d.immediate());
+      case LB -> "lb $%d, %d($%d)".formatted(d.rt(), d.immediate(), d.rs());
+      case LBU -> "lbu $%d, %d($%d)".formatted(d.rt(), d.immediate(),d.rs());
+      case SB -> "sb $%d, %d($%d)".formatted(d.rt(), d.immediate(), d.rs());
+      case DIVU -> "divu $%d, $%d".formatted(d.rs(), d.rt());
+      case SUBU -> "subu $%d, $%d, $%d".formatted(d.rd(), d.rs(), d.rt());
+      case MULTU -> "multu $%d, $%d".formatted(d.rs(), d.rt());
+      case SLLV -> "sllv $%d, $%d, $%d".formatted(d.rd(), d.rt(), d.rs());
+      case SRLV -> "srlv $%d, $%d, $%d".formatted(d.rd(), d.rt(), d.rs());
+      case SRAV -> "srav $%d, $%d, $%d".formatted(d.rd(), d.rt(), d.rs());
+      case ORI -> "ori $%d, $%d, %d".formatted(d.rt(), d.rs(), d.immediate());
+      case XORI -> "xori $%d, $%d, %d".formatted(d.rt(), d.rs(), d.immediate());
+      case SLL -> "sll $%d, $%d, %d".formatted(d.rd(), d.rt(), d.shamt());
+      case SLT -> "slt $%d, $%d, $%d".formatted(d.rd(), d.rs(), d.rt());
+      case SRL -> "srl $%d, $%d, %d".formatted(d.rd(), d.rt(), d.shamt());
+      case SLTI -> "slti $%d, $%d, %d".formatted(d.rt(), d.rs(), d.immediate());
+      case SRA -> "sra $%d, $%d, %d".formatted(d.rd(), d.rt(), d.shamt());
+      case XOR -> "xor $%d, $%d, $%d".formatted(d.rd(), d.rs(), d.rt());
+      case OR -> "or $%d, $%d, $%d".formatted(d.rd(), d.rs(), d.rt());
+      case NOR -> "nor $%d, $%d, $%d".formatted(d.rd(), d.rs(), d.rt());
+      case AND -> "and $%d, $%d, $%d".formatted(d.rd(), d.rs(), d.rt());
       case SYSCALL -> "syscall";
       default -> "";
     };
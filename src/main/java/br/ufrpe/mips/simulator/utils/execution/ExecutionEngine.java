@@ -0,0 +1,15 @@
+package br.ufrpe.mips.simulator.utils.execution;
+
+/**
+ * Estratégias de execução disponíveis no processador.
+ * 
+ * INTERPRETER decodifica e despacha cada instrução através dos runners;
+ * THREADED_CODE traduz o segmento `text` em handlers pré-configurados no carregamento;
+ * JIT interpreta e compila blocos básicos quentes para bytecode durante execuções em lote;
+ * JIT_CHECKED é o JIT em modo de verificação: cada bloco compilado é comparado com o interpretador.
+ * 
+ * @version 1.0
+ */
+public enum ExecutionEngine {
+  INTERPRETER, THREADED_CODE, JIT, JIT_CHECKED;
+}
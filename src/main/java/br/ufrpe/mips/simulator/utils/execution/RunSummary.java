@@ -0,0 +1,11 @@
+package br.ufrpe.mips.simulator.utils.execution;
+
+/**
+ * Classe utilitária, resume uma execução em lote: quantidade de instruções executadas e motivo
+ * da parada.
+ * 
+ * @version 1.0
+ */
+public record RunSummary(long steps, StopReason reason) {
+
+}
@@ -0,0 +1,116 @@
+package br.ufrpe.mips.simulator.utils.execution;
+
+import java.util.Arrays;
+
+/**
+ * Classe utilitária, determina quando uma execução em lote deve ser interrompida.
+ * 
+ * A execução sempre para quando não existem mais instruções. Além disso, pode parar ao atingir
+ * o limite de instruções, quando o PC alcança um dos breakpoints (após executar ao menos uma
+ * instrução) ou logo após um SYSCALL.
+ * 
+ * Os breakpoints são copiados e ordenados na construção, e o vetor nunca é exposto: a condição
+ * é imutável e comparada pelo conteúdo.
+ * 
+ * @version 1.0
+ */
+public record StopCondition(long maxSteps, long[] breakpoints, boolean stopOnSyscall) {
+
+  public StopCondition {
+    breakpoints = breakpoints.clone();
+    Arrays.sort(breakpoints);
+  }
+
+  /**
+   * Executa até o fim do programa.
+   * 
+   * @return {@link StopCondition} sem limites.
+   */
+  public static StopCondition halt() {
+    return new StopCondition(Long.MAX_VALUE, new long[0], false);
+  }
+
+  /**
+   * Executa no máximo essa quantidade de instruções.
+   * 
+   * @param maxSteps quantidade máxima de instruções.
+   * @return {@link StopCondition}.
+   */
+  public static StopCondition steps(long maxSteps) {
+    return new StopCondition(maxSteps, new long[0], false);
+  }
+
+  /**
+   * Retorna uma cópia dessa condição com os breakpoints informados.
+   * 
+   * @param addresses endereços das instruções.
+   * @return {@link StopCondition}.
+   */
+  public StopCondition withBreakpoints(long... addresses) {
+    return new StopCondition(this.maxSteps, addresses, this.stopOnSyscall);
+  }
+
+  /**
+   * Retorna uma cópia dessa condição que também para após cada SYSCALL.
+   * 
+   * @return {@link StopCondition}.
+   */
+  public StopCondition withSyscallStop() {
+    return new StopCondition(this.maxSteps, this.breakpoints, true);
+  }
+
+  /**
+   * @return cópia dos breakpoints (ordenados).
+   */
+  @Override
+  public long[] breakpoints() {
+    return this.breakpoints.clone();
+  }
+
+  /**
+   * Checa se existe um breakpoint nesse endereço.
+   * 
+   * @param address endereço da próxima instrução.
+   * @return true caso a execução deva parar nesse endereço.
+   */
+  public boolean isBreakpoint(long address) {
+    return Arrays.binarySearch(this.breakpoints, address) >= 0;
+  }
+
+  /**
+   * Checa se existe um breakpoint nesse intervalo de endereços.
+   * 
+   * @param from endereço inicial (inclusivo).
+   * @param to endereço final (inclusivo).
+   * @return true caso algum breakpoint esteja no intervalo.
+   */
+  public boolean hasBreakpointBetween(long from, long to) {
+    // Primeiro breakpoint >= from
+    int i = Arrays.binarySearch(this.breakpoints, from);
+    if (i < 0) {
+      i = -i - 1;
+    }
+
+    return i < this.breakpoints.length && this.breakpoints[i] <= to;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof StopCondition other && this.maxSteps == other.maxSteps
+        && this.stopOnSyscall == other.stopOnSyscall
+        && Arrays.equals(this.breakpoints, other.breakpoints);
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = Long.hashCode(this.maxSteps);
+    hash = 31 * hash + Arrays.hashCode(this.breakpoints);
+    return 31 * hash + Boolean.hashCode(this.stopOnSyscall);
+  }
+
+  @Override
+  public String toString() {
+    return "StopCondition[maxSteps=%d, breakpoints=%s, stopOnSyscall=%b]".formatted(this.maxSteps,
+        Arrays.toString(this.breakpoints), this.stopOnSyscall);
+  }
+}
@@ -0,0 +1,10 @@
+package br.ufrpe.mips.simulator.utils.execution;
+
+/**
+ * Motivo pelo qual uma execução em lote foi interrompida.
+ * 
+ * @version 1.0
+ */
+public enum StopReason {
+  HALTED, BREAKPOINT, SYSCALL, STEP_LIMIT;
+}
@@ -0,0 +1,77 @@
+package br.ufrpe.mips.simulator.utils.instruction;
+
+/**
+ * Classe utilitária, representa uma instrução MIPS já decodificada a partir da sua palavra de 32
+ * bits.
+ *
+ * Os campos são extraídos diretamente da palavra (deslocamentos e máscaras), sem vetores ou
+ * objetos intermediários. Cada método só faz sentido para o formato correspondente da instrução
+ * (R, I ou J).
+ *
+ * @version 1.0
+ */
+public record DecodedInstruction(MIPSInstruction instruction, int word) {
+
+  public InstructionType type() {
+    return this.instruction.type();
+  }
+
+  public int opcode() {
+    return this.word >>> 26;
+  }
+
+  public int rs() {
+    return (this.word >>> 21) & 0b11111;
+  }
+
+  public int rt() {
+    return (this.word >>> 16) & 0b11111;
+  }
+
+  public int rd() {
+    return (this.word >>> 11) & 0b11111;
+  }
+
+  public int shamt() {
+    return (this.word >>> 6) & 0b11111;
+  }
+
+  public int funct() {
+    return this.word & 0b111111;
+  }
+
+  /**
+   * Constante de 16 bits (com extensão de sinal) das instruções tipo I.
+   *
+   * @return inteiro 32-bits.
+   */
+  public int immediate() {
+    return (short) this.word;
+  }
+
+  /**
+   * Endereço das instruções tipo J (4 vezes o valor do campo).
+   *
+   * @return inteiro 32-bits.
+   */
+  public int address() {
+    return (this.word & 0x03ffffff) << 2;
+  }
+
+  /**
+   * Converte essa instrução para a representação baseada em vetor.
+   *
+   * @return {@link InstructionFields} equivalente.
+   */
+  public InstructionFields fields() {
+    int[] f = switch (this.type()) {
+      case R, SYSCALL -> new int[] {this.opcode(), this.rs(), this.rt(), this.rd(), this.shamt(),
+          this.funct()};
+      case I -> new int[] {this.opcode(), this.rs(), this.rt(), this.immediate()};
+      case J -> new int[] {this.opcode(), this.address()};
+    };
+
+    return new InstructionFields(this.type(), f);
+  }
+
+}
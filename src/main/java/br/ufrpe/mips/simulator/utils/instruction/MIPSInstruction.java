@@ -52,6 +52,21 @@ public enum MIPSInstruction {
   JAL(InstructionType.J, 3, null),
   SYSCALL(InstructionType.SYSCALL, 0, 12);
 
+  // Tabelas de busca: instruções tipo R (opcode 0) são indexadas pelo funct,
+  // as demais pelo opcode.
+  private static final MIPSInstruction[] byOpcode = new MIPSInstruction[64];
+  private static final MIPSInstruction[] byFunct = new MIPSInstruction[64];
+
+  static {
+    for (MIPSInstruction i : MIPSInstruction.values()) {
+      if (i.funct.isPresent()) {
+        byFunct[i.funct.get()] = i;
+      } else {
+        byOpcode[i.opcode] = i;
+      }
+    }
+  }
+
   private InstructionType instructionType;
   private int opcode;
   private Optional<Integer> funct;
@@ -74,4 +89,15 @@ public enum MIPSInstruction {
     return this.instructionType;
   }
 
+  /**
+   * Retorna a instrução com esse opcode e funct ou null (caso não seja suportada).
+   * 
+   * @param opcode 6 bits mais significativos da instrução.
+   * @param funct 6 bits menos significativos da instrução (apenas para opcode 0).
+   * @return {@link MIPSInstruction} ou null.
+   */
+  public static MIPSInstruction fromOpcode(int opcode, int funct) {
+    return opcode == 0 ? byFunct[funct & 0b111111] : byOpcode[opcode & 0b111111];
+  }
+
 }
@@ -0,0 +1,366 @@
+package br.ufrpe.mips.simulator.utils.jit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
+import br.ufrpe.mips.simulator.utils.jit.ClassFileBuilder.Code;
+
+/**
+ * Classe utilitária, gera uma classe oculta (hidden class) que executa um bloco básico inteiro.
+ *
+ * Os registradores ficam em um vetor de inteiros: posições 0-31 são os registradores comuns,
+ * seguidos de HI, LO e de posições usadas para comunicar como o bloco terminou (quantidade de
+ * instruções executadas, endereço da instrução que gerou exceção e da última que gerou overflow).
+ * Escritas em $0 vão para uma posição descartada, de forma que $0 continua valendo 0.
+ * A semântica de cada instrução é a mesma dos runners em
+ * {@link br.ufrpe.mips.simulator.utils.operation}.
+ *
+ * @version 1.0
+ */
+final class BlockCompiler {
+
+  // Posições do banco de registradores
+  static final int HI = 32;
+  static final int LO = 33;
+  static final int FAULT_PC = 34;
+  static final int STEPS = 35;
+  static final int OVERFLOW = 36;
+  static final int DISCARD = 37;
+  static final int SLOTS = 38;
+
+  private static final int RA = 31;
+
+  // Variáveis locais do método gerado
+  private static final int REGS = 1;
+  private static final int CONTEXT = 2;
+  private static final int V1 = 3;
+  private static final int V2 = 4;
+  private static final int RESULT = 5;
+  private static final int PRODUCT = 6;
+
+  // Nomes internos utilizados no bytecode
+  private static final String PACKAGE = "br/ufrpe/mips/simulator/utils/jit/";
+  private static final String CONTEXT_CLASS = PACKAGE + "BlockContext";
+  private static final String RUN_DESCRIPTOR = "([IL" + CONTEXT_CLASS + ";)I";
+
+  private final Lookup lookup = MethodHandles.lookup();
+
+  /**
+   * Compila as instruções a partir desse endereço.
+   *
+   * @param start endereço da primeira instrução.
+   * @param instructions instruções do bloco (apenas a última pode ser desvio/pulo, SYSCALL não é
+   *        permitido).
+   * @return {@link JitBlock}.
+   */
+  JitBlock compile(long start, DecodedInstruction[] instructions) {
+    ClassFileBuilder cf = new ClassFileBuilder();
+
+    // Construtor padrão
+    Code init = cf.code(1, 1);
+    init.aload(0).invokespecial("java/lang/Object", "<init>", "()V").op(ClassFileBuilder.RETURN);
+    cf.method(ClassFileBuilder.ACC_PUBLIC, "<init>", "()V", init);
+
+    Code code = cf.code(10, 8);
+    long registers = 0L;
+
+    for (int k = 0; k < instructions.length; k++) {
+      registers |= this.emit(code, start + 4L * k, k, instructions.length, instructions[k]);
+    }
+
+    // Bloco sem desvio/pulo no final segue para a próxima instrução
+    DecodedInstruction last = instructions[instructions.length - 1];
+    if (!BlockCompiler.isTerminator(last)) {
+      this.exit(code, instructions.length).iconst((int) (start + 4L * instructions.length))
+          .op(ClassFileBuilder.IRETURN);
+    }
+
+    cf.method(ClassFileBuilder.ACC_PUBLIC, "run", RUN_DESCRIPTOR, code);
+    byte[] bytes = cf.toByteArray(PACKAGE + "Block", "java/lang/Object", PACKAGE + "CompiledBlock");
+
+    try {
+      Lookup hidden = this.lookup.defineHiddenClass(bytes, true);
+      CompiledBlock block = (CompiledBlock) hidden
+          .findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+
+      return new JitBlock(start, instructions, registers, block);
+    } catch (Throwable e) {
+      throw new IllegalStateException(
+          "Não foi possível compilar o bloco em 0x%08x.".formatted(start), e);
+    }
+  }
+
+  /**
+   * Checa se a instrução encerra um bloco básico (desvio ou pulo).
+   *
+   * @param d instrução decodificada.
+   * @return true caso seja desvio/pulo.
+   */
+  static boolean isTerminator(DecodedInstruction d) {
+    return switch (d.instruction()) {
+      case J, JAL, JR, BEQ, BNE, BLEZ, BLTZ, BGTZ -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * Gera o bytecode de uma instrução.
+   *
+   * @return máscara dos registradores envolvidos.
+   */
+  private long emit(Code c, long address, int index, int length, DecodedInstruction d) {
+    int rs = d.rs();
+    int rt = d.rt();
+    int rd = d.rd();
+    int imm = d.immediate();
+    int next = (int) (address + 4);
+    int branch = (int) (address + 4 + imm * 4L);
+    long rsRtRd = (1L << rs) | (1L << rt) | (1L << rd);
+    long rsRt = (1L << rs) | (1L << rt);
+
+    switch (d.instruction()) {
+      case ADD -> this.overflowing(c, address, rd, rs, rt, null, ClassFileBuilder.IADD);
+      case SUB -> this.overflowing(c, address, rd, rs, rt, null, ClassFileBuilder.ISUB);
+      case ADDI -> this.overflowing(c, address, rt, rs, -1, imm, ClassFileBuilder.IADD);
+      case ADDU -> this.binary(c, rd, rs, rt, ClassFileBuilder.IADD);
+      case SUBU -> this.binary(c, rd, rs, rt, ClassFileBuilder.ISUB);
+      case AND -> this.binary(c, rd, rt, rs, ClassFileBuilder.IAND);
+      case OR -> this.binary(c, rd, rt, rs, ClassFileBuilder.IOR);
+      case XOR -> this.binary(c, rd, rt, rs, ClassFileBuilder.IXOR);
+      case NOR -> {
+        this.target(c, rd);
+        this.reg(c, rt);
+        this.reg(c, rs).op(ClassFileBuilder.IOR).iconst(-1).op(ClassFileBuilder.IXOR)
+            .op(ClassFileBuilder.IASTORE);
+      }
+      case SLLV -> this.binary(c, rd, rt, rs, ClassFileBuilder.ISHL);
+      case SRLV -> this.binary(c, rd, rt, rs, ClassFileBuilder.IUSHR);
+      case SRAV -> this.binary(c, rd, rt, rs, ClassFileBuilder.ISHR);
+      case SLL -> this.shift(c, rd, rt, d.shamt(), ClassFileBuilder.ISHL);
+      case SRL -> this.shift(c, rd, rt, d.shamt(), ClassFileBuilder.IUSHR);
+      case SRA -> this.shift(c, rd, rt, d.shamt(), ClassFileBuilder.ISHR);
+      case SLT -> {
+        this.target(c, rd);
+        this.reg(c, rs);
+        this.reg(c, rt);
+        this.lessThan(c);
+      }
+      case SLTI -> {
+        this.target(c, rt);
+        this.reg(c, rs).iconst(imm);
+        this.lessThan(c);
+      }
+      case ADDIU -> this.immediate(c, rt, rs, imm, ClassFileBuilder.IADD);
+      case ANDI -> this.immediate(c, rt, rs, imm, ClassFileBuilder.IAND);
+      case ORI -> this.immediate(c, rt, rs, imm, ClassFileBuilder.IOR);
+      case XORI -> this.immediate(c, rt, rs, imm, ClassFileBuilder.IXOR);
+      case LUI -> this.target(c, rt).iconst(imm << 16).op(ClassFileBuilder.IASTORE);
+      case MFLO -> {
+        this.target(c, rd);
+        this.reg(c, LO).op(ClassFileBuilder.IASTORE);
+        return (1L << rd) | (1L << LO);
+      }
+      case MFHI -> {
+        this.target(c, rd);
+        this.reg(c, HI).op(ClassFileBuilder.IASTORE);
+        return (1L << rd) | (1L << HI);
+      }
+      case MULT, MULTU -> {
+        String widen = d.instruction() == MIPSInstruction.MULT ? null : "toUnsignedLong";
+        this.reg(c, rs);
+        this.widen(c, widen);
+        this.reg(c, rt);
+        this.widen(c, widen);
+        c.op(ClassFileBuilder.LMUL).lstore(PRODUCT);
+        this.target(c, LO).lload(PRODUCT).op(ClassFileBuilder.L2I).op(ClassFileBuilder.IASTORE);
+        this.target(c, HI).lload(PRODUCT).iconst(32).op(ClassFileBuilder.LUSHR)
+            .op(ClassFileBuilder.L2I).op(ClassFileBuilder.IASTORE);
+        return rsRt | (1L << HI) | (1L << LO);
+      }
+      case DIV -> {
+        // Divisão por 0 gera exceção, assim como no interpretador
+        this.fault(c, address);
+        this.reg(c, rs).istore(V1);
+        this.reg(c, rt).istore(V2);
+        this.target(c, LO).iload(V1).iload(V2).op(ClassFileBuilder.IDIV)
+            .op(ClassFileBuilder.IASTORE);
+        this.target(c, HI).iload(V1).iload(V2).op(ClassFileBuilder.IREM)
+            .op(ClassFileBuilder.IASTORE);
+        return rsRt | (1L << HI) | (1L << LO);
+      }
+      case DIVU -> {
+        this.reg(c, rs).istore(V1);
+        this.reg(c, rt).istore(V2);
+        this.target(c, LO).iload(V1).iload(V2).invokestatic(CONTEXT_CLASS, "divu", "(II)I")
+            .op(ClassFileBuilder.IASTORE);
+        this.target(c, HI).iload(V1).iload(V2).invokestatic(CONTEXT_CLASS, "remu", "(II)I")
+            .op(ClassFileBuilder.IASTORE);
+        return rsRt | (1L << HI) | (1L << LO);
+      }
+      case LW, LB, LBU -> {
+        String method = switch (d.instruction()) {
+          case LW -> "readWord";
+          case LB -> "readByte";
+          default -> "readByteUnsigned";
+        };
+
+        this.fault(c, address);
+        this.target(c, rt).aload(CONTEXT);
+        this.effectiveAddress(c, rs, imm);
+        c.invokevirtual(CONTEXT_CLASS, method, "(J)I").op(ClassFileBuilder.IASTORE);
+        return rsRt;
+      }
+      case SW, SB -> {
+        String method = d.instruction() == MIPSInstruction.SW ? "writeWord" : "writeByte";
+        int proceed = c.label();
+
+        this.fault(c, address);
+        c.aload(CONTEXT);
+        this.effectiveAddress(c, rs, imm);
+        this.reg(c, rt);
+        c.invokevirtual(CONTEXT_CLASS, method, "(JI)Z").jump(ClassFileBuilder.IFEQ, proceed);
+
+        // Escrita no segmento `text`: encerrar bloco, a próxima instrução pode ter mudado
+        this.exit(c, index + 1).iconst(next).op(ClassFileBuilder.IRETURN);
+        c.mark(proceed);
+        return rsRt;
+      }
+      case J -> this.exit(c, length).iconst(d.address()).op(ClassFileBuilder.IRETURN);
+      case JAL -> {
+        this.target(c, RA).iconst(next).op(ClassFileBuilder.IASTORE);
+        this.exit(c, length).iconst(d.address()).op(ClassFileBuilder.IRETURN);
+        return 1L << RA;
+      }
+      case JR -> {
+        this.exit(c, length);
+        this.reg(c, rs).op(ClassFileBuilder.IRETURN);
+        return 1L << rs;
+      }
+      case BEQ -> this.branch(c, length, rs, rt, ClassFileBuilder.IF_ICMPNE, branch, next);
+      case BNE -> this.branch(c, length, rs, rt, ClassFileBuilder.IF_ICMPEQ, branch, next);
+      case BLEZ -> this.branch(c, length, rs, -1, ClassFileBuilder.IFGT, branch, next);
+      case BLTZ -> this.branch(c, length, rs, -1, ClassFileBuilder.IFGE, branch, next);
+      case BGTZ -> this.branch(c, length, rs, -1, ClassFileBuilder.IFLE, branch, next);
+      default -> throw new IllegalArgumentException(
+          "Instrução não suportada em blocos compilados: %s.".formatted(d.instruction().name()));
+    }
+
+    return switch (d.type()) {
+      case R -> rsRtRd;
+      default -> rsRt;
+    };
+  }
+
+  // Empilha o valor do registrador
+  private Code reg(Code c, int register) {
+    return c.aload(REGS).iconst(register).op(ClassFileBuilder.IALOAD);
+  }
+
+  // Empilha vetor e posição do registrador de destino (valor e IASTORE em seguida)
+  private Code target(Code c, int register) {
+    return c.aload(REGS).iconst(register == 0 ? DISCARD : register);
+  }
+
+  // Ao encerrar o bloco: quantidade de instruções executadas
+  private Code exit(Code c, int steps) {
+    return this.target(c, STEPS).iconst(steps).op(ClassFileBuilder.IASTORE);
+  }
+
+  // Antes de instruções que podem gerar exceção: endereço da instrução
+  private void fault(Code c, long address) {
+    this.target(c, FAULT_PC).iconst((int) address).op(ClassFileBuilder.IASTORE);
+  }
+
+  private void binary(Code c, int dest, int first, int second, int opcode) {
+    this.target(c, dest);
+    this.reg(c, first);
+    this.reg(c, second).op(opcode).op(ClassFileBuilder.IASTORE);
+  }
+
+  private void shift(Code c, int dest, int source, int shamt, int opcode) {
+    this.target(c, dest);
+    this.reg(c, source).iconst(shamt).op(opcode).op(ClassFileBuilder.IASTORE);
+  }
+
+  private void immediate(Code c, int dest, int source, int imm, int opcode) {
+    this.target(c, dest);
+    this.reg(c, source).iconst(imm).op(opcode).op(ClassFileBuilder.IASTORE);
+  }
+
+  // Consome dois inteiros e empilha 1 (primeiro < segundo) ou 0, seguido do IASTORE
+  private void lessThan(Code c) {
+    int no = c.label();
+    int done = c.label();
+
+    c.jump(ClassFileBuilder.IF_ICMPGE, no).iconst(1).jump(ClassFileBuilder.GOTO, done);
+    c.mark(no).iconst(0);
+    c.mark(done).op(ClassFileBuilder.IASTORE);
+  }
+
+  /**
+   * ADD/SUB/ADDI: em caso de overflow o destino não é alterado e o endereço da instrução é
+   * registrado (a saída "overflow" é gerada caso seja a última instrução executada).
+   */
+  private void overflowing(Code c, long address, int dest, int rs, int rt, Integer imm,
+      int opcode) {
+    int ok = c.label();
+    int done = c.label();
+
+    this.reg(c, rs).istore(V1);
+    if (imm == null) {
+      this.reg(c, rt).istore(V2);
+    } else {
+      c.iconst(imm).istore(V2);
+    }
+    c.iload(V1).iload(V2).op(opcode).istore(RESULT);
+
+    // Soma: sinais dos operandos iguais e diferentes do resultado.
+    // Subtração: sinais dos operandos diferentes e o do resultado diferente do primeiro.
+    if (opcode == ClassFileBuilder.IADD) {
+      c.iload(V1).iload(RESULT).op(ClassFileBuilder.IXOR);
+      c.iload(V2).iload(RESULT).op(ClassFileBuilder.IXOR);
+    } else {
+      c.iload(V1).iload(V2).op(ClassFileBuilder.IXOR);
+      c.iload(V1).iload(RESULT).op(ClassFileBuilder.IXOR);
+    }
+    c.op(ClassFileBuilder.IAND).jump(ClassFileBuilder.IFGE, ok);
+
+    this.target(c, OVERFLOW).iconst((int) address).op(ClassFileBuilder.IASTORE);
+    c.jump(ClassFileBuilder.GOTO, done);
+
+    c.mark(ok);
+    this.target(c, dest).iload(RESULT).op(ClassFileBuilder.IASTORE);
+    c.mark(done);
+  }
+
+  private void widen(Code c, String unsigned) {
+    if (unsigned == null) {
+      c.op(ClassFileBuilder.I2L);
+    } else {
+      c.invokestatic("java/lang/Integer", unsigned, "(I)J");
+    }
+  }
+
+  // Empilha (long) endereço sem sinal de rs + offset
+  private void effectiveAddress(Code c, int rs, int imm) {
+    this.reg(c, rs).invokestatic("java/lang/Integer", "toUnsignedLong", "(I)J");
+    c.lconst(imm).op(ClassFileBuilder.LADD);
+  }
+
+  // Desvio condicional: retorna `branch` caso a condição seja verdadeira, senão `next`
+  private void branch(Code c, int length, int rs, int rt, int negated, int branch, int next) {
+    int notTaken = c.label();
+
+    this.exit(c, length);
+    this.reg(c, rs);
+    if (rt >= 0) {
+      this.reg(c, rt);
+    }
+    c.jump(negated, notTaken).iconst(branch).op(ClassFileBuilder.IRETURN);
+    c.mark(notTaken).iconst(next).op(ClassFileBuilder.IRETURN);
+  }
+
+}
@@ -0,0 +1,121 @@
+package br.ufrpe.mips.simulator.utils.jit;
+
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.simulator.utils.cache.InstructionCache;
+import br.ufrpe.mips.simulator.utils.profiler.GuestProfiler;
+
+/**
+ * Classe utilitária, acesso à memória utilizado pelos blocos compilados.
+ *
+ * Escritas no segmento `text` invalidam a cache de instruções (e, por consequência, os blocos
+ * compilados que contêm a palavra escrita). Nesse caso o bloco em execução é encerrado logo após
+ * a escrita, e as próximas instruções são obtidas novamente da memória.
+ *
+ * @version 1.0
+ */
+public class BlockContext {
+
+  // Memória principal
+  final IMemoryManager memory;
+
+  // Cache de instruções decodificadas (invalidada por escritas no segmento `text`)
+  final InstructionCache cache;
+
+  // Contagem de acessos à memória (desabilitada quando null)
+  GuestProfiler profiler;
+
+  public BlockContext(IMemoryManager memory, InstructionCache cache) {
+    this.memory = memory;
+    this.cache = cache;
+  }
+
+  public int readWord(long address) {
+    if (this.profiler != null) {
+      this.profiler.read(address);
+    }
+
+    return this.memory.readWord(address);
+  }
+
+  public int readByte(long address) {
+    if (this.profiler != null) {
+      this.profiler.read(address);
+    }
+
+    return this.memory.readByte(address);
+  }
+
+  /**
+   * Leitura do LBU (mesmo ajuste de endereço realizado por LoadStore.LBU).
+   *
+   * @param address endereço calculado a partir de rs + offset.
+   * @return byte sem sinal.
+   */
+  public int readByteUnsigned(long address) {
+    long effective = switch ((int) (address % 4L)) {
+      case 0 -> address + 3;
+      case 1 -> address + 1;
+      case 2 -> address - 1;
+      case 3 -> address - 3;
+      default -> -1;
+    };
+
+    return this.readByte(effective) & 0xff;
+  }
+
+  /**
+   * Escreve uma palavra na memória.
+   *
+   * @param address endereço alinhado.
+   * @param value conteúdo.
+   * @return true caso a escrita tenha ocorrido no segmento `text` (o bloco deve ser encerrado).
+   */
+  public boolean writeWord(long address, int value) {
+    if (this.profiler != null) {
+      this.profiler.write(address);
+    }
+
+    this.memory.writeWord(address, value);
+    return this.invalidate(address);
+  }
+
+  /**
+   * Escreve um byte na memória.
+   *
+   * @param address endereço.
+   * @param value conteúdo (8 bits menos significativos).
+   * @return true caso a escrita tenha ocorrido no segmento `text` (o bloco deve ser encerrado).
+   */
+  public boolean writeByte(long address, int value) {
+    if (this.profiler != null) {
+      this.profiler.write(address);
+    }
+
+    this.memory.writeByte(address, (byte) value);
+    return this.invalidate(address);
+  }
+
+  boolean invalidate(long address) {
+    if (!this.cache.contains(address)) {
+      return false;
+    }
+
+    this.cache.invalidate(address);
+    return true;
+  }
+
+  /**
+   * Quociente do DIVU (divisão por 0 resulta em 0).
+   */
+  public static int divu(int v1, int v2) {
+    return v2 == 0 ? 0 : Integer.divideUnsigned(v1, v2);
+  }
+
+  /**
+   * Resto do DIVU (divisão por 0 resulta em 0).
+   */
+  public static int remu(int v1, int v2) {
+    return v2 == 0 ? 0 : Integer.remainderUnsigned(v1, v2);
+  }
+
+}
@@ -0,0 +1,478 @@
+package br.ufrpe.mips.simulator.utils.jit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.data.IRegister;
+import br.ufrpe.mips.simulator.utils.cache.InstructionCache;
+import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler;
+import br.ufrpe.mips.simulator.utils.execution.StopCondition;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
+import br.ufrpe.mips.simulator.utils.profiler.GuestProfiler;
+
+/**
+ * Classe utilitária, compilador de blocos básicos em tempo de execução.
+ *
+ * Cada entrada em um bloco básico (início do programa ou destino de um desvio/pulo) é contada;
+ * ao atingir {@link #HOT_THRESHOLD} entradas, as instruções a partir desse endereço até o próximo
+ * desvio/pulo são compiladas em uma classe oculta. SYSCALL nunca faz parte de um bloco e é
+ * sempre executada pelo interpretador.
+ *
+ * Blocos compilados são encadeados: ao final de um bloco, caso o próximo já esteja compilado, ele
+ * é executado diretamente, sem retornar ao interpretador, e os registradores permanecem no banco
+ * primitivo até o fim da sequência.
+ *
+ * Escritas no segmento `text` (notificadas pela {@link InstructionCache}) descartam os blocos que
+ * contêm a palavra escrita, que voltam a ser interpretados até ficarem quentes novamente. Ao
+ * carregar um programa, os blocos anteriores são mantidos e reaproveitados (sem aquecimento nem
+ * nova classe oculta) nos endereços em que as instruções não mudaram.
+ *
+ * @version 1.0
+ */
+public final class BlockJit {
+
+  // Entradas necessárias para compilar um bloco
+  public static final int HOT_THRESHOLD = 32;
+
+  // Quantidade máxima de instruções em um bloco
+  public static final int MAX_BLOCK_LENGTH = 64;
+
+  // Contador de blocos que não podem ser compilados (ex.: iniciam em SYSCALL)
+  private static final int NOT_COMPILABLE = -1;
+
+  private static final JitBlock[] EMPTY = new JitBlock[0];
+
+  // Memória principal e registradores
+  private final IMemoryManager memory;
+  private final IRegister pc;
+  private final IRegister[] registers;
+
+  // Cache de instruções decodificadas e endereço base do segmento `text`
+  private final InstructionCache cache;
+  private final long baseAddress;
+
+  private final BlockCompiler compiler = new BlockCompiler();
+  private final BlockContext context;
+  private final int threshold;
+
+  // Banco de registradores usado pelos blocos compilados
+  private final int[] file = new int[BlockCompiler.SLOTS];
+
+  // Blocos compilados e contadores de entrada, indexados por (endereço - base) / 4
+  private JitBlock[] blocks = EMPTY;
+  private int[] counters = new int[0];
+
+  // Blocos compilados em carregamentos anteriores (mesmo índice)
+  private JitBlock[] retired = EMPTY;
+
+  // Último bloco executado e quantidade de instruções executadas por ele
+  private JitBlock current;
+  private int currentSteps;
+
+  // Estatísticas
+  private long compiledBlocks;
+  private long blockRuns;
+
+  public BlockJit(IMemoryManager memory, InstructionCache cache) {
+    this(memory, cache, HOT_THRESHOLD);
+  }
+
+  public BlockJit(IMemoryManager memory, InstructionCache cache, int threshold) {
+    this.memory = memory;
+    this.cache = cache;
+    this.baseAddress = memory.textBaseAddress();
+    this.context = new BlockContext(memory, cache);
+    this.threshold = threshold;
+    this.pc = memory.getPC();
+
+    // Registradores comuns, HI e LO (mesmas posições do banco primitivo)
+    this.registers = new IRegister[BlockCompiler.LO + 1];
+    for (int i = 0; i < 32; i++) {
+      this.registers[i] = memory.getRegisterFromNumber(i);
+    }
+    this.registers[BlockCompiler.HI] = memory.getHI();
+    this.registers[BlockCompiler.LO] = memory.getLO();
+
+    cache.setInvalidationListener(this::invalidate);
+  }
+
+  /**
+   * Descarta todos os blocos e contadores, preparando para um programa que termina nesse
+   * endereço (inclusivo). Os blocos descartados podem ser reaproveitados pelo novo programa.
+   *
+   * @param lastAddress endereço da última instrução do programa.
+   */
+  public void reset(long lastAddress) {
+    this.retire();
+    int size = (int) Math.max(0L, ((lastAddress - this.baseAddress) >> 2) + 1);
+
+    this.blocks = size == 0 ? EMPTY : new JitBlock[size];
+    this.counters = new int[size];
+    this.compiledBlocks = 0;
+    this.blockRuns = 0;
+  }
+
+  /**
+   * Registra uma entrada no bloco que inicia nesse endereço.
+   *
+   * @param address endereço da primeira instrução do bloco.
+   * @return bloco compilado ou null (bloco ainda frio ou não compilável).
+   */
+  public JitBlock enter(long address) {
+    long index = (address - this.baseAddress) >> 2;
+
+    if (index < 0 || index >= this.blocks.length) {
+      return null;
+    }
+
+    int i = (int) index;
+    JitBlock block = this.blocks[i];
+    if (block != null || this.counters[i] == NOT_COMPILABLE) {
+      return block;
+    }
+
+    // Primeira entrada: bloco de um carregamento anterior com as mesmas instruções
+    if (this.counters[i] == 0 && (block = this.retained(i)) != null) {
+      this.blocks[i] = block;
+      this.compiledBlocks++;
+      return block;
+    }
+
+    if (++this.counters[i] >= this.threshold) {
+      block = this.compile(address);
+
+      if (block == null) {
+        this.counters[i] = NOT_COMPILABLE;
+      } else {
+        this.blocks[i] = block;
+        this.compiledBlocks++;
+      }
+    }
+
+    return block;
+  }
+
+  /**
+   * Executa o bloco e os blocos compilados que o sucedem, atualizando o PC. A sequência termina
+   * quando o próximo bloco ainda não foi compilado, não cabe no limite de instruções ou inicia em
+   * (ou contém) um breakpoint.
+   *
+   * Caso uma instrução gere exceção, os efeitos das instruções anteriores são mantidos e o PC
+   * aponta para a instrução que gerou a exceção (mesmo estado deixado pelo interpretador).
+   *
+   * @param block bloco compilado que inicia no PC atual.
+   * @param budget quantidade máxima de instruções (o primeiro bloco deve caber nesse limite).
+   * @param condition condição de parada (breakpoints).
+   * @return quantidade de instruções executadas.
+   * @see #current()
+   */
+  public long run(JitBlock block, long budget, StopCondition condition) {
+    int[] file = this.file;
+    GuestProfiler profiler = this.context.profiler;
+
+    this.load(file);
+    long mask = 0L;
+    long steps = 0;
+    int next;
+
+    try {
+      while (true) {
+        this.current = block;
+        mask |= block.registers();
+        file[BlockCompiler.STEPS] = 0;
+        file[BlockCompiler.OVERFLOW] = 0;
+
+        next = block.code().run(file, this.context);
+        int executed = file[BlockCompiler.STEPS];
+        steps += executed;
+        this.blockRuns++;
+
+        if (profiler != null) {
+          profiler.executeBlock(block.start(), block.instructions(), executed);
+        }
+
+        // Encadeamento: próximo bloco já compilado (sem contar como entrada)
+        JitBlock successor = this.compiled(Integer.toUnsignedLong(next));
+        if (successor == null || successor.length() > budget - steps
+            || condition.isBreakpoint(successor.start())
+            || condition.hasBreakpointBetween(successor.start() + 4, successor.end())) {
+          break;
+        }
+
+        block = successor;
+      }
+    } catch (RuntimeException e) {
+      this.store(file, mask);
+      this.pc.write(file[BlockCompiler.FAULT_PC]);
+      throw e;
+    }
+
+    this.currentSteps = file[BlockCompiler.STEPS];
+    this.store(file, mask);
+    this.pc.write(next);
+
+    return steps;
+  }
+
+  /**
+   * Último bloco executado por {@link #run(JitBlock, long, StopCondition)} (em caso de exceção, o
+   * bloco que contém a instrução que a gerou).
+   *
+   * @return bloco.
+   */
+  public JitBlock current() {
+    return this.current;
+  }
+
+  /**
+   * Quantidade de instruções executadas pelo último bloco.
+   *
+   * @return instruções executadas.
+   */
+  public int currentSteps() {
+    return this.currentSteps;
+  }
+
+  /**
+   * Checa se a instrução nesse endereço gerou overflow durante a última execução de bloco.
+   *
+   * @param address endereço da instrução.
+   * @return true caso tenha ocorrido overflow.
+   */
+  public boolean overflowed(long address) {
+    return this.file[BlockCompiler.OVERFLOW] == (int) address;
+  }
+
+  /**
+   * Executa o bloco sem alterar o estado do processador (modo de verificação). As escritas em
+   * memória e registradores ficam registradas na {@link Speculation} retornada.
+   *
+   * @param block bloco compilado.
+   * @return resultado da execução ou null caso o bloco gere exceção.
+   */
+  public Speculation speculate(JitBlock block) {
+    int[] shadow = new int[BlockCompiler.SLOTS];
+    this.load(shadow);
+
+    ShadowContext context = new ShadowContext(this.memory, this.cache);
+    try {
+      int next = block.code().run(shadow, context);
+      return new Speculation(block, shadow, next, context);
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Compara o estado atual do processador (após o interpretador executar as mesmas instruções)
+   * com o resultado do bloco compilado.
+   *
+   * @param s resultado da execução do bloco compilado.
+   * @throws IllegalStateException caso os estados sejam diferentes.
+   */
+  public void verify(Speculation s) {
+    List<String> differences = new ArrayList<>();
+
+    for (int i = 0; i < this.registers.length; i++) {
+      int expected = this.registers[i].read();
+
+      if (expected != s.registers[i]) {
+        differences.add("registrador %d: %d != %d".formatted(i, expected, s.registers[i]));
+      }
+    }
+
+    if (this.pc.read() != s.next) {
+      differences.add("pc: 0x%08x != 0x%08x".formatted(this.pc.read(), s.next));
+    }
+
+    for (Entry<Long, Byte> e : s.context.writes().entrySet()) {
+      byte expected = this.memory.readByte(e.getKey());
+
+      if (expected != e.getValue()) {
+        differences.add("memória %d: %d != %d".formatted(e.getKey(), expected, e.getValue()));
+      }
+    }
+
+    if (!differences.isEmpty()) {
+      throw new IllegalStateException("Bloco compilado em 0x%08x diverge do interpretador: %s."
+          .formatted(s.block.start(), String.join(", ", differences)));
+    }
+  }
+
+  /**
+   * Descarta os blocos que contêm a palavra desse endereço.
+   *
+   * @param address endereço escrito.
+   */
+  public void invalidate(long address) {
+    long index = (address - this.baseAddress) >> 2;
+
+    if (index < 0 || index >= this.blocks.length) {
+      return;
+    }
+
+    int last = (int) index;
+    for (int i = Math.max(0, last - MAX_BLOCK_LENGTH + 1); i <= last; i++) {
+      JitBlock block = this.blocks[i];
+
+      if (block != null && i + block.length() > last) {
+        this.blocks[i] = null;
+        this.counters[i] = 0;
+      } else if (this.counters[i] == NOT_COMPILABLE) {
+        // Instrução pode ter se tornado válida
+        this.counters[i] = 0;
+      }
+    }
+  }
+
+  /**
+   * Acessos à memória dos blocos compilados passam a ser contados por esse profiler.
+   *
+   * @param profiler profiler do programa simulado (ou null para desabilitar).
+   */
+  public void setProfiler(GuestProfiler profiler) {
+    this.context.profiler = profiler;
+  }
+
+  /**
+   * Quantidade de blocos compilados (ou reaproveitados de um carregamento anterior) desde o último
+   * carregamento.
+   *
+   * @return blocos compilados.
+   */
+  public long compiledBlocks() {
+    return this.compiledBlocks;
+  }
+
+  /**
+   * Quantidade de execuções de blocos compilados desde o último carregamento.
+   *
+   * @return execuções.
+   */
+  public long blockRuns() {
+    return this.blockRuns;
+  }
+
+  private JitBlock compile(long address) {
+    List<DecodedInstruction> instructions = new ArrayList<>();
+
+    for (long a = address; this.cache.contains(a)
+        && instructions.size() < MAX_BLOCK_LENGTH; a += 4) {
+      DecodedInstruction d;
+
+      try {
+        d = MIPSDisassembler.decode(this.memory.readWord(a));
+      } catch (IllegalArgumentException e) {
+        break;
+      }
+
+      if (d.instruction() == MIPSInstruction.SYSCALL) {
+        break;
+      }
+
+      instructions.add(d);
+
+      if (BlockCompiler.isTerminator(d)) {
+        break;
+      }
+    }
+
+    if (instructions.isEmpty()) {
+      return null;
+    }
+
+    return this.compiler.compile(address, instructions.toArray(DecodedInstruction[]::new));
+  }
+
+  /**
+   * Bloco compilado que inicia nesse endereço, sem registrar entrada.
+   */
+  private JitBlock compiled(long address) {
+    long index = (address - this.baseAddress) >> 2;
+    return index >= 0 && index < this.blocks.length ? this.blocks[(int) index] : null;
+  }
+
+  /**
+   * Guarda os blocos compilados para um próximo carregamento.
+   */
+  private void retire() {
+    if (this.retired.length < this.blocks.length) {
+      this.retired = Arrays.copyOf(this.retired, this.blocks.length);
+    }
+
+    for (int i = 0; i < this.blocks.length; i++) {
+      if (this.blocks[i] != null) {
+        this.retired[i] = this.blocks[i];
+      }
+    }
+  }
+
+  /**
+   * Bloco de um carregamento anterior nessa posição, caso suas instruções ainda estejam no
+   * segmento `text`.
+   */
+  private JitBlock retained(int index) {
+    JitBlock block = index < this.retired.length ? this.retired[index] : null;
+    if (block == null) {
+      return null;
+    }
+
+    DecodedInstruction[] instructions = block.instructions();
+    for (int k = 0; k < instructions.length; k++) {
+      long address = block.start() + 4L * k;
+
+      if (!this.cache.contains(address)
+          || this.memory.readWord(address) != instructions[k].word()) {
+        return null;
+      }
+    }
+
+    return block;
+  }
+
+  private void load(int[] file) {
+    for (int i = 0; i < this.registers.length; i++) {
+      file[i] = this.registers[i].read();
+    }
+  }
+
+  private void store(int[] file, long mask) {
+    for (int i = 0; i < this.registers.length; i++) {
+      if ((mask & (1L << i)) != 0) {
+        this.registers[i].write(file[i]);
+      }
+    }
+  }
+
+  /**
+   * Resultado da execução de um bloco compilado sem efeitos colaterais (modo de verificação).
+   */
+  public static final class Speculation {
+
+    private final JitBlock block;
+    private final int[] registers;
+    private final int next;
+    private final ShadowContext context;
+
+    private Speculation(JitBlock block, int[] registers, int next, ShadowContext context) {
+      this.block = block;
+      this.registers = registers;
+      this.next = next;
+      this.context = context;
+    }
+
+    /**
+     * Quantidade de instruções executadas pelo bloco.
+     *
+     * @return instruções executadas.
+     */
+    public int steps() {
+      return this.registers[BlockCompiler.STEPS];
+    }
+  }
+
+}
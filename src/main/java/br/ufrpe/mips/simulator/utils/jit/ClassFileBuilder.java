@@ -0,0 +1,385 @@
+package br.ufrpe.mips.simulator.utils.jit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe utilitária, monta um arquivo .class mínimo (sem campos e sem atributos opcionais).
+ *
+ * As classes geradas usam a versão 49 do formato, dispensando a tabela StackMapTable: o código
+ * é verificado por inferência de tipos pela JVM. Apenas as instruções de bytecode usadas pelo
+ * {@link BlockCompiler} estão disponíveis.
+ *
+ * @version 1.0
+ */
+final class ClassFileBuilder {
+
+  // Versão do formato (Java 5)
+  private static final int MAJOR_VERSION = 49;
+
+  // Flags de acesso
+  static final int ACC_PUBLIC = 0x0001;
+  static final int ACC_FINAL = 0x0010;
+  static final int ACC_SUPER = 0x0020;
+
+  // Opcodes utilizados
+  static final int ICONST_0 = 0x03;
+  static final int LCONST_0 = 0x09;
+  static final int BIPUSH = 0x10;
+  static final int SIPUSH = 0x11;
+  static final int LDC = 0x12;
+  static final int LDC_W = 0x13;
+  static final int LDC2_W = 0x14;
+  static final int ILOAD = 0x15;
+  static final int LLOAD = 0x16;
+  static final int ALOAD = 0x19;
+  static final int IALOAD = 0x2e;
+  static final int ISTORE = 0x36;
+  static final int LSTORE = 0x37;
+  static final int IASTORE = 0x4f;
+  static final int IADD = 0x60;
+  static final int LADD = 0x61;
+  static final int ISUB = 0x64;
+  static final int LMUL = 0x69;
+  static final int IDIV = 0x6c;
+  static final int IREM = 0x70;
+  static final int ISHL = 0x78;
+  static final int ISHR = 0x7a;
+  static final int IUSHR = 0x7c;
+  static final int LUSHR = 0x7d;
+  static final int IAND = 0x7e;
+  static final int IOR = 0x80;
+  static final int IXOR = 0x82;
+  static final int I2L = 0x85;
+  static final int L2I = 0x88;
+  static final int I2B = 0x91;
+  static final int IFEQ = 0x99;
+  static final int IFNE = 0x9a;
+  static final int IFLT = 0x9b;
+  static final int IFGE = 0x9c;
+  static final int IFGT = 0x9d;
+  static final int IFLE = 0x9e;
+  static final int IF_ICMPEQ = 0x9f;
+  static final int IF_ICMPNE = 0xa0;
+  static final int IF_ICMPGE = 0xa2;
+  static final int GOTO = 0xa7;
+  static final int IRETURN = 0xac;
+  static final int RETURN = 0xb1;
+  static final int INVOKEVIRTUAL = 0xb6;
+  static final int INVOKESPECIAL = 0xb7;
+  static final int INVOKESTATIC = 0xb8;
+
+  // Constant pool (índice 0 é reservado)
+  private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+  private final DataOutputStream poolOut = new DataOutputStream(this.pool);
+  private final Map<String, Integer> poolIndex = new HashMap<>();
+  private int poolCount = 1;
+
+  private final List<byte[]> methods = new ArrayList<>();
+
+  /**
+   * Gera o arquivo .class completo.
+   *
+   * @param name nome interno da classe (ex.: pacote/Classe).
+   * @param superName nome interno da superclasse.
+   * @param interfaces nomes internos das interfaces implementadas.
+   * @return bytes do arquivo .class.
+   */
+  byte[] toByteArray(String name, String superName, String... interfaces) {
+    int thisClass = this.classRef(name);
+    int superClass = this.classRef(superName);
+    int[] interfaceRefs = new int[interfaces.length];
+    for (int i = 0; i < interfaces.length; i++) {
+      interfaceRefs[i] = this.classRef(interfaces[i]);
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    try {
+      out.writeInt(0xcafebabe);
+      out.writeShort(0);
+      out.writeShort(MAJOR_VERSION);
+      out.writeShort(this.poolCount);
+      this.poolOut.flush();
+      this.pool.writeTo(out);
+      out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+      out.writeShort(thisClass);
+      out.writeShort(superClass);
+      out.writeShort(interfaceRefs.length);
+      for (int ref : interfaceRefs) {
+        out.writeShort(ref);
+      }
+      out.writeShort(0); // campos
+      out.writeShort(this.methods.size());
+      for (byte[] method : this.methods) {
+        out.write(method);
+      }
+      out.writeShort(0); // atributos
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Adiciona um método com o código informado.
+   *
+   * @param access flags de acesso.
+   * @param name nome do método.
+   * @param descriptor descritor do método.
+   * @param code corpo do método.
+   */
+  void method(int access, String name, String descriptor, Code code) {
+    int nameRef = this.utf8(name);
+    int descriptorRef = this.utf8(descriptor);
+    int codeRef = this.utf8("Code");
+    byte[] bytecode = code.toByteArray();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    try {
+      out.writeShort(access);
+      out.writeShort(nameRef);
+      out.writeShort(descriptorRef);
+      out.writeShort(1);
+      out.writeShort(codeRef);
+      out.writeInt(12 + bytecode.length);
+      out.writeShort(code.maxStack);
+      out.writeShort(code.maxLocals);
+      out.writeInt(bytecode.length);
+      out.write(bytecode);
+      out.writeShort(0); // tabela de exceções
+      out.writeShort(0); // atributos do código
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    this.methods.add(bytes.toByteArray());
+  }
+
+  /**
+   * Cria um novo corpo de método associado ao constant pool dessa classe.
+   *
+   * @param maxStack tamanho máximo da pilha de operandos.
+   * @param maxLocals quantidade de variáveis locais (incluindo parâmetros).
+   * @return {@link Code}.
+   */
+  Code code(int maxStack, int maxLocals) {
+    return new Code(maxStack, maxLocals);
+  }
+
+  private int utf8(String value) {
+    return this.constant("U" + value, 1, () -> {
+      this.poolOut.writeByte(1);
+      this.poolOut.writeUTF(value);
+    });
+  }
+
+  private int classRef(String name) {
+    int nameRef = this.utf8(name);
+    return this.constant("C" + name, 1, () -> {
+      this.poolOut.writeByte(7);
+      this.poolOut.writeShort(nameRef);
+    });
+  }
+
+  private int methodRef(String owner, String name, String descriptor) {
+    int ownerRef = this.classRef(owner);
+    int nameRef = this.utf8(name);
+    int descriptorRef = this.utf8(descriptor);
+    int nameAndType = this.constant("T" + name + descriptor, 1, () -> {
+      this.poolOut.writeByte(12);
+      this.poolOut.writeShort(nameRef);
+      this.poolOut.writeShort(descriptorRef);
+    });
+
+    return this.constant("M" + owner + "." + name + descriptor, 1, () -> {
+      this.poolOut.writeByte(10);
+      this.poolOut.writeShort(ownerRef);
+      this.poolOut.writeShort(nameAndType);
+    });
+  }
+
+  private int integer(int value) {
+    return this.constant("I" + value, 1, () -> {
+      this.poolOut.writeByte(3);
+      this.poolOut.writeInt(value);
+    });
+  }
+
+  private int longConstant(long value) {
+    return this.constant("J" + value, 2, () -> {
+      this.poolOut.writeByte(5);
+      this.poolOut.writeLong(value);
+    });
+  }
+
+  private int constant(String key, int slots, PoolWriter writer) {
+    Integer index = this.poolIndex.get(key);
+    if (index != null) {
+      return index;
+    }
+
+    this.write(writer);
+
+    index = this.poolCount;
+    this.poolCount += slots;
+    this.poolIndex.put(key, index);
+
+    return index;
+  }
+
+  private void write(PoolWriter writer) {
+    try {
+      writer.write();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface PoolWriter {
+    void write() throws IOException;
+  }
+
+  /**
+   * Corpo de um método: bytecode com suporte a rótulos para desvios (offsets de 16 bits).
+   */
+  final class Code {
+
+    private final int maxStack;
+    private final int maxLocals;
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    // Desvios aguardando a posição do rótulo: (posição da instrução, rótulo)
+    private final List<int[]> pending = new ArrayList<>();
+    private final List<Integer> labels = new ArrayList<>();
+
+    private Code(int maxStack, int maxLocals) {
+      this.maxStack = maxStack;
+      this.maxLocals = maxLocals;
+    }
+
+    Code op(int opcode) {
+      this.bytes.write(opcode);
+      return this;
+    }
+
+    Code iload(int local) {
+      return this.op(ILOAD).u1(local);
+    }
+
+    Code istore(int local) {
+      return this.op(ISTORE).u1(local);
+    }
+
+    Code lload(int local) {
+      return this.op(LLOAD).u1(local);
+    }
+
+    Code lstore(int local) {
+      return this.op(LSTORE).u1(local);
+    }
+
+    Code aload(int local) {
+      return this.op(ALOAD).u1(local);
+    }
+
+    /**
+     * Empilha uma constante inteira usando a menor instrução possível.
+     */
+    Code iconst(int value) {
+      if (value >= -1 && value <= 5) {
+        return this.op(ICONST_0 + value);
+      } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+        return this.op(BIPUSH).u1(value);
+      } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+        return this.op(SIPUSH).u2(value);
+      }
+
+      int index = ClassFileBuilder.this.integer(value);
+      return index <= 0xff ? this.op(LDC).u1(index) : this.op(LDC_W).u2(index);
+    }
+
+    /**
+     * Empilha uma constante long.
+     */
+    Code lconst(long value) {
+      if (value == 0L || value == 1L) {
+        return this.op(LCONST_0 + (int) value);
+      }
+
+      return this.op(LDC2_W).u2(ClassFileBuilder.this.longConstant(value));
+    }
+
+    Code invokestatic(String owner, String name, String descriptor) {
+      return this.op(INVOKESTATIC).u2(ClassFileBuilder.this.methodRef(owner, name, descriptor));
+    }
+
+    Code invokevirtual(String owner, String name, String descriptor) {
+      return this.op(INVOKEVIRTUAL)
+          .u2(ClassFileBuilder.this.methodRef(owner, name, descriptor));
+    }
+
+    Code invokespecial(String owner, String name, String descriptor) {
+      return this.op(INVOKESPECIAL)
+          .u2(ClassFileBuilder.this.methodRef(owner, name, descriptor));
+    }
+
+    /**
+     * Cria um rótulo ainda sem posição.
+     */
+    int label() {
+      this.labels.add(-1);
+      return this.labels.size() - 1;
+    }
+
+    /**
+     * Posiciona o rótulo na próxima instrução.
+     */
+    Code mark(int label) {
+      this.labels.set(label, this.bytes.size());
+      return this;
+    }
+
+    /**
+     * Desvio (condicional ou GOTO) para o rótulo.
+     */
+    Code jump(int opcode, int label) {
+      this.pending.add(new int[] {this.bytes.size(), label});
+      return this.op(opcode).u2(0);
+    }
+
+    private Code u1(int value) {
+      this.bytes.write(value);
+      return this;
+    }
+
+    private Code u2(int value) {
+      this.bytes.write(value >>> 8);
+      this.bytes.write(value);
+      return this;
+    }
+
+    private byte[] toByteArray() {
+      byte[] code = this.bytes.toByteArray();
+
+      for (int[] jump : this.pending) {
+        int offset = this.labels.get(jump[1]) - jump[0];
+        code[jump[0] + 1] = (byte) (offset >>> 8);
+        code[jump[0] + 2] = (byte) offset;
+      }
+
+      return code;
+    }
+  }
+}
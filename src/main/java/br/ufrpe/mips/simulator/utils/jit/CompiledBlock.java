@@ -0,0 +1,22 @@
+package br.ufrpe.mips.simulator.utils.jit;
+
+/**
+ * Bloco básico compilado para bytecode da JVM.
+ *
+ * As implementações são classes ocultas geradas pelo {@link BlockCompiler}, operando sobre um
+ * banco de registradores primitivo (veja {@link BlockCompiler#SLOTS}).
+ *
+ * @version 1.0
+ */
+public interface CompiledBlock {
+
+  /**
+   * Executa o bloco.
+   *
+   * @param registers banco de registradores (inclui HI, LO e informações de saída do bloco).
+   * @param context acesso à memória principal.
+   * @return endereço da próxima instrução (novo PC).
+   */
+  int run(int[] registers, BlockContext context);
+
+}
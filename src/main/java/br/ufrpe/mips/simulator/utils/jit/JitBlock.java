@@ -0,0 +1,31 @@
+package br.ufrpe.mips.simulator.utils.jit;
+
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+
+/**
+ * Classe utilitária, representa um bloco básico do segmento `text` já compilado.
+ *
+ * @param start endereço da primeira instrução.
+ * @param instructions instruções do bloco, em ordem.
+ * @param registers máscara dos registradores lidos ou escritos (bits 0-31, HI e LO).
+ * @param code código gerado.
+ *
+ * @version 1.0
+ */
+public record JitBlock(long start, DecodedInstruction[] instructions, long registers,
+    CompiledBlock code) {
+
+  public int length() {
+    return this.instructions.length;
+  }
+
+  /**
+   * Endereço da última instrução do bloco.
+   *
+   * @return endereço.
+   */
+  public long end() {
+    return this.start + 4L * (this.instructions.length - 1);
+  }
+
+}
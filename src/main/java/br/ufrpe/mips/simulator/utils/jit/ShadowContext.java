@@ -0,0 +1,73 @@
+package br.ufrpe.mips.simulator.utils.jit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.simulator.utils.cache.InstructionCache;
+
+/**
+ * Acesso à memória usado na verificação de blocos compilados: leituras vêm da memória principal,
+ * mas escritas ficam apenas registradas (byte a byte) para posterior comparação com o
+ * interpretador.
+ *
+ * @version 1.0
+ */
+final class ShadowContext extends BlockContext {
+
+  // Escritas realizadas pelo bloco (endereço -> byte)
+  private final Map<Long, Byte> writes = new HashMap<>();
+
+  ShadowContext(IMemoryManager memory, InstructionCache cache) {
+    super(memory, cache);
+  }
+
+  @Override
+  public int readWord(long address) {
+    int value = this.memory.readWord(address);
+
+    for (int i = 0; i < 4; i++) {
+      Byte b = this.writes.get(address + i);
+
+      if (b != null) {
+        int shift = 24 - 8 * i;
+        value = (value & ~(0xff << shift)) | ((b & 0xff) << shift);
+      }
+    }
+
+    return value;
+  }
+
+  @Override
+  public int readByte(long address) {
+    byte value = this.memory.readByte(address);
+    Byte b = this.writes.get(address);
+
+    return b != null ? b : value;
+  }
+
+  @Override
+  public boolean writeWord(long address, int value) {
+    // Mesmas validações de endereço da escrita real
+    this.memory.readWord(address);
+
+    for (int i = 0; i < 4; i++) {
+      this.writes.put(address + i, (byte) (value >>> (24 - 8 * i)));
+    }
+
+    return this.cache.contains(address);
+  }
+
+  @Override
+  public boolean writeByte(long address, int value) {
+    this.memory.readByte(address);
+    this.writes.put(address, (byte) value);
+
+    return this.cache.contains(address);
+  }
+
+  Map<Long, Byte> writes() {
+    return this.writes;
+  }
+
+}
@@ -1,9 +1,7 @@
 package br.ufrpe.mips.simulator.utils.operation;
 
 import br.ufrpe.mips.data.IMemoryManager;
-import br.ufrpe.mips.data.IRegister;
-import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler.AssemblyInstruction;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields.RField;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
 
 /**
  * Classe utilitária, executa instruções lógicas e aritméticas envolvendo registradores.
@@ -19,62 +17,51 @@ public class ArithmeticLogic {
     this.memory = memory;
   }
 
-  public void ADD(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister s1 = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister s2 = this.memory.getRegisterFromNumber(rField.rt());
+  public void ADD(DecodedInstruction instruction, StringBuffer buffer) {
+    this.ADD(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
+  public void ADD(int rs, int rt, int rd, StringBuffer buffer) {
     // Lendo valores dos registradores
-    int v1 = s1.read();
-    int v2 = s2.read();
+    int v1 = this.memory.readRegister(rs);
+    int v2 = this.memory.readRegister(rt);
 
     try {
       // Gera exceção em caso de overflow
       Math.addExact(v1, v2);
 
       // Armazenar resultado
-      dest.write(v1 + v2);
+      this.memory.writeRegister(rd, v1 + v2);
     } catch (ArithmeticException e) {
       buffer.append("overflow");
     }
   }
 
-  public void ADDU(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister s1 = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister s2 = this.memory.getRegisterFromNumber(rField.rt());
+  public void ADDU(DecodedInstruction instruction, StringBuffer buffer) {
+    this.ADDU(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
+  public void ADDU(int rs, int rt, int rd, StringBuffer buffer) {
     // Lendo valores dos registradores
-    int v1 = s1.read();
-    int v2 = s2.read();
+    int v1 = this.memory.readRegister(rs);
+    int v2 = this.memory.readRegister(rt);
 
     // Convertendo para suas versões sem sinal
     long uV1 = Integer.toUnsignedLong(v1);
     long uV2 = Integer.toUnsignedLong(v2);
 
     // Salvando resultado no registrador
-    dest.write((int) (uV1 + uV2));
+    this.memory.writeRegister(rd, (int) (uV1 + uV2));
   }
 
-  public void DIVU(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
+  public void DIVU(DecodedInstruction instruction, StringBuffer buffer) {
+    this.DIVU(instruction.rs(), instruction.rt(), buffer);
+  }
 
+  public void DIVU(int rs, int rt, StringBuffer buffer) {
     // Lendo valores dos registradores
-    int v1 = rs.read();
-    int v2 = rt.read();
+    int v1 = this.memory.readRegister(rs);
+    int v2 = this.memory.readRegister(rt);
 
     // Convertendo valores para versões sem sinal
     long uV1 = Integer.toUnsignedLong(v1);
@@ -90,336 +77,259 @@ public class ArithmeticLogic {
       remainder = uV1 % uV2;
     }
 
-    // Escrevendo na memória
-    this.memory.getLO().write((int) quotient);
-    this.memory.getHI().write((int) remainder);
+    // Salvando resultados nos registradores especiais
+    this.memory.writeLO((int) quotient);
+    this.memory.writeHI((int) remainder);
   }
 
-  public void SUBU(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
+  public void SUBU(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SUBU(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
+  public void SUBU(int rs, int rt, int rd, StringBuffer buffer) {
     // Lendo valores dos registradores
-    int v1 = rs.read();
-    int v2 = rt.read();
+    int v1 = this.memory.readRegister(rs);
+    int v2 = this.memory.readRegister(rt);
 
-    // Convertendo valores para versões sem sinal
+    // Convertendo para suas versões sem sinal
     long uV1 = Integer.toUnsignedLong(v1);
     long uV2 = Integer.toUnsignedLong(v2);
 
     // Calculando resultado
     long result = uV1 - uV2;
 
-    // Escrevendo na memória
-    dest.write((int) result);
+    // Salvando resultado no registrador
+    this.memory.writeRegister(rd, (int) result);
   }
 
-  public void MULTU(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
+  public void MULTU(DecodedInstruction instruction, StringBuffer buffer) {
+    this.MULTU(instruction.rs(), instruction.rt(), buffer);
+  }
 
+  public void MULTU(int rs, int rt, StringBuffer buffer) {
     // Lendo valores dos registradores
-    int v1 = rs.read();
-    int v2 = rt.read();
+    int v1 = this.memory.readRegister(rs);
+    int v2 = this.memory.readRegister(rt);
 
-    // Convertendo valores para versões sem sinal
+    // Convertendo para suas versões sem sinal
     long uV1 = Integer.toUnsignedLong(v1);
     long uV2 = Integer.toUnsignedLong(v2);
 
-    // Calculando resultado
+    // Calculando resultado (64 bits)
     long result = uV1 * uV2;
 
-    // Escrevendo na memória
-    this.memory.getLO().write((int) result);
-    this.memory.getHI().write((int) (result >>> 32));
+    // 32 bits menos significativos em LO, mais significativos em HI
+    this.memory.writeLO((int) result);
+    this.memory.writeHI((int) (result >>> 32));
   }
 
-  public void SLLV(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
+  public void SLLV(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SLLV(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
+  public void SLLV(int rs, int rt, int rd, StringBuffer buffer) {
     // Lendo valores dos registradores
-    int v1 = rt.read();
-    int v2 = rs.read();
+    int v1 = this.memory.readRegister(rt);
+    int v2 = this.memory.readRegister(rs);
 
-    // Considerando apenas os últimos 5 bits de rs
+    // Apenas os 5 bits menos significativos são considerados
     v2 = v2 & 0b11111;
 
-    // Calculando resultado
-    int result = v1 << v2;
-
-    // Escrevendo na memória
-    dest.write(result);
+    // Salvando resultado no registrador
+    this.memory.writeRegister(rd, v1 << v2);
   }
 
-  public void SLL(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
-
-    // Lendo valores dos registradores
-    int v = rt.read();
-    int immediate = rField.shamt();
-
-    // Calculando resultado
-    int result = v << immediate;
-
-    // Escrevendo na memória
-    dest.write(result);
+  public void SLL(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SLL(instruction.rt(), instruction.rd(), instruction.shamt(), buffer);
   }
 
-  public void SRL(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
-
-    // Lendo valores dos registradores
-    int v = rt.read();
-    int immediate = rField.shamt();
+  public void SLL(int rt, int rd, int shamt, StringBuffer buffer) {
+    // Lendo valor do registrador
+    int v = this.memory.readRegister(rt);
 
-    // Calculando resultado
-    int result = v >>> immediate;
+    // Salvando resultado no registrador
+    this.memory.writeRegister(rd, v << shamt);
+  }
 
-    // Escrevendo na memória
-    dest.write(result);
+  public void SRL(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SRL(instruction.rt(), instruction.rd(), instruction.shamt(), buffer);
   }
 
-  public void SRA(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
+  public void SRL(int rt, int rd, int shamt, StringBuffer buffer) {
+    // Lendo valor do registrador
+    int v = this.memory.readRegister(rt);
 
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
+    // Salvando resultado no registrador (deslocamento lógico)
+    this.memory.writeRegister(rd, v >>> shamt);
+  }
 
-    // Lendo valores dos registradores
-    int v = rt.read();
-    int immediate = rField.shamt();
+  public void SRA(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SRA(instruction.rt(), instruction.rd(), instruction.shamt(), buffer);
+  }
 
-    // Calculando resultado
-    int result = v >> immediate;
+  public void SRA(int rt, int rd, int shamt, StringBuffer buffer) {
+    // Lendo valor do registrador
+    int v = this.memory.readRegister(rt);
 
-    // Escrevendo na memória
-    dest.write(result);
+    // Salvando resultado no registrador (deslocamento aritmético)
+    this.memory.writeRegister(rd, v >> shamt);
   }
 
-  public void SLT(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
+  public void SLT(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SLT(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
+  public void SLT(int rs, int rt, int rd, StringBuffer buffer) {
+    int v1 = this.memory.readRegister(rs);
+    int v2 = this.memory.readRegister(rt);
 
-    // Salvando resultado
-    dest.write(rs.read() < rt.read() ? 1 : 0);
+    this.memory.writeRegister(rd, v1 < v2 ? 1 : 0);
   }
 
-  public void SRLV(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
+  public void SRLV(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SRLV(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
+  public void SRLV(int rs, int rt, int rd, StringBuffer buffer) {
     // Lendo valores dos registradores
-    int v1 = rt.read();
-    int v2 = rs.read();
+    int v1 = this.memory.readRegister(rt);
+    int v2 = this.memory.readRegister(rs);
 
-    // Considerando apenas os últimos 5 bits de rs
+    // Apenas os 5 bits menos significativos são considerados
     v2 = v2 & 0b11111;
 
-    // Calculando resultado
-    int result = v1 >>> v2;
-
-    // Escrevendo na memória
-    dest.write(result);
+    // Salvando resultado no registrador (deslocamento lógico)
+    this.memory.writeRegister(rd, v1 >>> v2);
   }
 
-  public void SRAV(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
+  public void SRAV(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SRAV(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
+  public void SRAV(int rs, int rt, int rd, StringBuffer buffer) {
     // Lendo valores dos registradores
-    int v1 = rt.read();
-    int v2 = rs.read();
+    int v1 = this.memory.readRegister(rt);
+    int v2 = this.memory.readRegister(rs);
 
-    // Considerando apenas os últimos 5 bits de rs
+    // Apenas os 5 bits menos significativos são considerados
     v2 = v2 & 0b11111;
 
-    // Calculando resultado
-    int result = v1 >> v2;
-
-    // Escrevendo na memória
-    dest.write(result);
+    // Salvando resultado no registrador (deslocamento aritmético)
+    this.memory.writeRegister(rd, v1 >> v2);
   }
 
-  public void DIV(AssemblyInstruction instruction, StringBuffer buffer) {
-
-    RField rField = instruction.fields().asRField();
-    IRegister r1 = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister r2 = this.memory.getRegisterFromNumber(rField.rt());
+  public void DIV(DecodedInstruction instruction, StringBuffer buffer) {
+    this.DIV(instruction.rs(), instruction.rt(), buffer);
+  }
 
-    int v1 = r1.read();
-    int v2 = r2.read();
+  public void DIV(int rs, int rt, StringBuffer buffer) {
+    // Lendo valores dos registradores
+    int v1 = this.memory.readRegister(rs);
+    int v2 = this.memory.readRegister(rt);
 
+    // Calculando quociente e resto
     long c1 = v1 / v2;
     long re1 = v1 % v2;
 
-    this.memory.getLO().write((int) c1);
-    this.memory.getHI().write((int) re1);
+    // Salvando resultados nos registradores especiais
+    this.memory.writeLO((int) c1);
+    this.memory.writeHI((int) re1);
   }
 
-  public void MULT(AssemblyInstruction instruction, StringBuffer buffer) {
-
-    RField rField = instruction.fields().asRField();
-    IRegister r1 = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister r2 = this.memory.getRegisterFromNumber(rField.rt());
-
-    int v1 = r1.read();
-    int v2 = r2.read();
+  public void MULT(DecodedInstruction instruction, StringBuffer buffer) {
+    this.MULT(instruction.rs(), instruction.rt(), buffer);
+  }
 
+  public void MULT(int rs, int rt, StringBuffer buffer) {
+    // Lendo valores dos registradores
+    long v1 = this.memory.readRegister(rs);
+    long v2 = this.memory.readRegister(rt);
 
-    long uV1 = v1;
-    long uV2 = v2;
-    long c1 = uV1 * uV2;
+    // Calculando resultado (64 bits)
+    long c1 = v1 * v2;
 
-    this.memory.getLO().write((int) c1);
-    this.memory.getHI().write((int) (c1 >>> 32));
+    // 32 bits menos significativos em LO, mais significativos em HI
+    this.memory.writeLO((int) c1);
+    this.memory.writeHI((int) (c1 >>> 32));
   }
 
-  public void SUB(AssemblyInstruction instruction, StringBuffer buffer) {
-
-    RField rField = instruction.fields().asRField();
-
-    IRegister d = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister r1 = this.memory.getRegisterFromNumber(rField.rs());
-    IRegister r2 = this.memory.getRegisterFromNumber(rField.rt());
+  public void SUB(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SUB(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
-    int v1 = r1.read();
-    int v2 = r2.read();
+  public void SUB(int rs, int rt, int rd, StringBuffer buffer) {
+    // Lendo valores dos registradores
+    int v1 = this.memory.readRegister(rs);
+    int v2 = this.memory.readRegister(rt);
 
     try {
       // Gera exceção em caso de overflow
       Math.subtractExact(v1, v2);
 
       // Armazenar resultado
-      d.write(v1 - v2);
+      this.memory.writeRegister(rd, v1 - v2);
     } catch (ArithmeticException e) {
       buffer.append("overflow");
     }
   }
 
-  public void MFLO(AssemblyInstruction instruction, StringBuffer buffer) {
-
-    RField rField = instruction.fields().asRField();
-
-    IRegister d = this.memory.getRegisterFromNumber(rField.rd());
-
-    int v1 = this.memory.getLO().read();
-
-    d.write(v1);
+  public void MFLO(DecodedInstruction instruction, StringBuffer buffer) {
+    this.MFLO(instruction.rd(), buffer);
   }
 
-  public void MFHI(AssemblyInstruction instruction, StringBuffer buffer) {
-
-    RField rField = instruction.fields().asRField();
-
-    IRegister d = this.memory.getRegisterFromNumber(rField.rd());
-
-    int v1 = this.memory.getHI().read();
-
-    d.write(v1);
+  public void MFLO(int rd, StringBuffer buffer) {
+    this.memory.writeRegister(rd, this.memory.readLO());
   }
 
-  public void XOR(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
-
-    // Lendo valores dos registradores
-    int v1 = rt.read();
-    int v2 = rs.read();
-
-    // Escrevendo na memória
-    dest.write(v1 ^ v2);
+  public void MFHI(DecodedInstruction instruction, StringBuffer buffer) {
+    this.MFHI(instruction.rd(), buffer);
   }
 
-  public void NOR(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
+  public void MFHI(int rd, StringBuffer buffer) {
+    this.memory.writeRegister(rd, this.memory.readHI());
+  }
 
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
+  public void XOR(DecodedInstruction instruction, StringBuffer buffer) {
+    this.XOR(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
-    // Lendo valores dos registradores
-    int v1 = rt.read();
-    int v2 = rs.read();
+  public void XOR(int rs, int rt, int rd, StringBuffer buffer) {
+    int v1 = this.memory.readRegister(rt);
+    int v2 = this.memory.readRegister(rs);
 
-    // Escrevendo na memória (NOR é o mesmo que negar um OR)
-    dest.write(~(v1 | v2));
+    this.memory.writeRegister(rd, v1 ^ v2);
   }
 
-  public void AND(AssemblyInstruction instruction, StringBuffer buffer) {
-
-    RField rField = instruction.fields().asRField();
+  public void NOR(DecodedInstruction instruction, StringBuffer buffer) {
+    this.NOR(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
+  public void NOR(int rs, int rt, int rd, StringBuffer buffer) {
+    int v1 = this.memory.readRegister(rt);
+    int v2 = this.memory.readRegister(rs);
 
-    int v1 = rt.read();
-    int v2 = rs.read();
+    this.memory.writeRegister(rd, ~(v1 | v2));
+  }
 
-    dest.write((v1 & v2));
+  public void AND(DecodedInstruction instruction, StringBuffer buffer) {
+    this.AND(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
   }
 
-  public void OR(AssemblyInstruction instruction, StringBuffer buffer) {
+  public void AND(int rs, int rt, int rd, StringBuffer buffer) {
+    int v1 = this.memory.readRegister(rt);
+    int v2 = this.memory.readRegister(rs);
 
-    RField rField = instruction.fields().asRField();
+    this.memory.writeRegister(rd, v1 & v2);
+  }
 
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rd());
-    IRegister rt = this.memory.getRegisterFromNumber(rField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(rField.rs());
+  public void OR(DecodedInstruction instruction, StringBuffer buffer) {
+    this.OR(instruction.rs(), instruction.rt(), instruction.rd(), buffer);
+  }
 
-    int v1 = rt.read();
-    int v2 = rs.read();
+  public void OR(int rs, int rt, int rd, StringBuffer buffer) {
+    int v1 = this.memory.readRegister(rt);
+    int v2 = this.memory.readRegister(rs);
 
-    dest.write((v1 | v2));
+    this.memory.writeRegister(rd, v1 | v2);
   }
 }
-
@@ -1,10 +1,7 @@
 package br.ufrpe.mips.simulator.utils.operation;
 
 import br.ufrpe.mips.data.IMemoryManager;
-import br.ufrpe.mips.data.IRegister;
-import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler.AssemblyInstruction;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields.IField;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
 
 /**
  * Classe utilitária, executa instruções lógicas e aritméticas envolvendo imediatos
@@ -20,99 +17,76 @@ public class ImmediateAL {
     this.memory = memory;
   }
 
-  public void ADDI(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister r1 = this.memory.getRegisterFromNumber(iField.rs());
+  public void ADDI(DecodedInstruction instruction, StringBuffer buffer) {
+    this.ADDI(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
+  public void ADDI(int rs, int rt, int immediate, StringBuffer buffer) {
     // Obtendo valores
-    int v1 = r1.read();
-    int immediate = iField.immediate();
+    int v1 = this.memory.readRegister(rs);
 
     try {
       // Gera exceção em caso de overflow
       Math.addExact(v1, immediate);
 
       // Armazenar resultado
-      dest.write(v1 + immediate);
+      this.memory.writeRegister(rt, v1 + immediate);
     } catch (ArithmeticException e) {
       buffer.append("overflow");
     }
   }
 
-  public void ORI(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(iField.rs());
+  public void ORI(DecodedInstruction instruction, StringBuffer buffer) {
+    this.ORI(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
+  public void ORI(int rs, int rt, int immediate, StringBuffer buffer) {
     // Obtendo valores
-    int v = rs.read();
-    int immediate = iField.immediate();
+    int v = this.memory.readRegister(rs);
 
     // Armazenar resultado (bitwise OR)
-    dest.write(v | immediate);
+    this.memory.writeRegister(rt, v | immediate);
   }
 
-  public void XORI(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(iField.rs());
+  public void XORI(DecodedInstruction instruction, StringBuffer buffer) {
+    this.XORI(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
+  public void XORI(int rs, int rt, int immediate, StringBuffer buffer) {
     // Obtendo valores
-    int v = rs.read();
-    int immediate = iField.immediate();
+    int v = this.memory.readRegister(rs);
 
     // Armazenar resultado (bitwise XOR)
-    dest.write(v ^ immediate);
+    this.memory.writeRegister(rt, v ^ immediate);
   }
 
-  public void SLTI(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Adquirindo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(iField.rs());
+  public void SLTI(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SLTI(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
+  public void SLTI(int rs, int rt, int immediate, StringBuffer buffer) {
     // Salvando resultado
-    int immediate = iField.immediate();
-    dest.write(rs.read() < immediate ? 1 : 0);
+    this.memory.writeRegister(rt, this.memory.readRegister(rs) < immediate ? 1 : 0);
   }
-  public void ANDI(AssemblyInstruction instruction, StringBuffer buffer) {
-
-    IField iField = instruction.fields().asIField();
-
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister rs = this.memory.getRegisterFromNumber(iField.rs());
-
-    int v1 = rs.read();
-    int immediate = iField.immediate();
-
-    dest.write((v1 & immediate));
+  public void ANDI(DecodedInstruction instruction, StringBuffer buffer) {
+    this.ANDI(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
   }
-  public void ADDIU(AssemblyInstruction instruction, StringBuffer buffer) {
 
-    IField iField = instruction.fields().asIField();
+  public void ANDI(int rs, int rt, int immediate, StringBuffer buffer) {
+    int v1 = this.memory.readRegister(rs);
 
+    this.memory.writeRegister(rt, (v1 & immediate));
+  }
+  public void ADDIU(DecodedInstruction instruction, StringBuffer buffer) {
+    this.ADDIU(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister r1 = this.memory.getRegisterFromNumber(iField.rs());
-
-    int v1 = r1.read();
-    int immediate = iField.immediate();
+  public void ADDIU(int rs, int rt, int immediate, StringBuffer buffer) {
+    int v1 = this.memory.readRegister(rs);
 
     long uv1 = Integer.toUnsignedLong(v1);
     long uv2 = Integer.toUnsignedLong(immediate);
 
-    dest.write((int)(uv1 + uv2));
+    this.memory.writeRegister(rt, (int)(uv1 + uv2));
   }
 }
@@ -1,20 +1,22 @@
 package br.ufrpe.mips.simulator.utils.operation;
 
 import br.ufrpe.mips.data.IMemoryManager;
-import br.ufrpe.mips.data.IRegister;
-import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler.AssemblyInstruction;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields.IField;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields.JField;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields.RField;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
 import br.ufrpe.mips.simulator.utils.register.RegisterMapper;
 
 /**
  * Classe utilitária, executa instruções desvio condicional e pulos.
- * 
+ *
+ * Os desvios também podem ser executados a partir dos endereços já calculados: `next` é o
+ * endereço da próxima instrução (PC + 4) e `branch` o destino caso o desvio seja tomado.
+ *
  * @version 1.0
  */
 public class JumpBranch {
 
+  // Registrador de retorno ($ra)
+  private static final int RA = RegisterMapper.regNumberFromLabel("ra");
+
   // Memória principal e registradores
   private IMemoryManager memory;
 
@@ -22,165 +24,124 @@ public class JumpBranch {
     this.memory = memory;
   }
 
-  public void J(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo J
-    JField jField = instruction.fields().asJField();
+  public void J(DecodedInstruction instruction, StringBuffer buffer) {
+    this.J(instruction.address(), buffer);
+  }
 
+  public void J(int target, StringBuffer buffer) {
     // Atualizando PC
-    this.memory.getPC().write(jField.address());
+    this.memory.writePC(target);
   }
 
-  public void JR(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo R
-    RField rField = instruction.fields().asRField();
-
-    // Obtendo registrador
-    IRegister dest = this.memory.getRegisterFromNumber(rField.rs());
+  public void JR(DecodedInstruction instruction, StringBuffer buffer) {
+    this.JR(instruction.rs(), buffer);
+  }
 
+  public void JR(int rs, StringBuffer buffer) {
     // Atualizando PC
-    this.memory.getPC().write(dest.read());
+    this.memory.writePC(this.memory.readRegister(rs));
   }
 
-  public void JAL(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo J
-    JField jField = instruction.fields().asJField();
-
+  public void JAL(DecodedInstruction instruction, StringBuffer buffer) {
     // Calcular próximo endereço do PC (ou seja, PC + 4)
-    long nextPC = Integer.toUnsignedLong(this.memory.getPC().read()) + 4;
+    long nextPC = Integer.toUnsignedLong(this.memory.readPC()) + 4;
 
+    this.JAL((int) nextPC, instruction.address(), buffer);
+  }
+
+  public void JAL(int next, int target, StringBuffer buffer) {
     // Salvar próximo endereço no $ra
-    int regNumber = RegisterMapper.regNumberFromLabel("ra");
-    this.memory.getRegisterFromNumber(regNumber).write((int) nextPC);
+    this.memory.writeRegister(RA, next);
 
     // Atualizar PC para novo endereço
-    this.memory.getPC().write(jField.address());
+    this.memory.writePC(target);
   }
 
-  public void BEQ(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister rs = this.memory.getRegisterFromNumber(iField.rs());
-    IRegister rt = this.memory.getRegisterFromNumber(iField.rt());
-
-    long offset = 4L;
+  public void BEQ(DecodedInstruction instruction, StringBuffer buffer) {
+    long next = this.next();
+    this.BEQ(instruction.rs(), instruction.rt(), (int) next,
+        JumpBranch.branch(next, instruction), buffer);
+  }
 
+  public void BEQ(int rs, int rt, int next, int branch, StringBuffer buffer) {
     // Caso os registradores possuam mesmo valor, podemos entrar
     // na branch desejada.
-    if (rs.read() == rt.read()) {
-      offset += iField.immediate() * 4L;
+    if (this.memory.readRegister(rs) == this.memory.readRegister(rt)) {
+      this.memory.writePC(branch);
+    } else {
+      this.memory.writePC(next);
     }
-
-    // Obter localização atual do programa
-    long address = Integer.toUnsignedLong(this.memory.getPC().read());
-
-    // Atualizar nova localização
-    address += offset;
-
-    // Atualizar PC para nova localização
-    this.memory.getPC().write((int) address);
   }
 
-  public void BNE(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister rs = this.memory.getRegisterFromNumber(iField.rs());
-    IRegister rt = this.memory.getRegisterFromNumber(iField.rt());
-
-    long offset = 4L;
+  public void BNE(DecodedInstruction instruction, StringBuffer buffer) {
+    long next = this.next();
+    this.BNE(instruction.rs(), instruction.rt(), (int) next,
+        JumpBranch.branch(next, instruction), buffer);
+  }
 
+  public void BNE(int rs, int rt, int next, int branch, StringBuffer buffer) {
     // Caso os registradores NÃO possuam mesmo valor, podemos entrar
     // na branch desejada.
-    if (rs.read() != rt.read()) {
-      offset += iField.immediate() * 4L;
+    if (this.memory.readRegister(rs) != this.memory.readRegister(rt)) {
+      this.memory.writePC(branch);
+    } else {
+      this.memory.writePC(next);
     }
-
-    // Obter localização atual do programa
-    long address = Integer.toUnsignedLong(this.memory.getPC().read());
-
-    // Atualizar nova localização
-    address += offset;
-
-    // Atualizar PC para nova localização
-    this.memory.getPC().write((int) address);
   }
 
-  public void BLEZ (AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister rs = this.memory.getRegisterFromNumber(iField.rs());
-
-    long offset = 4L;
+  public void BLEZ(DecodedInstruction instruction, StringBuffer buffer) {
+    long next = this.next();
+    this.BLEZ(instruction.rs(), (int) next, JumpBranch.branch(next, instruction), buffer);
+  }
 
+  public void BLEZ(int rs, int next, int branch, StringBuffer buffer) {
     // Caso o registrador seja menor ou igual a 0, podemos entrar
     // na branch desejada.
-    if (rs.read() <= 0) {
-      offset += iField.immediate() * 4L;
+    if (this.memory.readRegister(rs) <= 0) {
+      this.memory.writePC(branch);
+    } else {
+      this.memory.writePC(next);
     }
-
-    // Obter localização atual do programa
-    long address = Integer.toUnsignedLong(this.memory.getPC().read());
-
-    // Atualizar nova localização
-    address += offset;
-
-    // Atualizar PC para nova localização
-    this.memory.getPC().write((int) address);
   }
 
-  public void BLTZ (AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister rs = this.memory.getRegisterFromNumber(iField.rs());
-
-    long offset = 4L;
+  public void BLTZ(DecodedInstruction instruction, StringBuffer buffer) {
+    long next = this.next();
+    this.BLTZ(instruction.rs(), (int) next, JumpBranch.branch(next, instruction), buffer);
+  }
 
+  public void BLTZ(int rs, int next, int branch, StringBuffer buffer) {
     // Caso o registrador seja menor que 0, podemos entrar
     // na branch desejada.
-    if (rs.read() < 0) {
-      offset += iField.immediate() * 4L;
+    if (this.memory.readRegister(rs) < 0) {
+      this.memory.writePC(branch);
+    } else {
+      this.memory.writePC(next);
     }
-
-    // Obter localização atual do programa
-    long address = Integer.toUnsignedLong(this.memory.getPC().read());
-
-    // Atualizar nova localização
-    address += offset;
-
-    // Atualizar PC para nova localização
-    this.memory.getPC().write((int) address);
   }
 
-  public void BGTZ (AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister rs = this.memory.getRegisterFromNumber(iField.rs());
-
-    long offset = 4L;
+  public void BGTZ(DecodedInstruction instruction, StringBuffer buffer) {
+    long next = this.next();
+    this.BGTZ(instruction.rs(), (int) next, JumpBranch.branch(next, instruction), buffer);
+  }
 
+  public void BGTZ(int rs, int next, int branch, StringBuffer buffer) {
     // Caso o registrador seja maior que 0, podemos entrar
     // na branch desejada.
-    if (rs.read() > 0) {
-      offset += iField.immediate() * 4L;
+    if (this.memory.readRegister(rs) > 0) {
+      this.memory.writePC(branch);
+    } else {
+      this.memory.writePC(next);
     }
+  }
 
-    // Obter localização atual do programa
-    long address = Integer.toUnsignedLong(this.memory.getPC().read());
-
-    // Atualizar nova localização
-    address += offset;
+  // Endereço da próxima instrução (PC + 4)
+  private long next() {
+    return Integer.toUnsignedLong(this.memory.readPC()) + 4;
+  }
 
-    // Atualizar PC para nova localização
-    this.memory.getPC().write((int) address);
+  // Destino do desvio: PC + 4 + offset * 4
+  private static int branch(long next, DecodedInstruction instruction) {
+    return (int) (next + instruction.immediate() * 4L);
   }
 
 }
@@ -1,10 +1,8 @@
 package br.ufrpe.mips.simulator.utils.operation;
 
-import br.ufrpe.mips.data.IMemoryLocation;
 import br.ufrpe.mips.data.IMemoryManager;
-import br.ufrpe.mips.data.IRegister;
-import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler.AssemblyInstruction;
-import br.ufrpe.mips.simulator.utils.instruction.InstructionFields.IField;
+import br.ufrpe.mips.simulator.utils.cache.InstructionCache;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
 
 /**
  * Classe utilitária, executa instruções de interação entre memória principal e registradores.
@@ -16,109 +14,83 @@ public class LoadStore {
   // Memória principal e registradores
   private IMemoryManager memory;
 
-  public LoadStore(IMemoryManager memory) {
+  // Cache de instruções decodificadas (invalidada por escritas no segmento `text`)
+  private InstructionCache cache;
+
+  public LoadStore(IMemoryManager memory, InstructionCache cache) {
     this.memory = memory;
+    this.cache = cache;
   }
 
-  public void SW(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister data = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister r = this.memory.getRegisterFromNumber(iField.rs());
+  public void SW(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SW(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
+  public void SW(int rs, int rt, int offset, StringBuffer buffer) {
     // Obtendo endereço base e offset
-    long baseAddress = Integer.toUnsignedLong(r.read());
-    int offset = iField.immediate();
+    long baseAddress = Integer.toUnsignedLong(this.memory.readRegister(rs));
 
     // Calculando novo endereço
     long address = baseAddress + offset;
 
-    // Obtendo localização de memória com 4 bytes
-    IMemoryLocation<Integer> l = this.memory.getWordMemoryLocationFromAddress(address);
-
-    // Escrevendo o valor do registrador na memória
-    l.write(data.read());
+    // Escrevendo o valor do registrador na memória (4 bytes)
+    this.memory.writeWord(address, this.memory.readRegister(rt));
+    this.cache.invalidate(address);
   }
 
-  public void LW(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister r = this.memory.getRegisterFromNumber(iField.rs());
+  public void LW(DecodedInstruction instruction, StringBuffer buffer) {
+    this.LW(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
+  public void LW(int rs, int rt, int offset, StringBuffer buffer) {
     // Obtendo endereço base e offset
-    long baseAddress = Integer.toUnsignedLong(r.read());
-    int offset = iField.immediate();
+    long baseAddress = Integer.toUnsignedLong(this.memory.readRegister(rs));
 
     // Calculando novo endereço
     long address = baseAddress + offset;
 
-    // Obtendo localização de memória com 4 bytes
-    IMemoryLocation<Integer> l = this.memory.getWordMemoryLocationFromAddress(address);
-
-    // Escrevendo valor armazenado nessa posição ao registrador
-    dest.write(l.read());
+    // Escrevendo valor armazenado nessa posição (4 bytes) ao registrador
+    this.memory.writeRegister(rt, this.memory.readWord(address));
   }
 
-  public void SB(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister data = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister r = this.memory.getRegisterFromNumber(iField.rs());
+  public void SB(DecodedInstruction instruction, StringBuffer buffer) {
+    this.SB(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
+  public void SB(int rs, int rt, int offset, StringBuffer buffer) {
     // Obtendo endereço base e offset
-    long baseAddress = Integer.toUnsignedLong(r.read());
-    int offset = iField.immediate();
+    long baseAddress = Integer.toUnsignedLong(this.memory.readRegister(rs));
 
     // Calculando novo endereço
     long address = baseAddress + offset;
 
-    // Obtendo localização de memória com 4 bytes
-    IMemoryLocation<Byte> l = this.memory.getByteMemoryLocationFromAddress(address);
-
-    // Escrevendo o valor do registrador na memória
-    l.write((byte) data.read());
+    // Escrevendo o valor do registrador na memória (1 byte)
+    this.memory.writeByte(address, (byte) this.memory.readRegister(rt));
+    this.cache.invalidate(address);
   }
 
-  public void LB(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister r = this.memory.getRegisterFromNumber(iField.rs());
+  public void LB(DecodedInstruction instruction, StringBuffer buffer) {
+    this.LB(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
+  public void LB(int rs, int rt, int offset, StringBuffer buffer) {
     // Obtendo endereço base e offset
-    long baseAddress = Integer.toUnsignedLong(r.read());
-    int offset = iField.immediate();
+    long baseAddress = Integer.toUnsignedLong(this.memory.readRegister(rs));
 
     // Calculando novo endereço
     long address = baseAddress + offset;
 
-    // Obtendo localização de memória com 4 bytes
-    IMemoryLocation<Byte> l = this.memory.getByteMemoryLocationFromAddress(address);
-
-    // Escrevendo valor armazenado nessa posição ao registrador
-    dest.write((int) l.read());
+    // Escrevendo valor armazenado nessa posição (1 byte) ao registrador
+    this.memory.writeRegister(rt, (int) this.memory.readByte(address));
   }
 
-  public void LBU(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-    IRegister r = this.memory.getRegisterFromNumber(iField.rs());
+  public void LBU(DecodedInstruction instruction, StringBuffer buffer) {
+    this.LBU(instruction.rs(), instruction.rt(), instruction.immediate(), buffer);
+  }
 
+  public void LBU(int rs, int rt, int offset, StringBuffer buffer) {
     // Obtendo endereço base e offset
-    long baseAddress = Integer.toUnsignedLong(r.read());
-    int offset = iField.immediate();
+    long baseAddress = Integer.toUnsignedLong(this.memory.readRegister(rs));
 
     // Calculando novo endereço
     long address = baseAddress + offset;
@@ -132,25 +104,17 @@ public class LoadStore {
       default -> address = -1;
     }
 
-    // Obtendo localização de memória com 4 bytes
-    IMemoryLocation<Byte> l = this.memory.getByteMemoryLocationFromAddress(address);
-
-    // Escrevendo valor armazenado nessa posição ao registrador
-    dest.write(Byte.toUnsignedInt(l.read()));
+    // Escrevendo valor armazenado nessa posição (1 byte) ao registrador
+    this.memory.writeRegister(rt, Byte.toUnsignedInt(this.memory.readByte(address)));
   }
 
-  public void LUI(AssemblyInstruction instruction, StringBuffer buffer) {
-    // Lendo campos como sendo de uma instrução tipo I
-    IField iField = instruction.fields().asIField();
-
-    // Obtendo registradores envolvidos na operação
-    IRegister dest = this.memory.getRegisterFromNumber(iField.rt());
-
-    // Obtendo valor
-    int immediate = iField.immediate() << 16;
+  public void LUI(DecodedInstruction instruction, StringBuffer buffer) {
+    this.LUI(instruction.rt(), instruction.immediate(), buffer);
+  }
 
-    // Escrevendo valor armazenado nessa posição ao registrador
-    dest.write(immediate);
+  public void LUI(int rt, int immediate, StringBuffer buffer) {
+    // Escrevendo valor (16 bits mais significativos) ao registrador
+    this.memory.writeRegister(rt, immediate << 16);
   }
 
 }
@@ -1,10 +1,9 @@
 package br.ufrpe.mips.simulator.utils.operation;
 
 import java.util.Scanner;
-import br.ufrpe.mips.data.IMemoryLocation;
 import br.ufrpe.mips.data.IMemoryManager;
-import br.ufrpe.mips.data.IRegister;
-import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler.AssemblyInstruction;
+import br.ufrpe.mips.simulator.utils.cache.InstructionCache;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
 import br.ufrpe.mips.simulator.utils.register.RegisterMapper;
 
 /**
@@ -17,12 +16,16 @@ public class Syscall {
   // Memória principal e registradores
   private IMemoryManager memory;
 
-  public Syscall(IMemoryManager memory) {
+  // Cache de instruções decodificadas (invalidada por escritas no segmento `text`)
+  private InstructionCache cache;
+
+  public Syscall(IMemoryManager memory, InstructionCache cache) {
     this.memory = memory;
+    this.cache = cache;
   }
 
-  public void SYSCALL(AssemblyInstruction instruction, StringBuffer buffer) {
-    int v0 = this.memory.getRegisterFromNumber(RegisterMapper.regNumberFromLabel("v0")).read();
+  public void SYSCALL(DecodedInstruction instruction, StringBuffer buffer) {
+    int v0 = this.memory.readRegister(RegisterMapper.regNumberFromLabel("v0"));
 
     switch (v0) {
       case 1 -> this.printInteger();
@@ -34,14 +37,14 @@ public class Syscall {
   }
 
   private void printInteger() {
-    int a0 = this.memory.getRegisterFromNumber(RegisterMapper.regNumberFromLabel("a0")).read();
+    int a0 = this.memory.readRegister(RegisterMapper.regNumberFromLabel("a0"));
     System.out.println(a0);
   }
 
   private void printString() {
     StringBuffer buffer = new StringBuffer();
 
-    int a0 = this.memory.getRegisterFromNumber(RegisterMapper.regNumberFromLabel("a0")).read();
+    int a0 = this.memory.readRegister(RegisterMapper.regNumberFromLabel("a0"));
     long addr = Integer.toUnsignedLong(a0);
     boolean done = false;
 
@@ -49,8 +52,7 @@ public class Syscall {
       StringBuffer inner = new StringBuffer();
 
       for (int i = 3; i >= 0; i--) {
-        IMemoryLocation<Byte> l = this.memory.getByteMemoryLocationFromAddress(addr + i);
-        byte value = l.read();
+        byte value = this.memory.readByte(addr + i);
         char ch = (char) value;
 
         if (ch == '\0') {
@@ -82,8 +84,7 @@ public class Syscall {
 
     // Escrita no registrador
     int regNumber = RegisterMapper.regNumberFromLabel("v0");
-    IRegister dest = this.memory.getRegisterFromNumber(regNumber);
-    dest.write(i);
+    this.memory.writeRegister(regNumber, i);
   }
 
   private void readString() {
@@ -93,10 +94,10 @@ public class Syscall {
 
     // Leitura dos parâmetros
     int regNumber = RegisterMapper.regNumberFromLabel("a0");
-    int addr = this.memory.getRegisterFromNumber(regNumber).read();
+    int addr = this.memory.readRegister(regNumber);
 
     regNumber = RegisterMapper.regNumberFromLabel("a1");
-    int maxChars = this.memory.getRegisterFromNumber(regNumber).read();
+    int maxChars = this.memory.readRegister(regNumber);
 
     long baseAddr = Integer.toUnsignedLong(addr);
     long offset = 0L;
@@ -106,11 +107,13 @@ public class Syscall {
     }
 
     if (maxChars == 1) {
-      this.memory.getByteMemoryLocationFromAddress(baseAddr).write((byte) '\0');
+      this.memory.writeByte(baseAddr, (byte) '\0');
+      this.cache.invalidate(baseAddr);
       return;
     }
 
-    this.memory.getByteMemoryLocationFromAddress(baseAddr + offset).write((byte) '\0');
+    this.memory.writeByte(baseAddr + offset, (byte) '\0');
+    this.cache.invalidate(baseAddr + offset);
     offset += 1;
 
     for (int i = 0; i < line.length(); i += 4) {
@@ -118,7 +121,8 @@ public class Syscall {
       String sub = new StringBuffer(line.substring(i, end)).reverse().toString();
 
       for (char ch : sub.toCharArray()) {
-        this.memory.getByteMemoryLocationFromAddress(baseAddr + offset).write((byte) ch);
+        this.memory.writeByte(baseAddr + offset, (byte) ch);
+        this.cache.invalidate(baseAddr + offset);
         offset += 1;
       }
     }
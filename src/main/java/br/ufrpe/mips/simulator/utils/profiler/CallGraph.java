@@ -0,0 +1,308 @@
+package br.ufrpe.mips.simulator.utils.profiler;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo de chamadas do programa simulado, reconstruído por uma pilha de chamadas paralela à do
+ * programa: JAL empilha o endereço de destino (entrada da função) e JR $ra desempilha.
+ *
+ * Cada caminho distinto de chamadas é um nó de uma árvore (vetores de primitivos indexados pelo
+ * nó), e cada instrução executada é atribuída ao nó atual. Retornos sem chamada correspondente
+ * (ex.: JR $ra no nível mais externo) são ignorados.
+ *
+ * JAL sem retorno correspondente (chamadas de cauda, retorno por outro registrador ou JAL usado
+ * como desvio) aprofundam a pilha indefinidamente: a partir de {@link #MAX_DEPTH} níveis, as
+ * chamadas são agrupadas em um único nó truncado, mantendo a árvore e a saída limitadas.
+ *
+ * @version 1.0
+ */
+public final class CallGraph {
+
+  // Profundidade máxima da pilha (incluindo a entrada do programa e o nó truncado)
+  public static final int MAX_DEPTH = 64;
+
+  // Função do nó truncado
+  public static final long TRUNCATED = -1;
+
+  private static final int ROOT = 0;
+  private static final int NONE = -1;
+
+  /**
+   * Execuções de uma função, identificada pelo endereço de entrada.
+   *
+   * @param address endereço de entrada.
+   * @param calls quantidade de chamadas (JAL).
+   * @param inclusive instruções executadas na função e nas funções chamadas por ela.
+   * @param exclusive instruções executadas apenas na função.
+   */
+  public static record FunctionProfile(long address, long calls, long inclusive,
+      long exclusive) {
+  }
+
+  // Entrada do programa (raiz da árvore)
+  private final long entry;
+
+  // Árvore de chamadas: função, pai, primeiro filho e próximo irmão de cada nó
+  private long[] functions;
+  private int[] parents;
+  private int[] children;
+  private int[] siblings;
+
+  // Instruções executadas e chamadas de cada nó
+  private long[] self;
+  private long[] calls;
+
+  private int size;
+  private int current;
+
+  // Profundidade do nó atual e chamadas ainda abertas além do nó truncado
+  private int depth;
+  private long excess;
+
+  /**
+   * @param entry endereço da primeira instrução do programa.
+   */
+  public CallGraph(long entry) {
+    this.entry = entry;
+    this.reset();
+  }
+
+  /**
+   * Descarta todas as chamadas registradas.
+   */
+  public void reset() {
+    int capacity = 64;
+    this.functions = new long[capacity];
+    this.parents = new int[capacity];
+    this.children = new int[capacity];
+    this.siblings = new int[capacity];
+    this.self = new long[capacity];
+    this.calls = new long[capacity];
+
+    this.size = 0;
+    this.current = this.node(NONE, this.entry);
+    this.depth = 1;
+    this.excess = 0;
+  }
+
+  /**
+   * Atribui uma instrução executada à pilha de chamadas atual.
+   */
+  public void step() {
+    this.self[this.current]++;
+  }
+
+  /**
+   * Atribui instruções executadas (ex.: um bloco compilado) à pilha de chamadas atual.
+   *
+   * @param count quantidade de instruções.
+   */
+  public void step(int count) {
+    this.self[this.current] += count;
+  }
+
+  /**
+   * Chamada de função (JAL).
+   *
+   * @param target endereço de entrada da função.
+   */
+  public void call(long target) {
+    if (this.functions[this.current] == TRUNCATED) {
+      this.excess++;
+      return;
+    }
+
+    long function = this.depth < MAX_DEPTH - 1 ? target : TRUNCATED;
+    int child = this.children[this.current];
+    while (child != NONE && this.functions[child] != function) {
+      child = this.siblings[child];
+    }
+
+    if (child == NONE) {
+      child = this.node(this.current, function);
+    }
+
+    this.calls[child]++;
+    this.current = child;
+    this.depth++;
+  }
+
+  /**
+   * Retorno de função (JR $ra).
+   */
+  public void ret() {
+    if (this.excess > 0) {
+      this.excess--;
+    } else if (this.current != ROOT) {
+      this.current = this.parents[this.current];
+      this.depth--;
+    }
+  }
+
+  /**
+   * Pilhas de chamadas no formato "collapsed stacks".
+   *
+   * @return texto com uma linha por pilha.
+   * @see #writeCollapsedStacks(Writer)
+   */
+  public String collapsedStacks() {
+    StringWriter out = new StringWriter();
+    try {
+      this.writeCollapsedStacks(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return out.toString();
+  }
+
+  /**
+   * Escreve as pilhas de chamadas no formato "collapsed stacks" (uma linha por pilha: funções
+   * separadas por ';' seguidas da quantidade de instruções), utilizado por ferramentas de flame
+   * graph. A árvore é percorrida em profundidade, mantendo apenas o caminho atual.
+   *
+   * @param out destino do texto.
+   * @throws IOException caso não seja possível escrever.
+   */
+  public void writeCollapsedStacks(Writer out) throws IOException {
+    StringBuilder path = new StringBuilder();
+    int[] lengths = new int[MAX_DEPTH + 1];
+    int level = 0;
+
+    int n = ROOT;
+    while (true) {
+      // Entrando no nó: caminho até ele
+      lengths[level] = path.length();
+      if (n != ROOT) {
+        path.append(';');
+      }
+      path.append(CallGraph.name(this.functions[n]));
+
+      if (this.self[n] > 0) {
+        out.append(path).append(' ').append(Long.toString(this.self[n])).append('\n');
+      }
+
+      if (this.children[n] != NONE) {
+        n = this.children[n];
+        level++;
+        continue;
+      }
+
+      // Saindo do nó (e dos pais sem outros filhos)
+      while (true) {
+        path.setLength(lengths[level]);
+        if (n == ROOT) {
+          return;
+        }
+
+        if (this.siblings[n] != NONE) {
+          n = this.siblings[n];
+          break;
+        }
+
+        n = this.parents[n];
+        level--;
+      }
+    }
+  }
+
+  /**
+   * Instruções executadas por função, da maior para a menor contagem inclusiva. Em chamadas
+   * recursivas, a contagem inclusiva considera apenas a chamada mais externa. As instruções do nó
+   * truncado são contadas apenas nas funções que o antecedem.
+   *
+   * @return lista de {@link FunctionProfile}.
+   */
+  public List<FunctionProfile> functions() {
+    // Instruções da subárvore de cada nó (pais sempre são criados antes dos filhos)
+    long[] total = Arrays.copyOf(this.self, this.size);
+    for (int n = this.size - 1; n > ROOT; n--) {
+      total[this.parents[n]] += total[n];
+    }
+
+    // Percurso em profundidade: ocorrências de cada função no caminho atual
+    Map<Long, long[]> byFunction = new LinkedHashMap<>();
+    Map<Long, Integer> active = new HashMap<>();
+
+    int n = ROOT;
+    while (true) {
+      long function = this.functions[n];
+      if (function != TRUNCATED) {
+        long[] f = byFunction.computeIfAbsent(function, k -> new long[3]);
+        f[0] += this.calls[n];
+        f[2] += this.self[n];
+
+        if (active.merge(function, 1, Integer::sum) == 1) {
+          f[1] += total[n];
+        }
+      }
+
+      if (this.children[n] != NONE) {
+        n = this.children[n];
+        continue;
+      }
+
+      while (true) {
+        if (this.functions[n] != TRUNCATED) {
+          active.merge(this.functions[n], -1, Integer::sum);
+        }
+
+        if (n == ROOT) {
+          List<FunctionProfile> profiles = new ArrayList<>();
+          byFunction.forEach((address, f) -> profiles.add(new FunctionProfile(address, f[0],
+              f[1], f[2])));
+          profiles.sort(Comparator.comparingLong(FunctionProfile::inclusive).reversed());
+
+          return profiles;
+        }
+
+        if (this.siblings[n] != NONE) {
+          n = this.siblings[n];
+          break;
+        }
+
+        n = this.parents[n];
+      }
+    }
+  }
+
+  private int node(int parent, long function) {
+    if (this.size == this.functions.length) {
+      int capacity = this.size * 2;
+      this.functions = Arrays.copyOf(this.functions, capacity);
+      this.parents = Arrays.copyOf(this.parents, capacity);
+      this.children = Arrays.copyOf(this.children, capacity);
+      this.siblings = Arrays.copyOf(this.siblings, capacity);
+      this.self = Arrays.copyOf(this.self, capacity);
+      this.calls = Arrays.copyOf(this.calls, capacity);
+    }
+
+    int n = this.size++;
+    this.functions[n] = function;
+    this.parents[n] = parent;
+    this.children[n] = NONE;
+    this.siblings[n] = NONE;
+
+    if (parent != NONE) {
+      this.siblings[n] = this.children[parent];
+      this.children[parent] = n;
+    }
+
+    return n;
+  }
+
+  static String name(long address) {
+    return address == TRUNCATED ? "[truncated]" : "0x%08x".formatted(address);
+  }
+
+}
@@ -0,0 +1,335 @@
+package br.ufrpe.mips.simulator.utils.profiler;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.data.utils.MemoryLocationType;
+import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
+
+/**
+ * Profiler do programa simulado: execuções por endereço do segmento `text`, por
+ * {@link MIPSInstruction} e acessos à memória (leituras e escritas de LW, LB, LBU, SW e SB) por
+ * segmento ({@link MemoryLocationType}), além do grafo de chamadas ({@link CallGraph}) mantido
+ * pelas instruções JAL e JR $ra.
+ *
+ * Todos os contadores são vetores de primitivos: execuções indexadas pelo deslocamento do PC em
+ * relação ao início do segmento `text`, instruções e segmentos indexados pelo ordinal.
+ *
+ * Blocos compilados pelo JIT são contados com um único contador por bloco (indexado pelo endereço
+ * inicial), expandido para as execuções por endereço e por instrução apenas quando as contagens
+ * são consultadas.
+ *
+ * @version 1.0
+ */
+public final class GuestProfiler {
+
+  // Quantidade padrão de pontos quentes no relatório
+  public static final int DEFAULT_HOT_SPOTS = 10;
+
+  private static final MIPSInstruction[] INSTRUCTIONS = MIPSInstruction.values();
+  private static final MemoryLocationType[] SEGMENTS = MemoryLocationType.values();
+
+  // Acesso à memória de cada instrução (indexado pelo ordinal)
+  private static final byte NONE = 0;
+  private static final byte READ = 1;
+  private static final byte WRITE = 2;
+  private static final byte[] ACCESS = new byte[INSTRUCTIONS.length];
+
+  // Registrador de retorno ($ra)
+  private static final int RA = 31;
+
+  static {
+    for (MIPSInstruction i : INSTRUCTIONS) {
+      ACCESS[i.ordinal()] = switch (i) {
+        case LW, LB, LBU -> READ;
+        case SW, SB -> WRITE;
+        default -> NONE;
+      };
+    }
+  }
+
+  private final IMemoryManager memory;
+  private final long textBase;
+
+  private long[] executions = new long[0];
+  private final long[] instructions = new long[INSTRUCTIONS.length];
+  private final long[] reads = new long[SEGMENTS.length];
+  private final long[] writes = new long[SEGMENTS.length];
+  private long steps;
+  private final CallGraph callGraph;
+
+  // Execuções completas de cada bloco ainda não expandidas (indexadas pelo endereço inicial)
+  private long[] blockRuns = new long[0];
+  private DecodedInstruction[][] blocks = new DecodedInstruction[0][];
+  private boolean pending;
+
+  public GuestProfiler(IMemoryManager memory) {
+    this.memory = memory;
+    this.textBase = memory.textBaseAddress();
+    this.callGraph = new CallGraph(this.textBase);
+  }
+
+  /**
+   * Descarta todos os contadores.
+   *
+   * @param lastAddress endereço da última instrução do programa.
+   */
+  public void reset(long lastAddress) {
+    int length = (int) Math.max(0, ((lastAddress - this.textBase) >> 2) + 1);
+    this.executions = new long[length];
+    this.blockRuns = new long[length];
+    this.blocks = new DecodedInstruction[length][];
+    this.pending = false;
+    Arrays.fill(this.instructions, 0);
+    Arrays.fill(this.reads, 0);
+    Arrays.fill(this.writes, 0);
+    this.steps = 0;
+    this.callGraph.reset();
+  }
+
+  /**
+   * Registra a instrução prestes a ser executada (o endereço de LW/SW é calculado a partir dos
+   * registradores antes da execução).
+   *
+   * @param address endereço da instrução.
+   * @param decoded instrução.
+   */
+  public void execute(long address, DecodedInstruction decoded) {
+    MIPSInstruction instruction = decoded.instruction();
+    this.count(address, instruction);
+
+    byte access = ACCESS[instruction.ordinal()];
+    if (access == READ) {
+      this.read(this.effectiveAddress(decoded));
+    } else if (access == WRITE) {
+      this.write(this.effectiveAddress(decoded));
+    }
+
+    this.trackCall(decoded);
+  }
+
+  /**
+   * Registra as instruções executadas por um bloco compilado (os acessos à memória são
+   * registrados durante a execução do bloco).
+   *
+   * @param start endereço da primeira instrução.
+   * @param decoded instruções do bloco.
+   * @param count quantidade de instruções executadas.
+   */
+  public void executeBlock(long start, DecodedInstruction[] decoded, int count) {
+    long index = (start - this.textBase) >> 2;
+
+    // Bloco executado parcialmente: contagem por instrução
+    if (count != decoded.length || index < 0 || index >= this.blockRuns.length) {
+      for (int k = 0; k < count; k++) {
+        this.count(start + 4L * k, decoded[k].instruction());
+        this.trackCall(decoded[k]);
+      }
+      return;
+    }
+
+    // Bloco recompilado (código modificado): contagens do bloco anterior são expandidas
+    int i = (int) index;
+    if (this.blocks[i] != decoded) {
+      this.expand(i);
+      this.blocks[i] = decoded;
+    }
+
+    this.blockRuns[i]++;
+    this.pending = true;
+    this.steps += count;
+    this.callGraph.step(count);
+
+    // Apenas a última instrução de um bloco pode ser JAL ou JR
+    this.trackCall(decoded[count - 1]);
+  }
+
+  public void read(long address) {
+    this.reads[this.memory.typeFromAddress(address).ordinal()]++;
+  }
+
+  public void write(long address) {
+    this.writes[this.memory.typeFromAddress(address).ordinal()]++;
+  }
+
+  private void count(long address, MIPSInstruction instruction) {
+    long index = (address - this.textBase) >> 2;
+    if (index >= 0 && index < this.executions.length) {
+      this.executions[(int) index]++;
+    }
+
+    this.instructions[instruction.ordinal()]++;
+    this.steps++;
+    this.callGraph.step();
+  }
+
+  /**
+   * Atualiza a pilha de chamadas após a instrução (JAL e JR são atribuídos à função de origem).
+   */
+  private void trackCall(DecodedInstruction decoded) {
+    MIPSInstruction instruction = decoded.instruction();
+    if (instruction == MIPSInstruction.JAL) {
+      this.callGraph.call(Integer.toUnsignedLong(decoded.address()));
+    } else if (instruction == MIPSInstruction.JR && decoded.rs() == RA) {
+      this.callGraph.ret();
+    }
+  }
+
+  /**
+   * Expande as execuções pendentes do bloco iniciado nessa posição.
+   */
+  private void expand(int index) {
+    long runs = this.blockRuns[index];
+    if (runs == 0) {
+      return;
+    }
+
+    DecodedInstruction[] block = this.blocks[index];
+    for (int k = 0; k < block.length; k++) {
+      if (index + k < this.executions.length) {
+        this.executions[index + k] += runs;
+      }
+      this.instructions[block[k].instruction().ordinal()] += runs;
+    }
+
+    this.blockRuns[index] = 0;
+  }
+
+  private void flush() {
+    if (!this.pending) {
+      return;
+    }
+
+    for (int i = 0; i < this.blockRuns.length; i++) {
+      this.expand(i);
+    }
+    this.pending = false;
+  }
+
+  private long effectiveAddress(DecodedInstruction decoded) {
+    return Integer.toUnsignedLong(this.memory.readRegister(decoded.rs())) + decoded.immediate();
+  }
+
+  public long steps() {
+    return this.steps;
+  }
+
+  /**
+   * @param address endereço do segmento `text`.
+   * @return execuções da instrução nesse endereço.
+   */
+  public long executions(long address) {
+    this.flush();
+    long index = (address - this.textBase) >> 2;
+    return index >= 0 && index < this.executions.length ? this.executions[(int) index] : 0;
+  }
+
+  public long executions(MIPSInstruction instruction) {
+    this.flush();
+    return this.instructions[instruction.ordinal()];
+  }
+
+  public long reads(MemoryLocationType segment) {
+    return this.reads[segment.ordinal()];
+  }
+
+  public long writes(MemoryLocationType segment) {
+    return this.writes[segment.ordinal()];
+  }
+
+  public CallGraph callGraph() {
+    return this.callGraph;
+  }
+
+  /**
+   * Relatório da execução: pontos quentes, distribuição das instruções, acessos por segmento e a
+   * listagem do programa anotada com as execuções de cada instrução.
+   *
+   * @param hotSpots quantidade de endereços mais executados no relatório.
+   * @return texto do relatório.
+   */
+  public String report(int hotSpots) {
+    this.flush();
+    StringBuilder report = new StringBuilder();
+    report.append("Perfil de execução: %d instruções%n".formatted(this.steps));
+
+    // Pontos quentes
+    int[] hot = IntStream.range(0, this.executions.length).filter(i -> this.executions[i] > 0)
+        .boxed().sorted(Comparator.comparingLong((Integer i) -> -this.executions[i]))
+        .limit(hotSpots).mapToInt(Integer::intValue).toArray();
+
+    report.append("%nPontos quentes%n".formatted());
+    for (int i : hot) {
+      report.append(this.line(i, "  "));
+    }
+
+    // Distribuição das instruções
+    report.append("%nInstruções%n".formatted());
+    Integer[] order = IntStream.range(0, INSTRUCTIONS.length).boxed()
+        .sorted(Comparator.comparingLong((Integer i) -> -this.instructions[i]))
+        .toArray(Integer[]::new);
+    for (int i : order) {
+      if (this.instructions[i] > 0) {
+        double percent = this.percent(this.instructions[i]);
+        report.append("  %-8s %12d %7.2f%% %s%n".formatted(INSTRUCTIONS[i], this.instructions[i],
+            percent, "#".repeat((int) Math.round(percent / 2))));
+      }
+    }
+
+    // Acessos à memória
+    report.append("%nAcessos à memória%n  %-14s %12s %12s%n".formatted("Segmento", "Leituras",
+        "Escritas"));
+    for (MemoryLocationType segment : SEGMENTS) {
+      int s = segment.ordinal();
+      if (this.reads[s] > 0 || this.writes[s] > 0) {
+        report.append("  %-14s %12d %12d%n".formatted(segment, this.reads[s], this.writes[s]));
+      }
+    }
+
+    // Funções (endereço de entrada)
+    report.append("%nFunções%n  %-10s %10s %12s %12s%n".formatted("Entrada", "Chamadas",
+        "Inclusivo", "Exclusivo"));
+    for (CallGraph.FunctionProfile f : this.callGraph.functions()) {
+      report.append("  0x%08x %10d %12d %12d%n".formatted(f.address(), f.calls(), f.inclusive(),
+          f.exclusive()));
+    }
+
+    // Listagem anotada (pontos quentes marcados com >)
+    boolean[] isHot = new boolean[this.executions.length];
+    for (int i : hot) {
+      isHot[i] = true;
+    }
+
+    report.append("%nListagem%n".formatted());
+    for (int i = 0; i < this.executions.length; i++) {
+      report.append(this.line(i, isHot[i] ? "> " : "  "));
+    }
+
+    return report.toString();
+  }
+
+  private String line(int index, String marker) {
+    long address = this.textBase + 4L * index;
+    long count = this.executions[index];
+
+    String assembly;
+    try {
+      DecodedInstruction decoded = MIPSDisassembler.decode(this.memory.readWord(address));
+      assembly = MIPSDisassembler.assemblyFromInstruction(decoded);
+    } catch (IllegalArgumentException e) {
+      assembly = "?";
+    }
+
+    return "%s0x%08x %12d %7.2f%%  %s%n".formatted(marker, address, count, this.percent(count),
+        assembly);
+  }
+
+  private double percent(long count) {
+    return this.steps == 0 ? 0.0 : 100.0 * count / this.steps;
+  }
+
+}
@@ -0,0 +1,283 @@
+package br.ufrpe.mips.simulator.utils.snapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.data.utils.WriteJournal;
+import br.ufrpe.mips.simulator.utils.cache.InstructionCache;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+
+/**
+ * Classe utilitária, histórico de execução usado para voltar ou avançar para qualquer passo já
+ * executado.
+ *
+ * O histórico é formado por capturas completas do processador a cada N passos (checkpoints,
+ * compartilhando páginas copy-on-write) e por um registro compacto das escritas de cada passo:
+ * alvo (endereço da palavra ou registrador), valor antes e valor depois da escrita, armazenados em
+ * vetores primitivos. Para chegar a um passo, parte-se do estado mais próximo (atual ou
+ * checkpoint) e as escritas são desfeitas ou refeitas, no máximo N/2 passos a partir de um
+ * checkpoint. Nenhuma instrução é executada novamente (SYSCALLs não são repetidas).
+ *
+ * Os passos são numerados a partir do estado inicial do histórico (passo 0).
+ *
+ * @version 1.0
+ */
+public final class ExecutionHistory {
+
+  // Registradores são armazenados como alvos negativos: -1 - posição
+  private static final int REGISTERS = WriteJournal.PC + 1;
+
+  private final IMemoryManager memory;
+  private final InstructionCache cache;
+  private final int checkpointInterval;
+
+  // Checkpoints dos passos 0, N, 2N, ...
+  private final List<ProcessorSnapshot> checkpoints = new ArrayList<>();
+
+  // Última instrução, endereço e saída de cada passo
+  private DecodedInstruction[] instructions = new DecodedInstruction[64];
+  private long[] addresses = new long[64];
+  private String[] outputs = new String[64];
+  private int steps;
+
+  // Escritas do passo s (do passo s - 1 para s): posições [offsets[s - 1], offsets[s])
+  private int[] offsets = new int[64];
+  private long[] targets = new long[256];
+  private int[] before = new int[256];
+  private int[] after = new int[256];
+
+  /**
+   * @param memory memória principal e registradores do processador.
+   * @param cache cache de instruções (invalidada por escritas no segmento `text`).
+   * @param checkpointInterval quantidade de passos entre checkpoints (>= 1).
+   * @param initial estado inicial (passo 0).
+   */
+  public ExecutionHistory(IMemoryManager memory, InstructionCache cache, int checkpointInterval,
+      ProcessorSnapshot initial) {
+    if (checkpointInterval < 1) {
+      throw new IllegalArgumentException(
+          "Intervalo entre checkpoints deve ser positivo: %d.".formatted(checkpointInterval));
+    }
+
+    this.memory = memory;
+    this.cache = cache;
+    this.checkpointInterval = checkpointInterval;
+    this.checkpoints.add(initial);
+    this.instructions[0] = initial.lastInstruction();
+    this.addresses[0] = initial.lastAddress();
+    this.outputs[0] = initial.output();
+  }
+
+  /**
+   * Último passo registrado.
+   *
+   * @return número do passo.
+   */
+  public int lastStep() {
+    return this.steps;
+  }
+
+  /**
+   * Checa se um checkpoint deve ser registrado para esse passo.
+   *
+   * @param step passo recém registrado.
+   * @return true caso {@link #checkpoint(ProcessorSnapshot)} deva ser chamado.
+   */
+  public boolean isCheckpoint(int step) {
+    return step % this.checkpointInterval == 0;
+  }
+
+  /**
+   * Registra um novo passo a partir das escritas da instrução executada. Os valores depois da
+   * escrita são lidos da memória.
+   *
+   * @param changes escritas da instrução (com valores anteriores).
+   * @param instruction instrução executada.
+   * @param address endereço da instrução executada.
+   * @param output saída da instrução.
+   */
+  public void record(WriteJournal.Changes changes, DecodedInstruction instruction, long address,
+      String output) {
+    int step = ++this.steps;
+    this.ensureSteps(step + 1);
+
+    int n = this.offsets[step - 1];
+    this.ensureEntries(n + Long.bitCount(changes.registers()) + changes.wordCount());
+
+    for (int i = 0; i < REGISTERS; i++) {
+      if (changes.hasRegister(i)) {
+        this.targets[n] = -1 - i;
+        this.before[n] = changes.previousRegister(i);
+        this.after[n] = this.readRegister(i);
+        n++;
+      }
+    }
+
+    for (int k = 0; k < changes.wordCount(); k++) {
+      long word = changes.word(k);
+      this.targets[n] = word;
+      this.before[n] = changes.previousWord(k);
+      this.after[n] = this.memory.readWord(word);
+      n++;
+    }
+
+    this.offsets[step] = n;
+    this.instructions[step] = instruction;
+    this.addresses[step] = address;
+    this.outputs[step] = output;
+  }
+
+  /**
+   * Registra o checkpoint do último passo.
+   *
+   * @param snapshot estado do processador no último passo.
+   */
+  public void checkpoint(ProcessorSnapshot snapshot) {
+    this.checkpoints.add(snapshot);
+  }
+
+  /**
+   * Descarta todos os passos posteriores a esse (nova execução a partir de um passo anterior).
+   *
+   * @param step último passo mantido.
+   */
+  public void truncate(int step) {
+    this.steps = step;
+
+    int keep = step / this.checkpointInterval + 1;
+    this.checkpoints.subList(keep, this.checkpoints.size()).clear();
+  }
+
+  /**
+   * Escolhe o ponto de partida mais próximo para chegar a esse passo: o passo atual ou um
+   * checkpoint.
+   *
+   * @param current passo atual.
+   * @param target passo desejado.
+   * @return passo de partida (current ou o passo de um checkpoint).
+   */
+  public int closestStart(int current, int target) {
+    int floor = target - target % this.checkpointInterval;
+    int ceil = floor + this.checkpointInterval;
+    int start = current;
+
+    if (target - floor < Math.abs(target - start)) {
+      start = floor;
+    }
+
+    if (ceil <= this.steps && ceil - target < Math.abs(target - start)) {
+      start = ceil;
+    }
+
+    return start;
+  }
+
+  /**
+   * Checkpoint registrado para esse passo.
+   *
+   * @param step múltiplo do intervalo entre checkpoints.
+   * @return {@link ProcessorSnapshot}.
+   */
+  public ProcessorSnapshot checkpointAt(int step) {
+    return this.checkpoints.get(step / this.checkpointInterval);
+  }
+
+  /**
+   * Desfaz as escritas desse passo (volta para o passo anterior).
+   *
+   * @param step passo em [1..lastStep].
+   */
+  public void undo(int step) {
+    for (int e = this.offsets[step] - 1; e >= this.offsets[step - 1]; e--) {
+      this.apply(this.targets[e], this.before[e]);
+    }
+  }
+
+  /**
+   * Refaz as escritas desse passo (avança do passo anterior para esse).
+   *
+   * @param step passo em [1..lastStep].
+   */
+  public void redo(int step) {
+    for (int e = this.offsets[step - 1]; e < this.offsets[step]; e++) {
+      this.apply(this.targets[e], this.after[e]);
+    }
+  }
+
+  /**
+   * Última instrução executada nesse passo.
+   *
+   * @param step passo em [0..lastStep].
+   * @return {@link DecodedInstruction} ou null (nenhuma instrução executada).
+   */
+  public DecodedInstruction instruction(int step) {
+    return this.instructions[step];
+  }
+
+  /**
+   * Endereço da última instrução executada nesse passo.
+   *
+   * @param step passo em [0..lastStep].
+   * @return endereço da instrução.
+   */
+  public long address(int step) {
+    return this.addresses[step];
+  }
+
+  /**
+   * Saída da instrução executada nesse passo.
+   *
+   * @param step passo em [0..lastStep].
+   * @return saída (String vazia caso nada tenha sido escrito).
+   */
+  public String output(int step) {
+    return this.outputs[step];
+  }
+
+  private void apply(long target, int value) {
+    if (target >= 0) {
+      this.memory.writeWord(target, value);
+      this.cache.invalidate(target);
+      return;
+    }
+
+    int index = (int) (-1 - target);
+    switch (index) {
+      case WriteJournal.HI -> this.memory.writeHI(value);
+      case WriteJournal.LO -> this.memory.writeLO(value);
+      case WriteJournal.PC -> this.memory.writePC(value);
+      default -> this.memory.writeRegister(index, value);
+    }
+  }
+
+  private int readRegister(int index) {
+    return switch (index) {
+      case WriteJournal.HI -> this.memory.readHI();
+      case WriteJournal.LO -> this.memory.readLO();
+      case WriteJournal.PC -> this.memory.readPC();
+      default -> this.memory.readRegister(index);
+    };
+  }
+
+  private void ensureSteps(int size) {
+    if (size > this.offsets.length) {
+      int length = Math.max(size, this.offsets.length * 2);
+      this.offsets = Arrays.copyOf(this.offsets, length);
+      this.instructions = Arrays.copyOf(this.instructions, length);
+      this.addresses = Arrays.copyOf(this.addresses, length);
+      this.outputs = Arrays.copyOf(this.outputs, length);
+    }
+  }
+
+  private void ensureEntries(int size) {
+    if (size > this.targets.length) {
+      int length = Math.max(size, this.targets.length * 2);
+      this.targets = Arrays.copyOf(this.targets, length);
+      this.before = Arrays.copyOf(this.before, length);
+      this.after = Arrays.copyOf(this.after, length);
+    }
+  }
+
+}
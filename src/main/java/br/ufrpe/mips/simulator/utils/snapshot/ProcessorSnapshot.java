@@ -0,0 +1,16 @@
+package br.ufrpe.mips.simulator.utils.snapshot;
+
+import br.ufrpe.mips.data.IMemorySnapshot;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+
+/**
+ * Classe utilitária, estado capturado de um processador: memória e registradores (compartilhados
+ * copy-on-write quando suportado pelo gerenciador de memória), última instrução executada, sua
+ * saída e o endereço da última instrução do programa.
+ * 
+ * @version 1.0
+ */
+public record ProcessorSnapshot(IMemorySnapshot memory, DecodedInstruction lastInstruction,
+    long lastAddress, String output, long finalInstrAddr) {
+
+}
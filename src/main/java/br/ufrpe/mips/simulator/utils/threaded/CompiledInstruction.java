@@ -0,0 +1,17 @@
+package br.ufrpe.mips.simulator.utils.threaded;
+
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+
+/**
+ * Classe utilitária, associa uma instrução decodificada ao seu {@link Handler}.
+ *
+ * @param instruction instrução decodificada.
+ * @param handler código pré-configurado da instrução.
+ * @param output true caso a instrução possa escrever no buffer de saída (overflow ou SYSCALL).
+ * 
+ * @version 1.0
+ */
+public record CompiledInstruction(DecodedInstruction instruction, Handler handler,
+    boolean output) {
+
+}
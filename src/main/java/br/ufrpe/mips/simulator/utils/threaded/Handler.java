@@ -0,0 +1,18 @@
+package br.ufrpe.mips.simulator.utils.threaded;
+
+/**
+ * Código pré-configurado de uma instrução: registradores, imediatos e próximo PC já são
+ * conhecidos, restando apenas executar a operação.
+ * 
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface Handler {
+
+  /**
+   * Executa a instrução e atualiza o PC.
+   * 
+   * @param buffer saída da instrução (ex.: overflow).
+   */
+  void execute(StringBuffer buffer);
+}
@@ -0,0 +1,227 @@
+package br.ufrpe.mips.simulator.utils.threaded;
+
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+import br.ufrpe.mips.simulator.utils.operation.ArithmeticLogic;
+import br.ufrpe.mips.simulator.utils.operation.ImmediateAL;
+import br.ufrpe.mips.simulator.utils.operation.JumpBranch;
+import br.ufrpe.mips.simulator.utils.operation.LoadStore;
+import br.ufrpe.mips.simulator.utils.operation.Syscall;
+
+/**
+ * Classe utilitária, traduz instruções decodificadas em {@link Handler}s.
+ *
+ * Os números dos registradores, imediatos (com extensão de sinal), destino de pulos e endereço da
+ * próxima instrução são resolvidos durante a tradução, de forma que a execução não precisa ler
+ * campos da palavra nem escolher a operação. Cada handler chama o mesmo runner do interpretador
+ * (em {@link br.ufrpe.mips.simulator.utils.operation}) com os campos já extraídos, portanto a
+ * semântica das instruções é definida em um único lugar.
+ *
+ * Também é registrado se a instrução pode escrever no buffer de saída: o buffer só precisa ser
+ * limpo após essas instruções.
+ *
+ * @version 1.0
+ */
+public final class ThreadedCodeCompiler {
+
+  // Memória principal e registradores
+  private final IMemoryManager memory;
+
+  // Runners das instruções (os mesmos utilizados pelo interpretador)
+  private final ArithmeticLogic al;
+  private final ImmediateAL ial;
+  private final JumpBranch jb;
+  private final LoadStore ls;
+  private final Syscall sc;
+
+  public ThreadedCodeCompiler(IMemoryManager memory, ArithmeticLogic al, ImmediateAL ial,
+      JumpBranch jb, LoadStore ls, Syscall sc) {
+    this.memory = memory;
+    this.al = al;
+    this.ial = ial;
+    this.jb = jb;
+    this.ls = ls;
+    this.sc = sc;
+  }
+
+  /**
+   * Traduz a instrução localizada nesse endereço.
+   *
+   * @param address endereço da instrução.
+   * @param d instrução decodificada.
+   * @return {@link CompiledInstruction}.
+   */
+  public CompiledInstruction compile(long address, DecodedInstruction d) {
+    IMemoryManager memory = this.memory;
+    ArithmeticLogic al = this.al;
+    ImmediateAL ial = this.ial;
+    JumpBranch jb = this.jb;
+    LoadStore ls = this.ls;
+
+    // Campos da instrução
+    int rs = d.rs();
+    int rt = d.rt();
+    int rd = d.rd();
+    int shamt = d.shamt();
+    int immediate = d.immediate();
+    int target = d.address();
+    int next = (int) (address + 4);
+    int branch = (int) (address + 4 + immediate * 4L);
+
+    Handler h = switch (d.instruction()) {
+      case ADD -> b -> {
+        al.ADD(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case ADDU -> b -> {
+        al.ADDU(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case SUB -> b -> {
+        al.SUB(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case SUBU -> b -> {
+        al.SUBU(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case DIV -> b -> {
+        al.DIV(rs, rt, b);
+        memory.writePC(next);
+      };
+      case DIVU -> b -> {
+        al.DIVU(rs, rt, b);
+        memory.writePC(next);
+      };
+      case MULT -> b -> {
+        al.MULT(rs, rt, b);
+        memory.writePC(next);
+      };
+      case MULTU -> b -> {
+        al.MULTU(rs, rt, b);
+        memory.writePC(next);
+      };
+      case MFLO -> b -> {
+        al.MFLO(rd, b);
+        memory.writePC(next);
+      };
+      case MFHI -> b -> {
+        al.MFHI(rd, b);
+        memory.writePC(next);
+      };
+      case SLL -> b -> {
+        al.SLL(rt, rd, shamt, b);
+        memory.writePC(next);
+      };
+      case SRL -> b -> {
+        al.SRL(rt, rd, shamt, b);
+        memory.writePC(next);
+      };
+      case SRA -> b -> {
+        al.SRA(rt, rd, shamt, b);
+        memory.writePC(next);
+      };
+      case SLLV -> b -> {
+        al.SLLV(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case SRLV -> b -> {
+        al.SRLV(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case SRAV -> b -> {
+        al.SRAV(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case SLT -> b -> {
+        al.SLT(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case AND -> b -> {
+        al.AND(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case OR -> b -> {
+        al.OR(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case XOR -> b -> {
+        al.XOR(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case NOR -> b -> {
+        al.NOR(rs, rt, rd, b);
+        memory.writePC(next);
+      };
+      case ADDI -> b -> {
+        ial.ADDI(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case ADDIU -> b -> {
+        ial.ADDIU(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case SLTI -> b -> {
+        ial.SLTI(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case ANDI -> b -> {
+        ial.ANDI(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case ORI -> b -> {
+        ial.ORI(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case XORI -> b -> {
+        ial.XORI(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case LUI -> b -> {
+        ls.LUI(rt, immediate, b);
+        memory.writePC(next);
+      };
+      case LW -> b -> {
+        ls.LW(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case SW -> b -> {
+        ls.SW(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case LB -> b -> {
+        ls.LB(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case LBU -> b -> {
+        ls.LBU(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case SB -> b -> {
+        ls.SB(rs, rt, immediate, b);
+        memory.writePC(next);
+      };
+      case J -> b -> jb.J(target, b);
+      case JAL -> b -> jb.JAL(next, target, b);
+      case JR -> b -> jb.JR(rs, b);
+      case BEQ -> b -> jb.BEQ(rs, rt, next, branch, b);
+      case BNE -> b -> jb.BNE(rs, rt, next, branch, b);
+      case BLEZ -> b -> jb.BLEZ(rs, next, branch, b);
+      case BLTZ -> b -> jb.BLTZ(rs, next, branch, b);
+      case BGTZ -> b -> jb.BGTZ(rs, next, branch, b);
+      case SYSCALL -> b -> {
+        this.sc.SYSCALL(d, b);
+        memory.writePC(next);
+      };
+    };
+
+    // Apenas overflow e chamadas ao sistema escrevem no buffer de saída
+    boolean output = switch (d.instruction()) {
+      case ADD, SUB, ADDI, SYSCALL -> true;
+      default -> false;
+    };
+
+    return new CompiledInstruction(d, h, output);
+  }
+
+}
@@ -1,6 +1,7 @@
 import binascii
 import json
-import os
+import mmap
+import struct
 import sys
 import typing
 from dataclasses import dataclass
@@ -22,10 +23,44 @@ class MemoryLocation:
     value: int
 
 
-INPUT_PATH = 'output/gui/'
+class Trace:
+    """Passos da execução (JSON) em um único arquivo indexado, lidos sob demanda.
+
+    Formato escrito por IndexedTraceWriter: cabeçalho (magic, versão), registros,
+    índice com a posição de cada registro e rodapé (posição do índice,
+    quantidade de registros, magic).
+    """
+
+    MAGIC = 0x4d495058
+    TRAILER = struct.Struct('>qqi')
+
+    def __init__(self, path: str):
+        self._file = open(path, 'rb')
+        self._data = mmap.mmap(self._file.fileno(), 0, access=mmap.ACCESS_READ)
+
+        trailer = len(self._data) - Trace.TRAILER.size
+        self._index, self._count, magic = Trace.TRAILER.unpack_from(self._data, trailer)
+        if magic != Trace.MAGIC or struct.unpack_from('>i', self._data)[0] != Trace.MAGIC:
+            raise ValueError(f'{path} não é um trace indexado.')
+
+    def __len__(self) -> int:
+        return self._count
+
+    def __getitem__(self, i: int) -> typing.Dict:
+        if i < 0 or i >= self._count:
+            raise IndexError(i)
+
+        start, end = struct.unpack_from('>qq', self._data, self._index + 8 * i)
+        if i + 1 == self._count:
+            end = self._index
+
+        return json.loads(self._data[start:end])
+
+
+TRACE_PATH = 'output/gui/trace.idx'
 FONT_PATH = "src/main/resources/fonts/roboto-regular.ttf"
 
-JSON_LIST: typing.List[typing.Dict] = []
+JSON_LIST: typing.Optional[Trace] = None
 LIST_INDEX: int = 0
 
 INSTRUCTIONS: typing.List[Instruction] = []
@@ -127,16 +162,8 @@ def load_data():
     global LIST_INDEX
     global JSON_LIST
 
-    i = 0
     LIST_INDEX = 0
-    path = os.path.join(INPUT_PATH, f'{i}.json')
-
-    while os.path.exists(path):
-        with open(path) as json_file:
-            JSON_LIST.insert(i, json.load(json_file))
-
-        i += 1
-        path = os.path.join(INPUT_PATH, f'{i}.json')
+    JSON_LIST = Trace(TRACE_PATH)
 
     _load_regs_mem()
     _load_assembly()
@@ -0,0 +1,31 @@
+package br.ufrpe.mips;
+
+import java.util.List;
+
+/**
+ * Programas (instruções em hexadecimal) compartilhados pelos testes.
+ *
+ * @version 1.0
+ */
+public final class TestPrograms {
+
+  // Chama f (0x0040001c) duas vezes, f salva $ra na pilha e chama g com jal/jr
+  public static final List<String> CALLS = List.of("0x20040005", "0x0c100007", "0x00408020",
+      "0x20040009", "0x0c100007", "0x00508820", "0x08100010", "0x23bdfffc", "0xafbf0000",
+      "0x00841020", "0x0c10000e", "0x8fbf0000", "0x23bd0004", "0x03e00008", "0x20420001",
+      "0x03e00008", "0x20080001");
+
+  // top: addi $11, $11, 1 é sobrescrita (sw) por addi $12, $12, 5 na primeira iteração
+  public static final List<String> SELF_MODIFYING = List.of("0x200a0002", "0x3c080040",
+      "0x8d09001c", "0x216b0001", "0xad09000c", "0x214affff", "0x1540fffc", "0x218c0005");
+
+  // sw/sb, mult/div (HI e LO), jal/jr, sobrescrita com 0 e lbu
+  public static final List<String> TRACE = List.of("0x3c081001", "0x2009fff9", "0xad090004",
+      "0xa1090001", "0x01290018", "0x00005010", "0x00005812", "0x0169001a", "0xad000004",
+      "0x0c10000c", "0x200c0000", "0x0810000e", "0x20020003", "0x03e00008", "0x910d0001");
+
+  private TestPrograms() {
+    // Essa classe não pode ser instanciada.
+  }
+
+}
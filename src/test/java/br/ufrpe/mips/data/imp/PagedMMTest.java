@@ -0,0 +1,123 @@
+package br.ufrpe.mips.data.imp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.IMemoryLocation;
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.data.utils.WriteJournal;
+
+public class PagedMMTest {
+
+  private static void fill(IMemoryManager m) {
+    m.getWordMemoryLocationFromAddress(2147479576L).write(4194376);
+    m.getWordMemoryLocationFromAddress(268500992L).write(-192029);
+    m.getWordMemoryLocationFromAddress(4194304L).write(0x20080001);
+    m.getByteMemoryLocationFromAddress(268508177L).write((byte) -7);
+    m.getWordMemoryLocationFromAddress(268502144L).read();
+  }
+
+  private static Map<Long, Integer> words(IMemoryManager m) {
+    return m.wordMemoryLocations().stream()
+        .collect(Collectors.toMap(IMemoryLocation::address, IMemoryLocation::read));
+  }
+
+  @Test
+  public void sameStateAsMARS() {
+    IMemoryManager mars = new MARSMemoryManager();
+    IMemoryManager paged = new PagedMemoryManager();
+
+    fill(mars);
+    fill(paged);
+
+    assertEquals(words(mars), words(paged));
+    assertEquals(mars.byteMemoryLocations().size(), paged.byteMemoryLocations().size());
+    assertEquals(mars.getByteMemoryLocationFromAddress(268500993L).read(),
+        paged.getByteMemoryLocationFromAddress(268500993L).read());
+  }
+
+  @Test
+  public void primitiveAccessMatchesLocations() {
+    for (IMemoryManager m : new IMemoryManager[] {new MARSMemoryManager(),
+        new PagedMemoryManager()}) {
+      m.writeWord(268500992L, 0x11223344);
+      m.writeByte(268500993L, (byte) -1);
+
+      assertEquals(0x11ff3344, m.readWord(268500992L));
+      assertEquals(0x11ff3344, (int) m.getWordMemoryLocationFromAddress(268500992L).read());
+      assertEquals((byte) 0x44, m.readByte(268500995L));
+      assertEquals(1, m.wordMemoryLocations().size());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unalignedWordAccess() {
+    new PagedMemoryManager().readWord(268500993L);
+  }
+
+  @Test
+  public void reservedAndUnalignedAddresses() {
+    IMemoryManager paged = new PagedMemoryManager();
+
+    assertNull(paged.getByteMemoryLocationFromAddress(0L));
+    assertNull(paged.getWordMemoryLocationFromAddress(-4L));
+    assertNull(paged.getWordMemoryLocationFromAddress(268500993L));
+  }
+
+  @Test
+  public void zeroRegisterIsHardwired() {
+    for (IMemoryManager m : new IMemoryManager[] {new MARSMemoryManager(),
+        new PagedMemoryManager()}) {
+      m.writeRegister(0, 7);
+      m.getRegisterFromNumber(0).write(7);
+      m.writeRegister(8, 7);
+      m.writeLO(-1);
+
+      assertEquals(0, m.readRegister(0));
+      assertEquals(0, m.getRegisterFromNumber(0).read());
+      assertEquals(7, m.getRegisterFromNumber(8).read());
+      assertEquals(-1, m.getLO().read());
+    }
+  }
+
+  @Test
+  public void journalRecordsWritesUntilDrained() {
+    for (IMemoryManager m : new IMemoryManager[] {new MARSMemoryManager(),
+        new PagedMemoryManager()}) {
+      m.writeRegister(9, 1); // Ainda desabilitado
+      m.setJournalEnabled(true);
+
+      m.writeRegister(0, 7);
+      m.writeRegister(8, 7);
+      m.writeHI(3);
+      m.writeWord(268500992L, 5);
+      m.writeByte(268500993L, (byte) 1);
+      m.getWordMemoryLocationFromAddress(268500996L).write(2);
+
+      WriteJournal.Changes changes = m.drainChanges();
+      assertEquals((1L << 8) | (1L << WriteJournal.HI), changes.registers());
+      assertEquals(2, changes.wordCount());
+      assertEquals(268500992L, changes.word(0));
+      assertEquals(268500996L, changes.word(1));
+
+      assertTrue(m.drainChanges().isEmpty());
+    }
+  }
+
+  @Test
+  public void clearDiscardsPages() {
+    IMemoryManager paged = new PagedMemoryManager();
+
+    fill(paged);
+    paged.clear();
+
+    assertEquals(0, paged.wordMemoryLocations().size());
+    assertEquals(0, (int) paged.getWordMemoryLocationFromAddress(268500992L).read());
+  }
+}
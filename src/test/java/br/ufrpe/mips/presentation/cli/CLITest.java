@@ -5,6 +5,9 @@ import java.util.List;
 import java.util.Map;
 
 import br.ufrpe.mips.simulator.IMIPS32;
+import br.ufrpe.mips.simulator.utils.execution.RunSummary;
+import br.ufrpe.mips.simulator.utils.execution.StopCondition;
+import br.ufrpe.mips.simulator.utils.execution.StopReason;
 
 public class CLITest {
 
@@ -51,6 +54,22 @@ public class CLITest {
       System.out.println("Executando próxima instrução...");
     }
 
+    @Override
+    public RunSummary runSteps(long maxSteps) {
+      return this.runUntil(StopCondition.steps(maxSteps));
+    }
+
+    @Override
+    public RunSummary runUntil(StopCondition condition) {
+      long steps = 0;
+      while (steps < condition.maxSteps() && this.hasNextInstruction()) {
+        this.runNexInstruction();
+        steps++;
+      }
+
+      return new RunSummary(steps, StopReason.HALTED);
+    }
+
     @Override
     public String output() {
       return "overflow";
@@ -76,10 +95,38 @@ public class CLITest {
       return Map.of(40921L, 100, 49127L, 0, 4198471879L, 4872, 666666L, 2134, 88888L, 7411);
     }
 
+    @Override
+    public Map<String, Integer> changedRegisters() {
+      return Map.of("$12", 50, "pc", 50952);
+    }
+
+    @Override
+    public Map<Long, Integer> changedMemory() {
+      return Map.of(666666L, 2134);
+    }
+
+    @Override
+    public long currentStep() {
+      return 0;
+    }
+
+    @Override
+    public void enableHistory(int checkpointInterval) {
+    }
+
+    @Override
+    public boolean stepBack() {
+      return false;
+    }
+
+    @Override
+    public void seek(long step) {
+    }
+
   }
 
   public static void main(String[] args) throws IOException {
-    Main.setSimulator(new MockMIPS());
+    Main.setSimulatorFactory(MockMIPS::new);
     Main.main(args);
   }
 
@@ -0,0 +1,64 @@
+package br.ufrpe.mips.presentation.trace;
+
+import static br.ufrpe.mips.TestPrograms.TRACE;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+
+public class BinaryTraceTest {
+
+  @Test
+  public void readerRebuildsEveryStep() throws IOException {
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager());
+    simulator.loadInstructions(TRACE);
+    simulator.loadRegisters(Map.of("$s0", 5));
+
+    TraceState state = new TraceState();
+    state.load(simulator);
+    ObjectMapper mapper = new ObjectMapper();
+    List<String> expected = new ArrayList<>();
+
+    Path path = Files.createTempFile("trace", ".trc");
+    try (BinaryTraceWriter writer = new BinaryTraceWriter(path, 4)) {
+      writer.load(simulator);
+
+      while (simulator.hasNextInstruction()) {
+        simulator.runNexInstruction();
+        writer.step(simulator);
+        state.update(simulator);
+        expected.add(mapper.writeValueAsString(state.snapshot(simulator)));
+      }
+    }
+
+    try (BinaryTraceReader reader = new BinaryTraceReader(path)) {
+      assertEquals(expected.size(), reader.steps());
+
+      // Sequencial e acesso aleatório
+      for (int step = 0; step < expected.size(); step++) {
+        assertEquals(expected.get(step), mapper.writeValueAsString(reader.read(step)));
+      }
+
+      Random random = new Random(42);
+      for (int k = 0; k < 50; k++) {
+        int step = random.nextInt(expected.size());
+        assertEquals(expected.get(step), mapper.writeValueAsString(reader.read(step)));
+      }
+    } finally {
+      Files.delete(path);
+    }
+  }
+
+}
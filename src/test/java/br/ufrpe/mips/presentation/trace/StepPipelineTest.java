@@ -0,0 +1,99 @@
+package br.ufrpe.mips.presentation.trace;
+
+import static br.ufrpe.mips.TestPrograms.TRACE;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+
+public class StepPipelineTest {
+
+  private static MIPS32Processor load() {
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager());
+    simulator.loadInstructions(TRACE);
+    simulator.loadRegisters(Map.of("$s0", 5));
+    return simulator;
+  }
+
+  @Test
+  public void writesSameStepsInOrder() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+
+    // Execução sem pipeline
+    MIPS32Processor simulator = load();
+    TraceState trace = new TraceState(3);
+    trace.load(simulator);
+    List<String> expected = new ArrayList<>();
+    while (simulator.hasNextInstruction()) {
+      simulator.runNexInstruction();
+      expected.add(mapper.writeValueAsString(trace.step(simulator)));
+    }
+
+    // Buffer pequeno e escrita lenta: a execução aguarda a thread de escrita
+    MIPS32Processor piped = load();
+    TraceState pipedTrace = new TraceState(3);
+    pipedTrace.load(piped);
+    List<String> actual = new ArrayList<>();
+
+    try (StepPipeline pipeline = new StepPipeline(2, record -> {
+      actual.add(mapper.writeValueAsString(pipedTrace.step(record)));
+      Thread.onSpinWait();
+    })) {
+      while (piped.hasNextInstruction()) {
+        piped.runNexInstruction();
+        pipeline.publish(piped);
+      }
+    }
+
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  public void capturesWholeMemoryInAddressOrder() {
+    MIPS32Processor simulator = load();
+    Map<Long, Integer> memory = new HashMap<>();
+    for (int k = 0; k < 5000; k++) {
+      memory.put(0x10010000L + 4L * ((k * 7919) % 5000), k);
+    }
+    simulator.loadMemory(memory);
+
+    // Antes da primeira instrução: toda a memória, fora de ordem no mapa
+    StepRecord record = new StepRecord();
+    record.capture(simulator);
+
+    Map<Long, Integer> expected = new TreeMap<>(simulator.changedMemory());
+    assertEquals(expected.size(), record.memoryCount);
+    int k = 0;
+    for (Map.Entry<Long, Integer> e : expected.entrySet()) {
+      assertEquals((long) e.getKey(), record.addresses[k]);
+      assertEquals((int) e.getValue(), record.memoryValues[k]);
+      k++;
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void reportsWriterFailure() throws IOException {
+    MIPS32Processor simulator = load();
+
+    try (StepPipeline pipeline = new StepPipeline(2, record -> {
+      throw new IOException("disco cheio");
+    })) {
+      while (simulator.hasNextInstruction()) {
+        simulator.runNexInstruction();
+        pipeline.publish(simulator);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,89 @@
+package br.ufrpe.mips.presentation.trace;
+
+import static br.ufrpe.mips.TestPrograms.TRACE;
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.presentation.entity.OutputJSON;
+import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+
+public class TraceStateTest {
+
+  private static MIPS32Processor load() {
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager());
+    simulator.loadInstructions(TRACE);
+    simulator.loadRegisters(Map.of("$s0", 5));
+    return simulator;
+  }
+
+  // Estado completo lido diretamente do simulador (valores != 0)
+  private static Map<String, Integer> expected(MIPS32Processor simulator) {
+    Map<String, Integer> state = new TreeMap<>();
+    simulator.registers().forEach((k, v) -> {
+      if (v != 0) {
+        state.put(k, v);
+      }
+    });
+    simulator.memory().forEach((k, v) -> {
+      if (v != 0) {
+        state.put(k.toString(), v);
+      }
+    });
+
+    return state;
+  }
+
+  @Test
+  public void snapshotMatchesFullScan() {
+    MIPS32Processor simulator = load();
+    TraceState trace = new TraceState();
+    trace.load(simulator);
+
+    while (simulator.hasNextInstruction()) {
+      simulator.runNexInstruction();
+      trace.update(simulator);
+
+      OutputJSON snapshot = trace.snapshot(simulator);
+      Map<String, Integer> actual = new TreeMap<>(snapshot.registers);
+      actual.putAll(snapshot.memory);
+
+      assertEquals(expected(simulator), actual);
+    }
+  }
+
+  @Test
+  public void deltasRebuildEveryStep() {
+    MIPS32Processor simulator = load();
+    TraceState trace = new TraceState(4);
+    trace.load(simulator);
+
+    Map<String, Integer> rebuilt = new LinkedHashMap<>();
+    int keyframes = 0;
+    int steps = 0;
+
+    while (simulator.hasNextInstruction()) {
+      simulator.runNexInstruction();
+      OutputJSON step = trace.step(simulator);
+      steps++;
+
+      if (step.keyframe) {
+        rebuilt.clear();
+        keyframes++;
+      }
+      rebuilt.putAll(step.registers);
+      rebuilt.putAll(step.memory);
+      rebuilt.values().removeIf(v -> v == 0);
+
+      assertEquals(expected(simulator), new TreeMap<>(rebuilt));
+    }
+
+    assertEquals((steps + 3) / 4, keyframes);
+  }
+
+}
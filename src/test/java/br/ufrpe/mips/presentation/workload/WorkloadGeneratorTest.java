@@ -0,0 +1,88 @@
+package br.ufrpe.mips.presentation.workload;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.presentation.entity.InputJSON;
+import br.ufrpe.mips.simulator.imp.MIPS32Processor;
+import br.ufrpe.mips.simulator.utils.execution.ExecutionEngine;
+import br.ufrpe.mips.simulator.utils.execution.RunSummary;
+import br.ufrpe.mips.simulator.utils.execution.StopCondition;
+import br.ufrpe.mips.simulator.utils.execution.StopReason;
+
+public class WorkloadGeneratorTest {
+
+  private static final WorkloadSpec SPEC =
+      WorkloadSpec.defaults().withSeed(42).withIterations(50).withMemoryWords(200);
+
+  @Test
+  public void seedDeterminesProgram() {
+    assertEquals(WorkloadGenerator.generate(SPEC).instructions,
+        WorkloadGenerator.generate(SPEC).instructions);
+    assertNotEquals(WorkloadGenerator.generate(SPEC).instructions,
+        WorkloadGenerator.generate(SPEC.withSeed(43)).instructions);
+  }
+
+  @Test
+  public void programHaltsAndCoversMemory() {
+    InputJSON input = WorkloadGenerator.generate(SPEC);
+    Map<Long, Integer> expected = null;
+
+    for (ExecutionEngine engine : ExecutionEngine.values()) {
+      MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager(), engine);
+      simulator.loadInstructions(input.instructions);
+      RunSummary summary = simulator.runUntil(StopCondition.halt());
+
+      assertEquals(StopReason.HALTED, summary.reason());
+      assertEquals("", simulator.output());
+
+      // Região arredondada para 256 palavras, percorrida por completo
+      Map<Long, Integer> memory = simulator.memory();
+      long touched = memory.entrySet().stream()
+          .filter(e -> e.getKey() >= 0x10010000L && e.getKey() < 0x10010000L + 256 * 4)
+          .filter(e -> e.getValue() != 0).count();
+      assertEquals(256L, touched);
+
+      if (expected == null) {
+        expected = memory;
+      }
+      assertEquals(expected, memory);
+    }
+  }
+
+  @Test
+  public void largeRegionStaysInBounds() {
+    // Máscaras com o bit 15 ligado (0x0000ffff e 0x003fffff)
+    for (int words : new int[] {1 << 14, 1 << 20}) {
+      WorkloadSpec spec = SPEC.withIterations(1000).withMemoryWords(words);
+      MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager());
+      simulator.loadInstructions(WorkloadGenerator.generate(spec).instructions);
+      simulator.runUntil(StopCondition.halt());
+
+      assertEquals(words * 4 - 1, (int) simulator.registers().get("$18"));
+
+      long end = 0x10010000L + 4L * words;
+      simulator.memory().forEach((address, value) -> {
+        if (value != 0 && address >= 0x10000000L && address < 0x7f000000L) {
+          assertTrue("0x%08x".formatted(address), address >= 0x10010000L && address < end);
+        }
+      });
+    }
+  }
+
+  @Test
+  public void iterationCountWithBit15Halts() {
+    WorkloadSpec spec = SPEC.withBlocks(1).withIterations(40000);
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager());
+    simulator.loadInstructions(WorkloadGenerator.generate(spec).instructions);
+
+    assertEquals(StopReason.HALTED, simulator.runUntil(StopCondition.steps(20_000_000)).reason());
+  }
+
+}
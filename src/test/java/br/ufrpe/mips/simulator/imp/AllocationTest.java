@@ -0,0 +1,173 @@
+package br.ufrpe.mips.simulator.imp;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.presentation.workload.WorkloadGenerator;
+import br.ufrpe.mips.presentation.workload.WorkloadSpec;
+import br.ufrpe.mips.simulator.IMIPS32;
+import br.ufrpe.mips.simulator.utils.disassembler.MIPSDisassembler;
+import br.ufrpe.mips.simulator.utils.execution.ExecutionEngine;
+import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
+
+/**
+ * Bytes alocados pela thread do simulador por instrução executada (ThreadMXBean), em um programa
+ * sintético e um laço de acessos a bytes, com todas as instruções exceto SYSCALL (a saída é
+ * materializada como String).
+ *
+ * O limite (bytes por instrução) pode ser alterado com -Dmips.allocation.budget=N e o relatório
+ * por classe de instrução exibido com -Dmips.allocation.report=true.
+ */
+public class AllocationTest {
+
+  // Limite padrão: tolera alocações esporádicas, mas não um objeto por instrução (>= 16 bytes)
+  private static final double BUDGET =
+      Double.parseDouble(System.getProperty("mips.allocation.budget", "1"));
+  private static final boolean REPORT = Boolean.getBoolean("mips.allocation.report");
+
+  private static final int WARMUP_STEPS = 200_000;
+  private static final int MEASURED_STEPS = 200_000;
+
+  private static final ThreadMXBean THREADS =
+      (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  // Programa em execução durante todo o teste: a região de memória já foi acessada no aquecimento
+  private static final List<String> PROGRAM = WorkloadGenerator.generate(WorkloadSpec.defaults()
+      .withSeed(23).withBlocks(64).withIterations(1_000_000).withMemoryWords(256)).instructions;
+
+  // Acessos a bytes (não gerados pelo programa sintético): lui; sb; lbu; lb; sb; addiu; j
+  private static final List<String> BYTES = List.of("0x3c081001", "0xa1090003", "0x910a0003",
+      "0x810b0003", "0xa10b0000", "0x25290001", "0x08100001");
+
+  /**
+   * Alocações por {@link MIPSInstruction}.
+   */
+  private static final class Allocations {
+    private final long[] bytes = new long[MIPSInstruction.values().length];
+    private final long[] counts = new long[MIPSInstruction.values().length];
+    private long totalBytes;
+    private long totalCount;
+
+    void add(MIPSInstruction instruction, long allocated) {
+      this.bytes[instruction.ordinal()] += allocated;
+      this.counts[instruction.ordinal()]++;
+      this.totalBytes += allocated;
+      this.totalCount++;
+    }
+
+    boolean withinBudget() {
+      for (int i = 0; i < this.counts.length; i++) {
+        if (this.counts[i] > 0 && (double) this.bytes[i] / this.counts[i] > BUDGET) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    String report(String title) {
+      StringBuilder report = new StringBuilder("%s: %.3f bytes/instrução (limite %.1f)%n"
+          .formatted(title, (double) this.totalBytes / this.totalCount, BUDGET));
+
+      for (String group : new String[] {"alu", "imediato", "memória", "desvio", "mult/div"}) {
+        report.append("  %s%n".formatted(group));
+
+        for (MIPSInstruction instruction : MIPSInstruction.values()) {
+          int i = instruction.ordinal();
+          if (this.counts[i] > 0 && AllocationTest.group(instruction).equals(group)) {
+            double perInstruction = (double) this.bytes[i] / this.counts[i];
+            report.append("    %-8s %10d instruções %12d bytes %10.3f bytes/instrução%n"
+                .formatted(instruction, this.counts[i], this.bytes[i], perInstruction));
+          }
+        }
+      }
+
+      return report.toString();
+    }
+  }
+
+  private static String group(MIPSInstruction instruction) {
+    return switch (instruction) {
+      case MULT, MULTU, DIV, DIVU, MFHI, MFLO -> "mult/div";
+      case LB, LBU, LW, SB, SW -> "memória";
+      case BLTZ, BNE, BEQ, BLEZ, BGTZ, J, JAL, JR -> "desvio";
+      case SYSCALL -> "syscall";
+      default -> instruction.type().name().equals("R") ? "alu" : "imediato";
+    };
+  }
+
+  private static IMIPS32 load(ExecutionEngine engine, List<String> program) {
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager(), engine);
+    simulator.loadInstructions(program);
+
+    for (int i = 0; i < WARMUP_STEPS; i++) {
+      simulator.runNexInstruction();
+    }
+
+    return simulator;
+  }
+
+  private static void checkSteps(ExecutionEngine engine) {
+    assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+    Allocations allocations = new Allocations();
+
+    for (List<String> program : List.of(PROGRAM, BYTES)) {
+      IMIPS32 simulator = AllocationTest.load(engine, program);
+
+      for (int i = 0; i < MEASURED_STEPS; i++) {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        simulator.runNexInstruction();
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+
+        // Identificação da instrução fora da medição
+        int word = Integer.parseUnsignedInt(simulator.toHex().substring(2), 16);
+        allocations.add(MIPSDisassembler.decode(word).instruction(), allocated);
+      }
+    }
+
+    String report = allocations.report(engine.name());
+    if (REPORT) {
+      System.out.print(report);
+    }
+
+    assertTrue(report, allocations.withinBudget());
+  }
+
+  @Test
+  public void interpreterStepsDoNotAllocate() {
+    AllocationTest.checkSteps(ExecutionEngine.INTERPRETER);
+  }
+
+  @Test
+  public void threadedCodeStepsDoNotAllocate() {
+    AllocationTest.checkSteps(ExecutionEngine.THREADED_CODE);
+  }
+
+  @Test
+  public void batchRunDoesNotAllocate() {
+    assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+
+    for (ExecutionEngine engine : List.of(ExecutionEngine.INTERPRETER,
+        ExecutionEngine.THREADED_CODE, ExecutionEngine.JIT)) {
+      IMIPS32 simulator = AllocationTest.load(engine, PROGRAM);
+      simulator.runSteps(WARMUP_STEPS);
+
+      long before = THREADS.getCurrentThreadAllocatedBytes();
+      simulator.runSteps(MEASURED_STEPS);
+      long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+      double perStep = (double) allocated / MEASURED_STEPS;
+
+      assertTrue("%s: %.3f bytes/instrução (limite %.1f)".formatted(engine, perStep, BUDGET),
+          perStep <= BUDGET);
+    }
+  }
+
+}
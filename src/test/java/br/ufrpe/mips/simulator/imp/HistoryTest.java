@@ -0,0 +1,76 @@
+package br.ufrpe.mips.simulator.imp;
+
+import static br.ufrpe.mips.TestPrograms.TRACE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.data.imp.MARSMemoryManager;
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.simulator.IMIPS32;
+
+public class HistoryTest {
+
+  // Registradores, memória (valores != 0) e última instrução
+  private static String state(IMIPS32 simulator) {
+    Map<Long, Integer> memory = new TreeMap<>(simulator.memory());
+    memory.values().removeIf(v -> v == 0);
+
+    return simulator.registers() + " " + memory + " " + simulator.toAssembly();
+  }
+
+  @Test
+  public void seekRebuildsEveryStep() {
+    for (IMemoryManager memory : new IMemoryManager[] {new PagedMemoryManager(),
+        new MARSMemoryManager()}) {
+      IMIPS32 simulator = new MIPS32Processor(memory);
+      simulator.enableHistory(4);
+      simulator.loadInstructions(TRACE);
+      simulator.loadRegisters(Map.of("$s0", 5));
+
+      List<String> states = new ArrayList<>();
+      states.add(state(simulator));
+      while (simulator.hasNextInstruction()) {
+        simulator.runNexInstruction();
+        states.add(state(simulator));
+      }
+
+      Random random = new Random(42);
+      for (int k = 0; k < 50; k++) {
+        int step = random.nextInt(states.size());
+        simulator.seek(step);
+        assertEquals(step, simulator.currentStep());
+        assertEquals(states.get(step), state(simulator));
+      }
+
+      while (simulator.stepBack()) {
+        assertEquals(states.get((int) simulator.currentStep()), state(simulator));
+      }
+      assertFalse(simulator.stepBack());
+
+      // Nova execução a partir de um passo anterior descarta os passos seguintes
+      simulator.seek(6);
+      simulator.runNexInstruction();
+      assertEquals(states.get(7), state(simulator));
+      simulator.seek(3);
+      assertEquals(states.get(3), state(simulator));
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void historyIsOptIn() {
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager());
+    simulator.loadInstructions(TRACE);
+    simulator.runNexInstruction();
+    simulator.stepBack();
+  }
+
+}
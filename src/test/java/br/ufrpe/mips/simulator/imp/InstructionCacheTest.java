@@ -0,0 +1,28 @@
+package br.ufrpe.mips.simulator.imp;
+
+import static br.ufrpe.mips.TestPrograms.SELF_MODIFYING;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+
+public class InstructionCacheTest {
+
+  @Test
+  public void storesIntoTextInvalidateDecodedInstructions() {
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager());
+    simulator.loadInstructions(SELF_MODIFYING);
+
+    while (simulator.hasNextInstruction()) {
+      simulator.runNexInstruction();
+    }
+
+    assertEquals(1, (int) simulator.registers().get("$11"));
+    assertEquals(10, (int) simulator.registers().get("$12"));
+
+    // 12 instruções executadas: top é decodificada 2 vezes, as demais do laço são reutilizadas
+    assertEquals(12, simulator.instructionCacheHits() + simulator.instructionCacheMisses());
+    assertEquals(9, simulator.instructionCacheMisses());
+  }
+}
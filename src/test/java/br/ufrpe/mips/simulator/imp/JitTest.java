@@ -0,0 +1,135 @@
+package br.ufrpe.mips.simulator.imp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.simulator.utils.execution.ExecutionEngine;
+import br.ufrpe.mips.simulator.utils.execution.RunSummary;
+import br.ufrpe.mips.simulator.utils.execution.StopCondition;
+import br.ufrpe.mips.simulator.utils.execution.StopReason;
+
+public class JitTest {
+
+  // Laço de 200 iterações com instruções de todos os formatos e uma chamada de função (jal/jr);
+  // o primeiro ADD do laço e a última instrução do programa geram overflow
+  private static final List<String> HOT_LOOP = List.of("0x3c081001", "0x200900c8", "0x3c147fff",
+      "0x36947fff", "0x0294a820", "0xad090000", "0x8d0a0000", "0xa1090005", "0x910b0005",
+      "0x810c0005", "0x01490018", "0x00006812", "0x01540019", "0x00007010", "0x0289001a",
+      "0x00007812", "0x00008010", "0x0280001b", "0x00008812", "0x0180902a", "0x29330064",
+      "0x0009b0c0", "0x0014b942", "0x000cc083", "0x0129c804", "0x0349d026", "0x0120d827",
+      "0x3123fff0", "0x38840055", "0x00a92823", "0x00c93022", "0x25080008", "0x0c100026",
+      "0x2129ffff", "0x1d20ffe1", "0x19200001", "0x20010001", "0x0810002c", "0x00491021",
+      "0x11200002", "0x05200001", "0x03e00008", "0x20070007", "0x03e00008", "0x0294e020");
+
+  // Laço de 100 iterações; na 50ª, top (addi $11, $11, 1) é sobrescrita por addi $12, $12, 5
+  private static final List<String> SELF_MODIFYING_LOOP = List.of("0x200a0064", "0x3c080040",
+      "0x8d090028", "0x216b0001", "0x214affff", "0x200d0032", "0x154d0001", "0xad09000c",
+      "0x1540fffa", "0x0810000b", "0x218c0005", "0x200e0001");
+
+  private static MIPS32Processor load(List<String> program, ExecutionEngine engine) {
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager(), engine);
+    simulator.loadInstructions(program);
+    return simulator;
+  }
+
+  private static void assertSameState(MIPS32Processor expected, MIPS32Processor actual) {
+    assertEquals(expected.registers(), actual.registers());
+    assertEquals(expected.memory(), actual.memory());
+    assertEquals(expected.toAssembly(), actual.toAssembly());
+    assertEquals(expected.toHex(), actual.toHex());
+    assertEquals(expected.output(), actual.output());
+  }
+
+  private static void assertSameExecution(List<String> program, StopCondition condition) {
+    MIPS32Processor interpreter = load(program, ExecutionEngine.INTERPRETER);
+    RunSummary expected = interpreter.runUntil(condition);
+
+    for (ExecutionEngine engine : new ExecutionEngine[] {ExecutionEngine.JIT,
+        ExecutionEngine.JIT_CHECKED}) {
+      MIPS32Processor jit = load(program, engine);
+
+      assertEquals(expected, jit.runUntil(condition));
+      assertSameState(interpreter, jit);
+    }
+  }
+
+  @Test
+  public void hotLoopMatchesInterpreter() {
+    assertSameExecution(HOT_LOOP, StopCondition.halt());
+
+    MIPS32Processor jit = load(HOT_LOOP, ExecutionEngine.JIT);
+    jit.runUntil(StopCondition.halt());
+
+    assertEquals("overflow", jit.output());
+    assertTrue(jit.jitCompiledBlocks() > 0);
+  }
+
+  @Test
+  public void stepLimitsAndBreakpointsInsideCompiledBlocks() {
+    for (long steps : new long[] {1, 5, 1000, 1001, 1002, 2500, 6031}) {
+      assertSameExecution(HOT_LOOP, StopCondition.steps(steps));
+    }
+
+    // Breakpoint no meio do corpo do laço (mflo $13)
+    assertSameExecution(HOT_LOOP, StopCondition.halt().withBreakpoints(0x0040002cL));
+
+    MIPS32Processor jit = load(HOT_LOOP, ExecutionEngine.JIT);
+    jit.runSteps(5000);
+    assertTrue(jit.registers().get("$9") < 200);
+  }
+
+  @Test
+  public void selfModifyingCodeFallsBackToInterpreter() {
+    assertSameExecution(SELF_MODIFYING_LOOP, StopCondition.halt());
+
+    MIPS32Processor jit = load(SELF_MODIFYING_LOOP, ExecutionEngine.JIT);
+    jit.runUntil(StopCondition.halt());
+
+    assertEquals(50, (int) jit.registers().get("$11"));
+    assertEquals(250, (int) jit.registers().get("$12"));
+  }
+
+  @Test
+  public void chainedBlocksStopAtBreakpoints() {
+    // Início do corpo do laço (destino do bgtz): cada iteração para no breakpoint
+    StopCondition condition = StopCondition.halt().withBreakpoints(0x00400010L);
+    MIPS32Processor interpreter = load(HOT_LOOP, ExecutionEngine.INTERPRETER);
+    MIPS32Processor jit = load(HOT_LOOP, ExecutionEngine.JIT);
+
+    RunSummary expected;
+    do {
+      expected = interpreter.runUntil(condition);
+
+      assertEquals(expected, jit.runUntil(condition));
+      assertSameState(interpreter, jit);
+    } while (expected.reason() != StopReason.HALTED);
+  }
+
+  @Test
+  public void reloadedProgramsReuseOnlyUnchangedBlocks() {
+    MIPS32Processor jit = load(HOT_LOOP, ExecutionEngine.JIT);
+    jit.runUntil(StopCondition.halt());
+
+    // Mesmo laço com xor $26, $26, $9 trocado por addu $26, $26, $9
+    List<String> variant = new ArrayList<>(HOT_LOOP);
+    variant.set(variant.indexOf("0x0349d026"), "0x0349d021");
+
+    // Mesmos endereços, instruções diferentes: blocos anteriores não podem ser reaproveitados
+    for (List<String> program : List.of(variant, SELF_MODIFYING_LOOP, HOT_LOOP, HOT_LOOP)) {
+      MIPS32Processor interpreter = load(program, ExecutionEngine.INTERPRETER);
+      RunSummary expected = interpreter.runUntil(StopCondition.halt());
+
+      jit.reset();
+      jit.loadInstructions(program);
+
+      assertEquals(expected, jit.runUntil(StopCondition.halt()));
+      assertSameState(interpreter, jit);
+    }
+  }
+}
@@ -7,7 +7,7 @@ import br.ufrpe.mips.presentation.cli.Main;
 
 public class MIPSProcessortTest {
     public static void main(String[] args) throws IOException {
-        Main.setSimulator(new MIPS32Processor(new MARSMemoryManager()));
+        Main.setSimulatorFactory(() -> new MIPS32Processor(new MARSMemoryManager()));
         Main.main(args);
     }
 }
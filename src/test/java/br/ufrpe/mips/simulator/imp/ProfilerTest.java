@@ -0,0 +1,112 @@
+package br.ufrpe.mips.simulator.imp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.data.utils.MemoryLocationType;
+import br.ufrpe.mips.simulator.utils.execution.ExecutionEngine;
+import br.ufrpe.mips.simulator.utils.execution.StopCondition;
+import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
+import br.ufrpe.mips.simulator.utils.profiler.CallGraph;
+import br.ufrpe.mips.simulator.utils.profiler.GuestProfiler;
+
+public class ProfilerTest {
+
+  // lui; addi $t1, $0, 100; loop: sw; lw; addi $t1, $t1, -1; bne $t1, $0, loop
+  private static final List<String> PROGRAM = List.of("0x3c081001", "0x20090064", "0xad090000",
+      "0x8d0a0000", "0x2129ffff", "0x1520fffc");
+
+  // main: 3x jal f; f (0x00400014): salva $ra na pilha, jal g, jr $ra; g (0x0040002c): jr $ra
+  private static final List<String> CALLS = List.of("0x20090003", "0x0c100005", "0x2129ffff",
+      "0x1520fffd", "0x0810000c", "0x23bdfffc", "0xafbf0000", "0x0c10000b", "0x8fbf0000",
+      "0x23bd0004", "0x03e00008", "0x03e00008", "0x200a0001");
+
+  // addi $t1, $0, 8000; loop: jal +4 (sem retorno); addi $t1, $t1, -1; bne $t1, $0, loop
+  private static final List<String> UNMATCHED = List.of("0x20091f40", "0x0c100002",
+      "0x2129ffff", "0x1520fffd");
+
+  @Test
+  public void countsAreEqualInAllEngines() {
+    for (ExecutionEngine engine : ExecutionEngine.values()) {
+      MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager(), engine);
+      simulator.enableProfiler(true);
+      simulator.loadInstructions(PROGRAM);
+      simulator.runUntil(StopCondition.halt());
+
+      GuestProfiler profiler = simulator.profiler();
+      assertEquals(engine.name(), 402, profiler.steps());
+      assertEquals(1, profiler.executions(0x00400000L));
+      assertEquals(100, profiler.executions(0x00400014L));
+      assertEquals(101, profiler.executions(MIPSInstruction.ADDI));
+      assertEquals(100, profiler.reads(MemoryLocationType.STATIC_DATA));
+      assertEquals(100, profiler.writes(MemoryLocationType.STATIC_DATA));
+      assertTrue(profiler.report(3).contains("> 0x00400008          100   24.88%  sw $9, 0($8)"));
+    }
+  }
+
+  @Test
+  public void callStacksAreEqualInAllEngines() {
+    for (ExecutionEngine engine : ExecutionEngine.values()) {
+      MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager(), engine);
+      simulator.enableProfiler(true);
+      simulator.loadInstructions(CALLS);
+      simulator.runUntil(StopCondition.halt());
+
+      CallGraph graph = simulator.profiler().callGraph();
+      assertEquals(engine.name(), "0x00400000 12\n0x00400000;0x00400014 18\n"
+          + "0x00400000;0x00400014;0x0040002c 3\n", graph.collapsedStacks());
+      assertEquals(List.of(new CallGraph.FunctionProfile(0x00400000L, 0, 33, 12),
+          new CallGraph.FunctionProfile(0x00400014L, 3, 21, 18),
+          new CallGraph.FunctionProfile(0x0040002cL, 3, 3, 3)), graph.functions());
+    }
+  }
+
+  @Test
+  public void unmatchedCallsAreTruncated() {
+    for (ExecutionEngine engine : ExecutionEngine.values()) {
+      MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager(), engine);
+      simulator.enableProfiler(true);
+      simulator.loadInstructions(UNMATCHED);
+      simulator.runUntil(StopCondition.halt());
+
+      String[] stacks = simulator.profiler().callGraph().collapsedStacks().split("\n");
+      assertEquals(engine.name(), CallGraph.MAX_DEPTH, stacks.length);
+      assertEquals(CallGraph.MAX_DEPTH, stacks[stacks.length - 1].split(";").length);
+      assertTrue(stacks[stacks.length - 1].contains(";[truncated] "));
+
+      long total = 0;
+      for (String stack : stacks) {
+        total += Long.parseLong(stack.substring(stack.lastIndexOf(' ') + 1));
+      }
+      assertEquals(24001, total);
+
+      CallGraph.FunctionProfile main = simulator.profiler().callGraph().functions().get(0);
+      assertEquals(new CallGraph.FunctionProfile(0x00400000L, 0, 24001, 2), main);
+    }
+  }
+
+  @Test
+  public void profilerIsOptIn() {
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager());
+    assertNull(simulator.profiler());
+
+    simulator.enableProfiler(true);
+    simulator.loadInstructions(PROGRAM);
+    for (int i = 0; i < 10; i++) {
+      simulator.runNexInstruction();
+    }
+    assertEquals(10, simulator.profiler().steps());
+
+    // Reiniciado a cada carregamento
+    simulator.reset();
+    simulator.loadInstructions(PROGRAM);
+    assertEquals(0, simulator.profiler().steps());
+  }
+
+}
@@ -0,0 +1,69 @@
+package br.ufrpe.mips.simulator.imp;
+
+import static br.ufrpe.mips.TestPrograms.CALLS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.simulator.utils.execution.RunSummary;
+import br.ufrpe.mips.simulator.utils.execution.StopCondition;
+import br.ufrpe.mips.simulator.utils.execution.StopReason;
+
+public class RunUntilTest {
+
+  private static MIPS32Processor load() {
+    MIPS32Processor simulator = new MIPS32Processor(new PagedMemoryManager());
+    simulator.loadInstructions(CALLS);
+    return simulator;
+  }
+
+  @Test
+  public void stopsAtBreakpointsAndStepLimit() {
+    MIPS32Processor simulator = load();
+    StopCondition atF = StopCondition.halt().withBreakpoints(0x0040001cL);
+
+    assertEquals(new RunSummary(2, StopReason.BREAKPOINT), simulator.runUntil(atF));
+    assertEquals(0x0040001c, (int) simulator.registers().get("pc"));
+    assertEquals("jal 4194332", simulator.toAssembly());
+
+    assertEquals(new RunSummary(3, StopReason.STEP_LIMIT), simulator.runSteps(3));
+    assertEquals(StopReason.BREAKPOINT, simulator.runUntil(atF).reason());
+    assertEquals(StopReason.HALTED, simulator.runUntil(StopCondition.halt()).reason());
+  }
+
+  @Test
+  public void stopConditionIsImmutable() {
+    long[] addresses = {0x00400020L, 0x0040001cL};
+    StopCondition condition = StopCondition.halt().withBreakpoints(addresses);
+    addresses[0] = 0;
+    condition.breakpoints()[0] = 0;
+
+    assertEquals(StopCondition.halt().withBreakpoints(0x0040001cL, 0x00400020L), condition);
+    assertEquals(StopCondition.halt().withBreakpoints(0x0040001cL, 0x00400020L).hashCode(),
+        condition.hashCode());
+    assertTrue(condition.isBreakpoint(0x00400020L));
+    assertTrue(condition.hasBreakpointBetween(0x00400000L, 0x0040001cL));
+    assertFalse(condition.hasBreakpointBetween(0x00400024L, 0x00400040L));
+  }
+
+  @Test
+  public void sameFinalStateAsStepByStep() {
+    MIPS32Processor stepwise = load();
+    long steps = 0;
+    while (stepwise.hasNextInstruction()) {
+      stepwise.runNexInstruction();
+      steps++;
+    }
+
+    MIPS32Processor bulk = load();
+    RunSummary summary = bulk.runSteps(Long.MAX_VALUE);
+
+    assertEquals(new RunSummary(steps, StopReason.HALTED), summary);
+    assertEquals(stepwise.registers(), bulk.registers());
+    assertEquals(stepwise.memory(), bulk.memory());
+    assertEquals(stepwise.toAssembly(), bulk.toAssembly());
+  }
+}
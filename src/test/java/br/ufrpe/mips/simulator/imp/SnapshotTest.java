@@ -0,0 +1,84 @@
+package br.ufrpe.mips.simulator.imp;
+
+import static br.ufrpe.mips.TestPrograms.CALLS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Map;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.IMemoryManager;
+import br.ufrpe.mips.data.imp.MARSMemoryManager;
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.simulator.utils.execution.ExecutionEngine;
+import br.ufrpe.mips.simulator.utils.snapshot.ProcessorSnapshot;
+
+public class SnapshotTest {
+
+  private static MIPS32Processor load(IMemoryManager memory, ExecutionEngine engine) {
+    MIPS32Processor simulator = new MIPS32Processor(memory, engine);
+    simulator.loadInstructions(CALLS);
+    return simulator;
+  }
+
+  private static void finish(MIPS32Processor simulator) {
+    while (simulator.hasNextInstruction()) {
+      simulator.runNexInstruction();
+    }
+  }
+
+  @Test
+  public void restoreReplaysSameExecution() {
+    for (ExecutionEngine engine : ExecutionEngine.values()) {
+      for (IMemoryManager memory : new IMemoryManager[] {new PagedMemoryManager(),
+          new MARSMemoryManager()}) {
+        MIPS32Processor simulator = load(memory, engine);
+        simulator.runSteps(9);
+        ProcessorSnapshot checkpoint = simulator.snapshot();
+        Map<Long, Integer> memoryAtCheckpoint = simulator.memory();
+        String assembly = simulator.toAssembly();
+
+        finish(simulator);
+        Map<String, Integer> registers = simulator.registers();
+        Map<Long, Integer> finalMemory = simulator.memory();
+
+        simulator.restore(checkpoint);
+        assertEquals(memoryAtCheckpoint, simulator.memory());
+        assertEquals(assembly, simulator.toAssembly());
+
+        finish(simulator);
+        assertEquals(registers, simulator.registers());
+        assertEquals(finalMemory, simulator.memory());
+      }
+    }
+  }
+
+  @Test
+  public void forkRunsIndependently() {
+    for (IMemoryManager memory : new IMemoryManager[] {new PagedMemoryManager(),
+        new MARSMemoryManager()}) {
+      MIPS32Processor parent = load(memory, ExecutionEngine.INTERPRETER);
+      parent.runSteps(9);
+      Map<Long, Integer> parentMemory = parent.memory();
+      Map<String, Integer> registers = parent.registers();
+
+      MIPS32Processor child = parent.fork();
+      assertEquals(registers, child.registers());
+      assertEquals(parentMemory, child.memory());
+      assertEquals(parent.toAssembly(), child.toAssembly());
+
+      // Escritas do filho (pilha e registradores) não alteram o pai
+      finish(child);
+      assertNotEquals(registers, child.registers());
+      assertEquals(registers, parent.registers());
+      assertEquals(parentMemory, parent.memory());
+
+      // Pai continua do ponto do fork até o mesmo estado final
+      finish(parent);
+      assertEquals(child.registers(), parent.registers());
+      assertEquals(child.memory(), parent.memory());
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+package br.ufrpe.mips.simulator.imp;
+
+import static br.ufrpe.mips.TestPrograms.CALLS;
+import static br.ufrpe.mips.TestPrograms.SELF_MODIFYING;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.data.imp.PagedMemoryManager;
+import br.ufrpe.mips.simulator.utils.execution.ExecutionEngine;
+
+public class ThreadedCodeTest {
+
+  // lui $t0, 0x7fff; add $t1, $t0, $t0 (overflow); addu $t2, $t0, $0; add (overflow); addu
+  private static final List<String> OVERFLOW = List.of("0x3c087fff", "0x01084820", "0x01005021",
+      "0x01084820", "0x01005021");
+
+  private static void assertSameExecution(List<String> program) {
+    MIPS32Processor interpreter = new MIPS32Processor(new PagedMemoryManager());
+    MIPS32Processor threaded =
+        new MIPS32Processor(new PagedMemoryManager(), ExecutionEngine.THREADED_CODE);
+
+    interpreter.loadInstructions(program);
+    threaded.loadInstructions(program);
+
+    while (interpreter.hasNextInstruction()) {
+      interpreter.runNexInstruction();
+      threaded.runNexInstruction();
+
+      assertEquals(interpreter.toAssembly(), threaded.toAssembly());
+      assertEquals(interpreter.toHex(), threaded.toHex());
+      assertEquals(interpreter.output(), threaded.output());
+      assertEquals(interpreter.registers(), threaded.registers());
+      assertEquals(interpreter.memory(), threaded.memory());
+    }
+
+    assertEquals(false, threaded.hasNextInstruction());
+  }
+
+  @Test
+  public void callsMatchInterpreter() {
+    assertSameExecution(CALLS);
+  }
+
+  @Test
+  public void selfModifyingCodeMatchesInterpreter() {
+    assertSameExecution(SELF_MODIFYING);
+  }
+
+  @Test
+  public void overflowOutputIsClearedByNextInstruction() {
+    assertSameExecution(OVERFLOW);
+  }
+}
@@ -0,0 +1,41 @@
+package br.ufrpe.mips.simulator.utils.disassembler;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import br.ufrpe.mips.simulator.utils.instruction.DecodedInstruction;
+import br.ufrpe.mips.simulator.utils.instruction.MIPSInstruction;
+
+public class MIPSDisassemblerTest {
+
+  private static String asm(int word) {
+    return MIPSDisassembler.assemblyFromInstruction(MIPSDisassembler.decode(word));
+  }
+
+  @Test
+  public void decodesEveryFormat() {
+    assertEquals("add $10, $8, $9", asm(0x01095020));
+    assertEquals("addi $9, $0, -3", asm(0x2009fffd));
+    assertEquals("sw $31, 0($29)", asm(0xafbf0000));
+    assertEquals("jal 4194332", asm(0x0c100007));
+    assertEquals("jr $31", asm(0x03e00008));
+    assertEquals("sra $4, $9, 1", asm(0x00092043));
+    assertEquals("syscall", asm(0x0000000c));
+  }
+
+  @Test
+  public void decodedFieldsMatchLegacyFields() {
+    DecodedInstruction d = MIPSDisassembler.decode(0x1520fff9);
+
+    assertEquals(MIPSInstruction.BNE, d.instruction());
+    assertEquals(-7, d.immediate());
+    assertEquals(d.fields().asIField().immediate(), d.immediate());
+    assertEquals(MIPSDisassembler.toAssembly("0x1520fff9").assembly(), asm(0x1520fff9));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownInstruction() {
+    MIPSDisassembler.decode(0xfc000000);
+  }
+}